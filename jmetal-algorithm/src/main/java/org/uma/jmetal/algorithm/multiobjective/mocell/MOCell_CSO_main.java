@@ -11,6 +11,7 @@ import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
 import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
 import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.problem.multiobjective.UDN.CSOSolutionListEvaluator;
 import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.util.AbstractAlgorithmRunner;
@@ -52,7 +53,8 @@ public class MOCell_CSO_main extends AbstractAlgorithmRunner {
         mutation = new BitFlipMutation(mutationProbability);
         selection = new BinaryTournamentSelection<>();
 
-        algorithm = new MOCellBuilder<>(problem, crossover, mutation).setPopulationSize(popSize).setSelectionOperator(selection).setMaxEvaluations(numEvals).setVariant(MOCellBuilder.MOCellVariant.HybridMOCell).build();
+        algorithm = new MOCellBuilder<>(problem, crossover, mutation).setPopulationSize(popSize).setSelectionOperator(selection).setMaxEvaluations(numEvals)
+                .setSolutionListEvaluator(new CSOSolutionListEvaluator()).setVariant(MOCellBuilder.MOCellVariant.HybridMOCell).build();
 
         AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
 
@@ -4,7 +4,9 @@ import org.uma.jmetal.algorithm.multiobjective.moead.util.MOEADUtils;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.doublesolution.DoubleSolution;
+import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.point.impl.IdealPoint;
 import org.uma.jmetal.util.point.impl.NadirPoint;
 import org.uma.jmetal.util.ranking.Ranking;
@@ -17,6 +19,7 @@ import java.util.List;
 public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
 
   protected Ranking<S> ranking;
+  protected AttributeSlot rankSlot;  // slot of the ranks assigned by the ranking
   protected int[][] rankIdx;      // index matrix for the non-domination levels
   protected int[][] subregionIdx;    // index matrix for subregion record
   protected double[][] subregionDist;  // distance matrix for perpendicular distance
@@ -67,6 +70,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     }
 
     ranking = computeRanking(population);
+    rankSlot = AttributeSlot.of(ranking.getAttributedId());
     for (int curRank = 0; curRank < ranking.getNumberOfSubFronts(); curRank++) {
       List<S> front = ranking.getSubFront(curRank);
       for (S s : front) {
@@ -437,7 +441,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
               rankIdx[investigateRank][i] = 0;
               rankIdx[investigateRank - 1][i] = 1;
               //((DoubleSolution) population.get(i)).setRank(investigateRank - 1);
-              population.get(i).attributes().put(ranking.getAttributedId(), investigateRank - 1);
+              population.get(i).setAttribute(rankSlot, investigateRank - 1);
             }
           }
         }
@@ -476,7 +480,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
                   rankIdx[investigateRank][j] = 0;
                   rankIdx[investigateRank - 1][j] = 1;
                   //((DoubleSolution) population.get(j)).setRank(investigateRank - 1);
-                  population.get(j).attributes().put(ranking.getAttributedId(), investigateRank - 1);
+                  population.get(j).setAttribute(rankSlot, investigateRank - 1);
                 }
               }
             }
@@ -519,11 +523,11 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
       level = i;
       if (flag == 1) {  // 'indiv' is non-dominated with all solutions in the ith non-domination level, then 'indiv' belongs to the ith level
         //indiv.setRank(i - 1);
-        indiv.attributes().put(ranking.getAttributedId(), i - 1);
+        indiv.setAttribute(rankSlot, i - 1);
         return num_ranks;
       } else if (flag == 2) {  // 'indiv' dominates some solutions in the ith level, but is non-dominated with some others, then 'indiv' belongs to the ith level, and move the dominated solutions to the next level
         //indiv.setRank(i - 1);
-        indiv.attributes().put(ranking.getAttributedId(), i - 1);
+        indiv.setAttribute(rankSlot, i - 1);
         int prevRank = i - 1;
 
         // process the solutions belong to 'prevRank'th level and are dominated by 'indiv' ==> move them to 'prevRank+1'th level and find the solutions dominated by them
@@ -535,7 +539,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
           rankIdx[prevRank][curIdx] = 0;
           rankIdx[newRank][curIdx] = 1;
           //((DoubleSolution) population.get(curIdx)).setRank(newRank);
-          population.get(curIdx).attributes().put(ranking.getAttributedId(), newRank);
+          population.get(curIdx).setAttribute(rankSlot, newRank);
         }
         for (int j = 0; j < populationSize; j++) {
           if (rankIdx[newRank][j] == 1) {
@@ -567,7 +571,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
               rankIdx[prevRank][curIdx] = 0;
               rankIdx[newRank][curIdx] = 1;
               //((DoubleSolution) population.get(curIdx)).setRank(newRank);
-              population.get(curIdx).attributes().put(ranking.getAttributedId(), newRank);
+              population.get(curIdx).setAttribute(rankSlot, newRank);
             }
             for (int j = 0; j < populationSize; j++) {
               if (rankIdx[newRank][j] == 1) {
@@ -628,10 +632,10 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
               for (int j = 0; j < level_size; j++) {
                 curIdx = tempRecord[k][j];
                 //tempRank = ((DoubleSolution) population.get(curIdx)).getRank();
-                tempRank = (int) population.get(curIdx).attributes().get(ranking.getAttributedId());
+                tempRank = getRank(population.get(curIdx));
                 newRank = tempRank + 1;
                 //((DoubleSolution) population.get(curIdx)).setRank(newRank);
-                population.get(curIdx).attributes().put(ranking.getAttributedId(), newRank);
+                population.get(curIdx).setAttribute(rankSlot, newRank);
                 rankIdx[tempRank][curIdx] = 0;
                 rankIdx[newRank][curIdx] = 1;
               }
@@ -683,7 +687,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
 
       } else {  // (flag == 4) if 'indiv' dominates all solutions in the ith level, solutions in the current level and beyond move their current next levels
         //indiv.setRank(i - 1);
-        indiv.attributes().put(ranking.getAttributedId(), i - 1);
+        indiv.setAttribute(rankSlot, i - 1);
         i = i - 1;
         int remainSize = num_ranks - i;
         int[][] tempRecord = new int[remainSize][populationSize];
@@ -703,7 +707,7 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
 
         k = 0;
         //i = indiv.getRank();
-        i = (int) indiv.attributes().get(ranking.getAttributedId());
+        i = getRank(indiv);
         while (i < num_ranks) {
           int level_size = frontSize.get(i);
 
@@ -712,10 +716,10 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
           for (int j = 0; j < level_size; j++) {
             curIdx = tempRecord[k][j];
             //curRank = ((DoubleSolution) population.get(curIdx)).getRank();
-            curRank = (int) population.get(curIdx).attributes().get(ranking.getAttributedId());
+            curRank = getRank(population.get(curIdx));
             newRank = curRank + 1;
             //((DoubleSolution) population.get(curIdx)).setRank(newRank);
-            population.get(curIdx).attributes().put(ranking.getAttributedId(), newRank);
+            population.get(curIdx).setAttribute(rankSlot, newRank);
 
             rankIdx[curRank][curIdx] = 0;
             rankIdx[newRank][curIdx] = 1;
@@ -732,17 +736,17 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     switch (flag) {
       case 1:
         //indiv.setRank(level);
-        indiv.attributes().put(ranking.getAttributedId(), level);
+        indiv.setAttribute(rankSlot, level);
         break;
       case 2:
         //indiv.setRank(level);
-        indiv.attributes().put(ranking.getAttributedId(), level);
+        indiv.setAttribute(rankSlot, level);
         int curIdx;
         int tempSize = dominateList.size();
         for (int i = 0; i < tempSize; i++) {
           curIdx = dominateList.get(i);
           //((DoubleSolution) population.get(curIdx)).setRank(level + 1);
-          population.get(curIdx).attributes().put(ranking.getAttributedId(), level + 1);
+          population.get(curIdx).setAttribute(rankSlot, level + 1);
 
           rankIdx[level][curIdx] = 0;
           rankIdx[level + 1][curIdx] = 1;
@@ -751,17 +755,17 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
         break;
       case 3:
         //indiv.setRank(level + 1);
-        indiv.attributes().put(ranking.getAttributedId(), level + 1);
+        indiv.setAttribute(rankSlot, level + 1);
         num_ranks++;
         break;
       default:
         //indiv.setRank(level);
-        indiv.attributes().put(ranking.getAttributedId(), level);
+        indiv.setAttribute(rankSlot, level);
         for (int i = 0; i < populationSize; i++) {
           if (rankIdx[level][i] == 1) {
             //((DoubleSolution) population.get(i)).setRank(level + 1);
 
-            population.get(i).attributes().put(ranking.getAttributedId(), level + 1);
+            population.get(i).setAttribute(rankSlot, level + 1);
             rankIdx[level][i] = 0;
             rankIdx[level + 1][i] = 1;
           }
@@ -823,11 +827,11 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     // find the solution with the largest rank
     ArrayList<Integer> maxRankList = new ArrayList<>();
     //int maxRank = ((DoubleSolution) population.get(indList.get(0))).getRank();
-    int maxRank = (int) population.get(indList.get(0)).attributes().get(ranking.getAttributedId());
+    int maxRank = getRank(population.get(indList.get(0)));
     maxRankList.add(indList.get(0));
     for (int i = 1; i < indList.size(); i++) {
       //int curRank = ((DoubleSolution) population.get(indList.get(i))).getRank();
-      int curRank = (int) population.get(indList.get(i)).attributes().get(ranking.getAttributedId());
+      int curRank = getRank(population.get(indList.get(i)));
       if (curRank > maxRank) {
         maxRankList.clear();
         maxRank = curRank;
@@ -851,9 +855,9 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     }
 
     //int indivRank = indiv.getRank();
-    int indivRank = (int) indiv.attributes().get(ranking.getAttributedId());
+    int indivRank = getRank(indiv);
     //int targetRank = ((DoubleSolution) population.get(targetIdx)).getRank();
-    int targetRank = (int) population.get(targetIdx).attributes().get(ranking.getAttributedId());
+    int targetRank = getRank(population.get(targetIdx));
     rankIdx[targetRank][targetIdx] = 0;
     rankIdx[indivRank][targetIdx] = 1;
 
@@ -936,16 +940,16 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     // find the solution with the largest rank
     ArrayList<Integer> maxRankList = new ArrayList<>();
     //int maxRank = ((DoubleSolution) population.get(indList.get(0))).getRank();
-    int maxRank = (int) population.get(indList.get(0)).attributes().get(ranking.getAttributedId());
+    int maxRank = getRank(population.get(indList.get(0)));
     maxRankList.add(indList.get(0));
     for (int i = 1; i < indList.size(); i++) {
       int curRank;
       if (indList.get(i) == -1) {
         //curRank = indiv.getRank();
-        curRank = (int) indiv.attributes().get(ranking.getAttributedId());
+        curRank = getRank(indiv);
       } else {
         //curRank = ((DoubleSolution) population.get(indList.get(i))).getRank();
-        curRank = (int) population.get(indList.get(i)).attributes().get(ranking.getAttributedId());
+        curRank = getRank(population.get(indList.get(i)));
       }
 
       if (curRank > maxRank) {
@@ -986,9 +990,9 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
 
     } else {
       //int indivRank = indiv.getRank();
-      int indivRank = (int) indiv.attributes().get(ranking.getAttributedId());
+      int indivRank = getRank(indiv);
       //int targetRank = ((DoubleSolution) population.get(targetIdx)).getRank();
-      int targetRank = (int) population.get(targetIdx).attributes().get(ranking.getAttributedId());
+      int targetRank = getRank(population.get(targetIdx));
       rankIdx[targetRank][targetIdx] = 0;
       rankIdx[indivRank][targetIdx] = 1;
 
@@ -1418,6 +1422,17 @@ public class MOEADD<S extends DoubleSolution> extends AbstractMOEAD<S> {
     }
   }
 
+  /**
+   * Rank of a solution kept in the rank slot. It fails if the solution has
+   * no rank, instead of taking the unset value (NaN) as rank 0.
+   */
+  protected int getRank(S solution) {
+    double rank = solution.getAttribute(rankSlot);
+    Check.that(!Double.isNaN(rank), "The solution has no rank");
+
+    return (int) rank;
+  }
+
   protected Ranking<S> computeRanking(List<S> solutionList) {
     Ranking<S> ranking = new FastNonDominatedSortRanking<S>();
     ranking.compute(solutionList);
@@ -3,6 +3,7 @@ package org.uma.jmetal.algorithm.multiobjective.nsgaii;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.operator.selection.impl.RankingAndCrowdingSelection;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
 import org.uma.jmetal.solution.Solution;
@@ -19,7 +20,9 @@ import org.uma.jmetal.util.measure.impl.BasicMeasure;
 import org.uma.jmetal.util.measure.impl.CountingMeasure;
 import org.uma.jmetal.util.measure.impl.DurationMeasure;
 import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
+import org.uma.jmetal.util.ranking.impl.LowDimensionalNonDominatedSortRanking;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -35,7 +38,7 @@ public class HybridNSGAII<S extends Solution<?>> extends NSGAII<S> implements Me
     public HybridNSGAII(Problem<S> problem, int maxEvaluations, int populationSize, int matingPoolSize, int offspringPopulationSize, CrossoverOperator<S> crossoverOperator,
                         MutationOperator<S> mutationOperator, SelectionOperator<List<S>, S> selectionOperator, Comparator<S> dominanceComparator,
                         SolutionListEvaluator<S> evaluator) {
-        super(problem, maxEvaluations, populationSize, matingPoolSize, offspringPopulationSize, crossoverOperator, mutationOperator, selectionOperator, new DominanceComparator<S>(), evaluator);
+        super(problem, maxEvaluations, populationSize, matingPoolSize, offspringPopulationSize, crossoverOperator, mutationOperator, selectionOperator, dominanceComparator, evaluator);
 
         referenceFront = new ArrayFront();
 
@@ -82,6 +85,27 @@ public class HybridNSGAII<S extends Solution<?>> extends NSGAII<S> implements Me
         return population;
     }
 
+    /**
+     * The CSO problems have two objectives, so with the default dominance
+     * comparator the joint population is ranked in O(N log N) instead of
+     * O(N^2). The ranks are kept where FastNonDominatedSortRanking keeps them,
+     * so the default selection (RankingAndCrowdingDistanceComparator) reads
+     * them. Other dominance comparators are ranked as in NSGAII.
+     */
+    @Override
+    protected List<S> replacement(List<S> population, List<S> offspringPopulation) {
+        if (dominanceComparator.getClass() != DominanceComparator.class) {
+            return super.replacement(population, offspringPopulation);
+        }
+
+        List<S> jointPopulation = new ArrayList<>(population.size() + offspringPopulation.size());
+        jointPopulation.addAll(population);
+        jointPopulation.addAll(offspringPopulation);
+
+        return new RankingAndCrowdingSelection<S>(getMaxPopulationSize(), new LowDimensionalNonDominatedSortRanking<S>())
+                .execute(jointPopulation);
+    }
+
     /* Measures code */
     private void initMeasures() {
         durationMeasure = new DurationMeasure();
@@ -14,6 +14,7 @@ import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
 import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
 import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.problem.multiobjective.UDN.CSOSolutionListEvaluator;
 import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
@@ -66,6 +67,7 @@ public class NSGAII_CSO_main extends AbstractAlgorithmRunner {
         selection = new BinaryTournamentSelection<>();
 
         algorithm = new NSGAIIBuilder<>(problem, crossover, mutation, popSize).setSelectionOperator(selection).setMaxEvaluations(numEvals)
+                .setSolutionListEvaluator(new CSOSolutionListEvaluator())
                 .setVariant(NSGAIIBuilder.NSGAIIVariant.HybridNSGAII).build();
 
         // Display code
@@ -43,11 +43,12 @@ public class HybridSMSEMOA<S extends Solution<?>> extends SMSEMOA<S> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     protected List<S> evaluatePopulation(List<S> population) {
-        for (S s : population) {
+        for (S s : population)
             ((StaticCSO) problem).intelligentSwitchOff((BinarySolution) s);
-            getProblem().evaluate(s);
-        }
+
+        ((StaticCSO) problem).evaluateBatch((List<BinarySolution>) population);
 
 //        if (evaluations.get() != 0 && evaluations.get() % 5000 == 0)
 //            new SolutionListOutput(population).setFunFileOutputContext(new DefaultFileOutputContext("HybridSMSEMOA." + evaluations.get().toString(), " ")).print();
@@ -11,7 +11,7 @@ import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.comparator.DominanceComparator;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.Hypervolume;
-import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl.PISAHypervolume;
+import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl.LowDimensionalHypervolume;
 
 import java.util.Comparator;
 import java.util.List;
@@ -46,7 +46,7 @@ public class SMSEMOABuilder<S extends Solution<?>> implements AlgorithmBuilder<S
         this.offset = DEFAULT_OFFSET;
         populationSize = 100;
         maxEvaluations = 25000;
-        this.hypervolumeImplementation = new PISAHypervolume<>();
+        this.hypervolumeImplementation = new LowDimensionalHypervolume<>();
         hypervolumeImplementation.setOffset(offset);
 
         this.crossoverOperator = crossoverOperator;
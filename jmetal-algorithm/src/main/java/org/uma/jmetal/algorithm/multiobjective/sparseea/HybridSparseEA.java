@@ -401,13 +401,14 @@ public class HybridSparseEA<S extends Solution<?>> {
 
             ((StaticCSO) problem).intelligentSwitchOff(s);
 
-            problem.evaluate((S) s);
 //            problem.evaluateConstraints(s);
             _population_variation.add(s);
 
             evaluations++;
         }
 
+        ((StaticCSO) problem).evaluateBatch(_population_variation);
+
         return _population_variation;
     }
 
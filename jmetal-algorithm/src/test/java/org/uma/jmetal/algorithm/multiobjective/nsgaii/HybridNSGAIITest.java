@@ -0,0 +1,71 @@
+package org.uma.jmetal.algorithm.multiobjective.nsgaii;
+
+import org.junit.Test;
+import org.uma.jmetal.operator.crossover.impl.SinglePointCrossover;
+import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.problem.multiobjective.UDN.benchmark.InstanceGenerator;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.ranking.Ranking;
+import org.uma.jmetal.util.ranking.impl.FastNonDominatedSortRanking;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class HybridNSGAIITest {
+
+  @Test
+  public void shouldTheDefaultSelectionReadTheRanksOfTheReplacement() throws IOException {
+    StaticCSO problem = smallProblem();
+    NSGAII<BinarySolution> algorithm =
+        new NSGAIIBuilder<BinarySolution>(problem, new SinglePointCrossover(0.9),
+            new BitFlipMutation(1.0 / problem.getTotalNumberOfActivableCells()), 10)
+            .setMaxEvaluations(40)
+            .setVariant(NSGAIIBuilder.NSGAIIVariant.HybridNSGAII)
+            .build();
+
+    algorithm.run();
+
+    //the ranks read by the default RankingAndCrowdingDistanceComparator...
+    Ranking<BinarySolution> ranking = new FastNonDominatedSortRanking<>();
+    List<Integer> ranks = new ArrayList<>();
+    for (BinarySolution solution : algorithm.getPopulation()) {
+      assertNotEquals(-1, (int) ranking.getRank(solution));
+      ranks.add(ranking.getRank(solution));
+    }
+
+    //...are those of the population
+    ranking.compute(algorithm.getPopulation());
+    for (int i = 0; i < ranks.size(); i++) {
+      assertEquals(ranks.get(i), ranking.getRank(algorithm.getPopulation().get(i)));
+    }
+  }
+
+  /**
+   * Small instance written from the configuration files of the project
+   */
+  private StaticCSO smallProblem() throws IOException {
+    File templateDir = new File("main.conf").exists() ? new File(".") : new File("..");
+    InstanceGenerator generator = new InstanceGenerator(templateDir.getPath());
+    generator.setGrid(30, 30);
+
+    Path dir = Files.createTempDirectory("udn");
+    try {
+      return new StaticCSO(generator.write(dir.toString(), 60, 30), 0);
+    } finally {
+      //the configuration files are only read by the constructor
+      try (Stream<Path> files = Files.walk(dir)) {
+        files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+}
@@ -2,13 +2,13 @@ package org.uma.jmetal.operator.crossover.impl;
 
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
-import org.uma.jmetal.util.binarySet.BinarySet;
 import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -73,17 +73,17 @@ public class HUXCrossover implements CrossoverOperator<BinarySolution> {
 
     if (randomGenerator.getRandomValue() < probability) {
       for (int var = 0; var < parent1.variables().size(); var++) {
-        BinarySet p1 = parent1.variables().get(var);
-        BinarySet p2 = parent2.variables().get(var);
-
-        for (int bit = 0; bit < p1.size(); bit++) {
-          if (p1.get(bit) != p2.get(bit)) {
-            if (randomGenerator.getRandomValue() < 0.5) {
-              offspring.get(0).variables().get(var).set(bit, p2.get(bit));
-              offspring.get(1).variables().get(var).set(bit, p1.get(bit));
-            }
+        BitSet differentBits = (BitSet) parent1.variables().get(var).clone();
+        differentBits.xor(parent2.variables().get(var));
+
+        BitSet mask = new BitSet(differentBits.length());
+        for (int bit = differentBits.nextSetBit(0); bit >= 0; bit = differentBits.nextSetBit(bit + 1)) {
+          if (randomGenerator.getRandomValue() < 0.5) {
+            mask.set(bit);
           }
         }
+
+        offspring.get(0).variables().get(var).swap(offspring.get(1).variables().get(var), mask);
       }
     }
 
@@ -5,12 +5,14 @@ import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.solution.binarysolution.impl.DefaultBinarySolution;
+import org.uma.jmetal.util.binarySet.BinarySet;
 import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
@@ -92,16 +94,26 @@ public class NPointCrossoverMOEAD<T> implements CrossoverOperator<Solution<T>> {
                 crossoverPoints[i] = randomNumberGenerator.nextInt(0, ((BitSet) mom.variables().get(0)).size() - 1);
             }
 
-            for (int i = 0; i < ((BitSet) mom.variables().get(0)).size(); i++) {
-                if (swap) {
-                    ((BitSet) boy.variables().get(0)).set(i, ((BitSet) mom.variables().get(0)).get(i));
-                    ((BitSet) girl.variables().get(0)).set(i, ((BitSet) dad.variables().get(0)).get(i));
+            //the bits after an odd number of crossover points are exchanged
+            Arrays.sort(crossoverPoints);
+            BitSet mask = new BitSet();
+            int from = -1;
+            for (int i = 0; i < crossoverPoints.length; i++) {
+                if ((i > 0) && (crossoverPoints[i] == crossoverPoints[i - 1])) {
+                    continue;
                 }
-
-                if (ArrayUtils.contains(crossoverPoints, i)) {
-                    swap = !swap;
+                swap = !swap;
+                if (swap) {
+                    from = crossoverPoints[i] + 1;
+                } else {
+                    mask.set(from, crossoverPoints[i] + 1);
                 }
             }
+            if (swap) {
+                mask.set(from, ((BitSet) mom.variables().get(0)).size());
+            }
+
+            ((BinarySet) girl.variables().get(0)).swap((BinarySet) boy.variables().get(0), mask);
         }
 
         List<Solution<T>> result = new ArrayList<>();
@@ -10,6 +10,7 @@ import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 import org.uma.jmetal.util.pseudorandom.RandomGenerator;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -114,11 +115,9 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
       offspring1 = (BinarySet) parent1.variables().get(variable).clone();
       offspring2 = (BinarySet) parent2.variables().get(variable).clone();
 
-      for (int i = intoVariableCrossoverPoint; i < offspring1.getBinarySetLength(); i++) {
-        boolean swap = offspring1.get(i);
-        offspring1.set(i, offspring2.get(i));
-        offspring2.set(i, swap);
-      }
+      BitSet mask = new BitSet(offspring1.getBinarySetLength());
+      mask.set(intoVariableCrossoverPoint, offspring1.getBinarySetLength());
+      offspring1.swap(offspring2, mask);
 
       offspring.get(0).variables().set(variable, offspring1);
       offspring.get(1).variables().set(variable, offspring2);
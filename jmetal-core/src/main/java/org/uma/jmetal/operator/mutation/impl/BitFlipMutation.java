@@ -2,6 +2,7 @@ package org.uma.jmetal.operator.mutation.impl;
 
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.binarySet.BinarySet;
 import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
@@ -14,6 +15,9 @@ import org.uma.jmetal.util.pseudorandom.RandomGenerator;
  */
 @SuppressWarnings("serial")
 public class BitFlipMutation implements MutationOperator<BinarySolution> {
+  private static final RandomGenerator<Double> DEFAULT_RANDOM_GENERATOR =
+      () -> JMetalRandom.getInstance().nextDouble();
+
   private double mutationProbability;
   private final RandomGenerator<Double> randomGenerator;
 
@@ -21,7 +25,7 @@ public class BitFlipMutation implements MutationOperator<BinarySolution> {
    * Constructor
    */
   public BitFlipMutation(double mutationProbability) {
-    this(mutationProbability, () -> JMetalRandom.getInstance().nextDouble());
+    this(mutationProbability, DEFAULT_RANDOM_GENERATOR);
   }
 
   /**
@@ -58,12 +62,20 @@ public class BitFlipMutation implements MutationOperator<BinarySolution> {
   }
 
   /**
-   * Perform the mutation operation
+   * Perform the mutation operation. With the default random generator, the number of bits between
+   * two flipped bits is sampled from a geometric distribution, so the number of random values drawn
+   * is the number of flipped bits instead of the number of bits. With a custom random generator, a
+   * value is drawn for each bit.
    *
    * @param probability Mutation setProbability
    * @param solution    The solution to mutate
    */
   public void doMutation(double probability, BinarySolution solution) {
+    if (randomGenerator == DEFAULT_RANDOM_GENERATOR) {
+      doMutationBySkipSampling(probability, solution);
+      return;
+    }
+
     for (int i = 0; i < solution.variables().size(); i++) {
       for (int j = 0; j < solution.variables().get(i).getBinarySetLength(); j++) {
         if (randomGenerator.getRandomValue() <= probability) {
@@ -72,4 +84,38 @@ public class BitFlipMutation implements MutationOperator<BinarySolution> {
       }
     }
   }
+
+  /**
+   * Flips each bit with the given probability by jumping from a flipped bit to the next one
+   */
+  private void doMutationBySkipSampling(double probability, BinarySolution solution) {
+    if (probability <= 0.0) {
+      return;
+    } else if (probability >= 1.0) {
+      for (BinarySet binarySet : solution.variables()) {
+        binarySet.flip(0, binarySet.getBinarySetLength());
+      }
+      return;
+    }
+
+    double logOfComplement = Math.log(1.0 - probability);
+    long position = nextSkip(logOfComplement);
+    for (BinarySet binarySet : solution.variables()) {
+      int length = binarySet.getBinarySetLength();
+      while (position < length) {
+        binarySet.flip((int) position);
+        position += 1 + nextSkip(logOfComplement);
+      }
+      position -= length;
+    }
+  }
+
+  /**
+   * Number of bits not flipped before the next flipped one: floor(log(U) / log(1 - p)), with U
+   * uniform in (0, 1]
+   */
+  private long nextSkip(double logOfComplement) {
+    double skip = Math.floor(Math.log(1.0 - randomGenerator.getRandomValue()) / logOfComplement);
+    return (skip < Integer.MAX_VALUE) ? (long) skip : Integer.MAX_VALUE;
+  }
 }
@@ -24,7 +24,7 @@ public class RankingAndCrowdingSelection<S extends Solution<?>>
         implements SelectionOperator<List<S>, List<S>> {
     private final int solutionsToSelect;
     private final Comparator<S> dominanceComparator;
-
+    private final Ranking<S> ranking;
 
     /**
      * Constructor
@@ -32,6 +32,17 @@ public class RankingAndCrowdingSelection<S extends Solution<?>>
     public RankingAndCrowdingSelection(int solutionsToSelect, Comparator<S> dominanceComparator) {
         this.dominanceComparator = dominanceComparator;
         this.solutionsToSelect = solutionsToSelect;
+        this.ranking = null;
+    }
+
+    /**
+     * Constructor with the ranking of the solutions (e.g., one specialized for
+     * the number of objectives of the problem)
+     */
+    public RankingAndCrowdingSelection(int solutionsToSelect, Ranking<S> ranking) {
+        this.dominanceComparator = null;
+        this.solutionsToSelect = solutionsToSelect;
+        this.ranking = ranking;
     }
 
     /**
@@ -59,7 +70,7 @@ public class RankingAndCrowdingSelection<S extends Solution<?>>
                     "the solutions to selected (" + solutionsToSelect + ")");
         }
 
-        Ranking<S> ranking = new FastNonDominatedSortRanking<S>(dominanceComparator);
+        Ranking<S> ranking = (this.ranking != null) ? this.ranking : new FastNonDominatedSortRanking<S>(dominanceComparator);
         ranking.compute(solutionList);
 
         return crowdingDistanceSelection(ranking);
@@ -0,0 +1,185 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume.util;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Non-dominated front of two objective (minimization) points, kept sorted by the first objective,
+ * which maintains the exact hypervolume contribution of each point and the hypervolume of the
+ * front with respect to a fixed reference point. The contribution of a point only depends on its
+ * neighbours in the front, so adding or removing a point updates the contributions in O(log n).
+ * <p>
+ * Points dominated by a point of the front are not added, and adding a point removes the points
+ * of the front dominated by it. Repeated points are kept once, with their number of copies, and
+ * contribute nothing while there is more than one copy. The points are expected to dominate the
+ * reference point.
+ */
+public class HypervolumeContributionFront2D {
+    private final double referenceX;
+    private final double referenceY;
+
+    private final TreeMap<Double, Entry> front; // Points of the front by their first objective
+    private final TreeSet<Entry> contributions; // Points of the front by their contribution
+
+    private double hypervolume;
+    private int numberOfPoints;
+
+    private static class Entry {
+        final double x;
+        final double y;
+        int copies;
+        double contribution;
+
+        Entry(double x, double y) {
+            this.x = x;
+            this.y = y;
+            this.copies = 1;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param referencePoint Reference point of the hypervolume
+     */
+    public HypervolumeContributionFront2D(double[] referencePoint) {
+        referenceX = referencePoint[0];
+        referenceY = referencePoint[1];
+        front = new TreeMap<>();
+        contributions = new TreeSet<>(Comparator.<Entry>comparingDouble(entry -> entry.contribution)
+                .thenComparingDouble(entry -> entry.x));
+    }
+
+    /**
+     * Adds a point to the front, removing the points dominated by it
+     *
+     * @return false if the point is dominated by a point of the front, so it is not added
+     */
+    public boolean add(double x, double y) {
+        // -0.0 and 0.0 are equal objective values, but different keys
+        x += 0.0;
+        y += 0.0;
+
+        // the points of the front before x are worse in the second objective than the last of them
+        Map.Entry<Double, Entry> previous = front.floorEntry(x);
+        if ((previous != null) && (previous.getValue().y <= y)) {
+            Entry entry = previous.getValue();
+            if ((entry.x == x) && (entry.y == y)) {
+                entry.copies++;
+                numberOfPoints++;
+                updateContribution(entry);
+                return true;
+            }
+            return false;
+        }
+
+        // the dominated points are the ones from x on until the first better in the second objective
+        Map.Entry<Double, Entry> next = front.ceilingEntry(x);
+        while ((next != null) && (next.getValue().y >= y)) {
+            removeEntry(next.getValue());
+            numberOfPoints -= next.getValue().copies;
+            next = front.higherEntry(next.getKey());
+        }
+
+        Entry entry = new Entry(x, y);
+        front.put(x, entry);
+        numberOfPoints++;
+        updateContribution(entry);
+        hypervolume += entry.contribution;
+        updateNeighbours(x);
+
+        return true;
+    }
+
+    /**
+     * Removes a copy of a point of the front
+     *
+     * @return false if the point is not in the front
+     */
+    public boolean remove(double x, double y) {
+        Entry entry = front.get(x + 0.0);
+        if ((entry == null) || (entry.y != y + 0.0)) {
+            return false;
+        }
+
+        numberOfPoints--;
+        if (entry.copies > 1) {
+            entry.copies--;
+            updateContribution(entry);
+        } else {
+            removeEntry(entry);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the contribution of a point of the front, or NaN if it is not in the front
+     */
+    public double getContribution(double x, double y) {
+        Entry entry = front.get(x + 0.0);
+        return ((entry == null) || (entry.y != y + 0.0)) ? Double.NaN : entry.contribution;
+    }
+
+    /**
+     * Returns the point of the front with the lowest contribution, or null if the front is empty
+     */
+    public double[] getLeastContributor() {
+        if (contributions.isEmpty()) {
+            return null;
+        }
+
+        Entry entry = contributions.first();
+        return new double[]{entry.x, entry.y};
+    }
+
+    public double getHypervolume() {
+        return hypervolume;
+    }
+
+    /**
+     * Number of points of the front, counting the repeated ones
+     */
+    public int getNumberOfPoints() {
+        return numberOfPoints;
+    }
+
+    private void removeEntry(Entry entry) {
+        contributions.remove(entry);
+        hypervolume -= area(entry);
+        front.remove(entry.x);
+        updateNeighbours(entry.x);
+    }
+
+    private void updateNeighbours(double x) {
+        Map.Entry<Double, Entry> neighbour = front.lowerEntry(x);
+        if (neighbour != null) {
+            updateContribution(neighbour.getValue());
+        }
+        neighbour = front.higherEntry(x);
+        if (neighbour != null) {
+            updateContribution(neighbour.getValue());
+        }
+    }
+
+    private void updateContribution(Entry entry) {
+        contributions.remove(entry);
+        entry.contribution = (entry.copies > 1) ? 0.0 : area(entry);
+        contributions.add(entry);
+    }
+
+    /**
+     * The region dominated only by a point (by all its copies) is the rectangle between it, the
+     * first objective of the next point and the second objective of the previous one
+     */
+    private double area(Entry entry) {
+        Map.Entry<Double, Entry> previous = front.lowerEntry(entry.x);
+        Map.Entry<Double, Entry> next = front.higherEntry(entry.x);
+        double width = ((next == null) ? referenceX : next.getValue().x) - entry.x;
+        double height = ((previous == null) ? referenceY : previous.getValue().y) - entry.y;
+
+        return width * height;
+    }
+}
@@ -0,0 +1,106 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume.util;
+
+import org.uma.jmetal.util.errorchecking.Check;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Exact hypervolume contributions of sets of two or three objective (minimization) points, that
+ * is, the hypervolume dominated by each point and by no other point of the set.
+ * <p>
+ * With two objectives, the contributions of a non-dominated set are computed in O(n log n) by a
+ * {@link HypervolumeContributionFront2D}. With three objectives, the contribution of each point is
+ * computed by sweeping the points along the third objective, while a {@link
+ * HypervolumeContributionFront2D} keeps the area dominated in the first two objectives, which
+ * takes O(n log n) per point. Sets with dominated points are computed the same way in both cases.
+ */
+public class HypervolumeContributions {
+    private HypervolumeContributions() {
+    }
+
+    /**
+     * Returns the contributions of a set of points, which are expected to dominate the reference point
+     *
+     * @param points         Points of two or three objectives
+     * @param referencePoint Reference point of the hypervolume
+     */
+    public static double[] compute(double[][] points, double[] referencePoint) {
+        Check.that((referencePoint.length == 2) || (referencePoint.length == 3),
+                "The number of objectives must be two or three: " + referencePoint.length);
+
+        if (referencePoint.length == 2) {
+            HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+            for (double[] point : points) {
+                front.add(point[0], point[1]);
+            }
+
+            //all the points are in the front if none of them is dominated
+            if (front.getNumberOfPoints() == points.length) {
+                double[] contributions = new double[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    contributions[i] = front.getContribution(points[i][0], points[i][1]);
+                }
+                return contributions;
+            }
+        }
+
+        double[] contributions = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            contributions[i] = contribution(points, i, referencePoint);
+        }
+        return contributions;
+    }
+
+    /**
+     * Returns the hypervolume of a set of two or three objective points
+     */
+    public static double hypervolume(double[][] points, double[] referencePoint) {
+        HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+        if (referencePoint.length == 2) {
+            for (double[] point : points) {
+                front.add(point[0], point[1]);
+            }
+            return front.getHypervolume();
+        }
+
+        //the area of the front is constant between the third objective of two consecutive points
+        double[][] sorted = points.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(point -> point[2]));
+
+        double volume = 0.0;
+        for (int i = 0; i < sorted.length; i++) {
+            front.add(sorted[i][0], sorted[i][1]);
+            double next = (i + 1 < sorted.length) ? sorted[i + 1][2] : referencePoint[2];
+            volume += front.getHypervolume() * (next - sorted[i][2]);
+        }
+
+        return volume;
+    }
+
+    /**
+     * The contribution of a point is the volume of its box minus the hypervolume of the rest of the
+     * points limited to that box
+     */
+    private static double contribution(double[][] points, int index, double[] referencePoint) {
+        double[] point = points[index];
+
+        double box = 1.0;
+        for (int j = 0; j < point.length; j++) {
+            box *= referencePoint[j] - point[j];
+        }
+
+        double[][] limited = new double[points.length - 1][];
+        for (int i = 0, k = 0; i < points.length; i++) {
+            if (i != index) {
+                limited[k] = new double[point.length];
+                for (int j = 0; j < point.length; j++) {
+                    limited[k][j] = Math.max(points[i][j], point[j]);
+                }
+                k++;
+            }
+        }
+
+        return box - hypervolume(limited, referencePoint);
+    }
+}
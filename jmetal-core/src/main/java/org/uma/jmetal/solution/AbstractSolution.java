@@ -3,6 +3,7 @@ package org.uma.jmetal.solution;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +19,7 @@ public abstract class AbstractSolution<T> implements Solution<T> {
     private final List<T> variables;
     private final double[] constraints;
     protected Map<Object, Object> attributes;
+    private double[] attributeSlots; // Values of the attribute slots, NaN if not set
 
     @Override
     public List<T> variables() {
@@ -39,6 +41,34 @@ public abstract class AbstractSolution<T> implements Solution<T> {
         return attributes;
     }
 
+    @Override
+    public double getAttribute(AttributeSlot slot) {
+        int index = slot.getIndex();
+        return ((attributeSlots != null) && (index < attributeSlots.length)) ? attributeSlots[index] : Double.NaN;
+    }
+
+    @Override
+    public void setAttribute(AttributeSlot slot, double value) {
+        int index = slot.getIndex();
+        if (attributeSlots == null) {
+            attributeSlots = new double[Math.max(index + 1, AttributeSlot.getNumberOfSlots())];
+            Arrays.fill(attributeSlots, Double.NaN);
+        } else if (index >= attributeSlots.length) {
+            int length = attributeSlots.length;
+            attributeSlots = Arrays.copyOf(attributeSlots, Math.max(index + 1, AttributeSlot.getNumberOfSlots()));
+            Arrays.fill(attributeSlots, length, attributeSlots.length, Double.NaN);
+        }
+        attributeSlots[index] = value;
+    }
+
+    /**
+     * Copies the attributes of a solution, both the map and the slots
+     */
+    protected void copyAttributes(AbstractSolution<?> solution) {
+        attributes = new HashMap<>(solution.attributes);
+        attributeSlots = (solution.attributeSlots == null) ? null : solution.attributeSlots.clone();
+    }
+
     /**
      * Constructor
      */
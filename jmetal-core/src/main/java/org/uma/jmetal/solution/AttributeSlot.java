@@ -0,0 +1,61 @@
+package org.uma.jmetal.solution;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of a numeric solution attribute. A component (ranking, density
+ * estimator, etc.) reserves its slot once, and then the solutions extending
+ * {@link AbstractSolution} keep the value in a primitive array at that index,
+ * instead of a boxed value in their attribute map. Other solutions keep it in
+ * the map, under the id of the slot (see {@link Solution#getAttribute(AttributeSlot)}).
+ * <p>
+ * The slots are reserved at run time, so their indexes are only valid in the
+ * JVM reserving them.
+ */
+@SuppressWarnings("serial")
+public final class AttributeSlot implements Serializable {
+    private static final Map<Object, AttributeSlot> slots = new ConcurrentHashMap<>();
+    private static final AtomicInteger numberOfSlots = new AtomicInteger();
+
+    private final Object id;
+    private final int index;
+
+    private AttributeSlot(Object id, int index) {
+        this.id = id;
+        this.index = index;
+    }
+
+    /**
+     * Returns the slot of an attribute id, reserving it the first time
+     */
+    public static AttributeSlot of(Object id) {
+        return slots.computeIfAbsent(id, key -> new AttributeSlot(key, numberOfSlots.getAndIncrement()));
+    }
+
+    /**
+     * Number of slots reserved so far
+     */
+    public static int getNumberOfSlots() {
+        return numberOfSlots.get();
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    private Object readResolve() {
+        return of(id);
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeSlot[" + index + "]: " + id;
+    }
+}
@@ -17,4 +17,17 @@ public interface Solution<T> extends Serializable {
   Map<Object,Object> attributes() ;
 
   Solution<T> copy() ;
+
+  /**
+   * Returns the value of a numeric attribute, or NaN if it has not been set.
+   * By default, it is stored in the attribute map under the id of the slot.
+   */
+  default double getAttribute(AttributeSlot slot) {
+    Object value = attributes().get(slot.getId()) ;
+    return (value instanceof Number) ? ((Number) value).doubleValue() : Double.NaN ;
+  }
+
+  default void setAttribute(AttributeSlot slot, double value) {
+    attributes().put(slot.getId(), value) ;
+  }
 }
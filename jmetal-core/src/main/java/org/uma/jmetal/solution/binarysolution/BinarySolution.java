@@ -1,11 +1,8 @@
 package org.uma.jmetal.solution.binarysolution;
 
-import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.binarySet.BinarySet;
 
-import java.util.List;
-
 /**
  * Interface representing binary (bitset) solutions
  *
@@ -16,11 +13,20 @@ public interface BinarySolution extends Solution<BinarySet> {
 
     int getTotalNumberOfBits();
 
-    void setUEsToCellAssignment(List<Cell> assignment);
+    /**
+     * Stores the UE to cell assignment of the last evaluation, i.e., the
+     * index of the serving cell of each user. The assignment is copied, and
+     * the current one becomes the previous one, reusing the arrays of the
+     * solution. A null assignment (e.g., that of a solution without active
+     * cells) forgets both (see forgetUEsToCellAssignment).
+     *
+     * @param assignment Index of the serving cell of each user, or null
+     */
+    void setUEsToCellAssignment(int[] assignment);
 
-    List<Cell> getCurrentUesToCellAssignment();
+    int[] getCurrentUesToCellAssignment();
 
-    List<Cell> getPreviousUesToCellAssignment();
+    int[] getPreviousUesToCellAssignment();
 
     void forgetUEsToCellAssignment();
 }
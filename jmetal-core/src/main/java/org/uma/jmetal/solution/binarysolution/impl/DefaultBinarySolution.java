@@ -5,9 +5,7 @@ import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.util.binarySet.BinarySet;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
-import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
-
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -22,8 +20,9 @@ public class DefaultBinarySolution
         implements BinarySolution {
 
     protected List<Integer> bitsPerVariable;
-    List<Cell> currentUesToCellAssignment_ = null;
-    List<Cell> previousUesToCellAssignment_ = null;
+    //UE to cell assignments (double buffer: the previous array is reused for the next one)
+    int[] currentUesToCellAssignment_ = null;
+    int[] previousUesToCellAssignment_ = null;
 
     /**
      * Constructor
@@ -62,20 +61,26 @@ public class DefaultBinarySolution
             constraints()[i] = solution.constraints()[i];
         }
 
-        attributes = new HashMap<>(solution.attributes);
+        copyAttributes(solution);
     }
 
+    /**
+     * Creates a random binary set, filling it 32 bits at a time: each random value in [0, 1) gives
+     * 32 random bits, instead of drawing a value per bit
+     */
     private static BinarySet createNewBinarySet(int numberOfBits, JMetalRandom randomGenerator) {
+        long[] words = new long[(numberOfBits + 63) / 64];
+        for (int i = 0; i < numberOfBits; i += 32) {
+            long bits = (long) (randomGenerator.nextDouble() * 0x100000000L);
+            words[i / 64] |= bits << (i % 64);
+        }
+        if (numberOfBits % 64 != 0) {
+            words[words.length - 1] &= (1L << (numberOfBits % 64)) - 1;
+        }
+
         BinarySet bitSet = new BinarySet(numberOfBits);
+        bitSet.or(BitSet.valueOf(words));
 
-        for (int i = 0; i < numberOfBits; i++) {
-            double rnd = randomGenerator.nextDouble();
-            if (rnd < 0.5) {
-                bitSet.set(i);
-            } else {
-                bitSet.clear(i);
-            }
-        }
         return bitSet;
     }
 
@@ -105,16 +110,27 @@ public class DefaultBinarySolution
         }
     }
 
-    public void setUEsToCellAssignment(List<Cell> assignment) {
+    public void setUEsToCellAssignment(int[] assignment) {
+        if (assignment == null) {
+            forgetUEsToCellAssignment();
+            return;
+        }
+
+        int[] buffer = previousUesToCellAssignment_;
+        if ((buffer == null) || (buffer.length != assignment.length)) {
+            buffer = new int[assignment.length];
+        }
+        System.arraycopy(assignment, 0, buffer, 0, assignment.length);
+
         previousUesToCellAssignment_ = currentUesToCellAssignment_;
-        currentUesToCellAssignment_ = assignment;
+        currentUesToCellAssignment_ = buffer;
     }
 
-    public List<Cell> getCurrentUesToCellAssignment() {
+    public int[] getCurrentUesToCellAssignment() {
         return currentUesToCellAssignment_;
     }
 
-    public List<Cell> getPreviousUesToCellAssignment() {
+    public int[] getPreviousUesToCellAssignment() {
         return previousUesToCellAssignment_;
     }
 
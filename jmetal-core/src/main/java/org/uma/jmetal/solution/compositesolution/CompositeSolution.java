@@ -4,7 +4,6 @@ import org.uma.jmetal.solution.AbstractSolution;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.errorchecking.Check;
 
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -68,7 +67,7 @@ public class CompositeSolution extends AbstractSolution<Solution<?>> {
       constraints()[i] =  solution.constraints()[i];
     }
 
-    attributes = new HashMap<Object, Object>(solution.attributes) ;
+    copyAttributes(solution);
   }
 
   @Override
@@ -6,7 +6,6 @@ import org.uma.jmetal.solution.doublesolution.DoubleSolution;
 import org.uma.jmetal.util.bounds.Bounds;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -83,7 +82,7 @@ public class DefaultDoubleSolution extends AbstractSolution<Double> implements D
     }
 
     bounds = solution.bounds ;
-    attributes = new HashMap<Object, Object>(solution.attributes) ;
+    copyAttributes(solution);
   }
 
   /**
@@ -6,7 +6,6 @@ import org.uma.jmetal.solution.integersolution.IntegerSolution;
 import org.uma.jmetal.util.bounds.Bounds;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -79,7 +78,7 @@ public class DefaultIntegerSolution extends AbstractSolution<Integer> implements
 
     bounds = solution.bounds;
 
-    attributes = new HashMap<>(solution.attributes);
+    copyAttributes(solution);
   }
 
   /**
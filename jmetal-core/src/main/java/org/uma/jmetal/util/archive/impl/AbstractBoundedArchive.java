@@ -12,12 +12,23 @@ import java.util.List;
  */
 @SuppressWarnings("serial")
 public abstract class AbstractBoundedArchive<S extends Solution<?>> implements BoundedArchive<S> {
-  protected NonDominatedSolutionListArchive<S> archive;
+  protected Archive<S> archive;
   protected int maxSize;
 
   public AbstractBoundedArchive(int maxSize) {
+    this(maxSize, new NonDominatedSolutionListArchive<>());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param maxSize
+   * @param archive Empty archive of non-dominated solutions keeping the solutions (e.g., a {@link
+   *                NonDominatedSolutionTreeArchive})
+   */
+  public AbstractBoundedArchive(int maxSize, Archive<S> archive) {
     this.maxSize = maxSize;
-    this.archive = new NonDominatedSolutionListArchive<>();
+    this.archive = archive;
   }
 
   @Override
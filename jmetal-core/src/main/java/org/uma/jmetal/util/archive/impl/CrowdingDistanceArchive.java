@@ -2,6 +2,7 @@ package org.uma.jmetal.util.archive.impl;
 
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.archive.Archive;
 import org.uma.jmetal.util.densityestimator.DensityEstimator;
 import org.uma.jmetal.util.densityestimator.impl.CrowdingDistanceDensityEstimator;
 
@@ -17,7 +18,11 @@ public class CrowdingDistanceArchive<S extends Solution<?>> extends AbstractBoun
     private final DensityEstimator<S> crowdingDistance;
 
     public CrowdingDistanceArchive(int maxSize) {
-        super(maxSize);
+        this(maxSize, new NonDominatedSolutionListArchive<>());
+    }
+
+    public CrowdingDistanceArchive(int maxSize, Archive<S> archive) {
+        super(maxSize, archive);
         crowdingDistance = new CrowdingDistanceDensityEstimator<S>();
         crowdingDistanceComparator = Comparator.comparing(crowdingDistance::getValue).reversed();
     }
@@ -4,6 +4,7 @@ import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.SolutionListUtils;
 import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
 import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.Hypervolume;
+import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl.LowDimensionalHypervolume;
 
 import java.util.Comparator;
 
@@ -15,6 +16,13 @@ public class HypervolumeArchive<S extends Solution<?>> extends AbstractBoundedAr
   private final Comparator<S> comparator;
     Hypervolume<S> hypervolume;
 
+  /**
+   * Constructor. The contributions are computed by a {@link LowDimensionalHypervolume}
+   */
+  public HypervolumeArchive(int maxSize) {
+    this(maxSize, new LowDimensionalHypervolume<>());
+  }
+
   public HypervolumeArchive(int maxSize, Hypervolume<S> hypervolume) {
     super(maxSize);
     comparator = new HypervolumeContributionComparator<S>() ;
@@ -0,0 +1,454 @@
+package org.uma.jmetal.util.archive.impl;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.ConstraintHandling;
+import org.uma.jmetal.util.archive.Archive;
+import org.uma.jmetal.util.errorchecking.Check;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * This class implements an archive containing non-dominated solutions, as
+ * {@link NonDominatedSolutionListArchive}, indexed by an ND-Tree (A. Jaszkiewicz and T. Lust,
+ * ND-Tree-based update: a fast algorithm for the dynamic non-dominance problem, IEEE Transactions
+ * on Evolutionary Computation, vol. 22, no. 5, pp. 778-791, 2018). Each node of the tree keeps the
+ * ideal and nadir points of its solutions, so the dominance checks of an insertion skip the nodes
+ * whose solutions can neither dominate nor be dominated by the new one, and a node whose nadir point
+ * dominates it (or which is dominated by it as a whole) is resolved without checking its solutions.
+ * The insertions are then sublinear in the size of the archive in practice, instead of linear.
+ * <p>
+ * Solutions are compared by their objectives, as the {@link
+ * org.uma.jmetal.util.comparator.DominanceComparator} does with feasible solutions, and a solution
+ * with the same objectives as one in the archive is not inserted. Unfeasible solutions are kept in a
+ * {@link NonDominatedSolutionListArchive} while there are no feasible ones, which dominate them.
+ * <p>
+ * The solution list can be reordered (e.g. sorted) and solutions removed from it, which removes them
+ * from the archive, but solutions must be inserted through the archive. Removing a solution from the
+ * list moves the last solution to its position.
+ */
+@SuppressWarnings("serial")
+public class NonDominatedSolutionTreeArchive<S extends Solution<?>> implements Archive<S> {
+    private static final int DEFAULT_MAX_LEAF_SIZE = 20;
+
+    private final int maxLeafSize;
+    private Node<S> root;
+
+    private final List<S> solutions; // Solutions of the archive, in the order of the solution list
+    private final Map<S, Integer> positions; // Position of each solution in the solution list
+    private final NonDominatedSolutionListArchive<S> unfeasibleSolutions;
+    private final List<S> solutionList;
+
+    private static class Node<S> {
+        final double[] ideal;
+        final double[] nadir;
+        List<Node<S>> children; // null in leaves
+        List<S> solutions; // null in internal nodes
+
+        Node(double[] objectives) {
+            ideal = objectives.clone();
+            nadir = objectives.clone();
+            solutions = new ArrayList<>();
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        boolean isEmpty() {
+            return isLeaf() ? solutions.isEmpty() : children.isEmpty();
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    public NonDominatedSolutionTreeArchive() {
+        this(DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxLeafSize Maximum number of solutions of a leaf, which is split when exceeding it
+     */
+    public NonDominatedSolutionTreeArchive(int maxLeafSize) {
+        Check.that(maxLeafSize > 1, "The maximum leaf size must be greater than one: " + maxLeafSize);
+
+        this.maxLeafSize = maxLeafSize;
+        solutions = new ArrayList<>();
+        positions = new IdentityHashMap<>();
+        unfeasibleSolutions = new NonDominatedSolutionListArchive<>();
+        solutionList = new SolutionList();
+    }
+
+    /**
+     * Inserts a solution in the archive
+     *
+     * @param solution The solution to be inserted.
+     * @return true if the operation success, and false if the solution is dominated or if a
+     * solution with the same objectives exists
+     */
+    @Override
+    public boolean add(S solution) {
+        if (!ConstraintHandling.isFeasible(solution)) {
+            return addUnfeasible(solution);
+        }
+
+        //the feasible solutions dominate the unfeasible ones
+        if (!unfeasibleSolutions.getSolutionList().isEmpty()) {
+            for (S unfeasible : unfeasibleSolutions.getSolutionList()) {
+                unregister(unfeasible);
+            }
+            unfeasibleSolutions.getSolutionList().clear();
+        }
+
+        double[] objectives = solution.objectives();
+        if (root != null) {
+            if (!update(root, objectives)) {
+                return false;
+            }
+            if (root.isEmpty()) {
+                root = null;
+            }
+        }
+
+        if (root == null) {
+            root = new Node<>(objectives);
+        }
+        insert(root, solution);
+        register(solution);
+
+        return true;
+    }
+
+    /**
+     * Inserts a list of solutions. They are inserted by increasing sum of their objectives, so none
+     * of them is dominated by the ones inserted after it, and no inserted solution is removed again
+     * by the rest of the list.
+     */
+    public Archive<S> addAll(List<S> list) {
+        List<S> sorted = new ArrayList<>(list);
+        sorted.sort(Comparator.comparingDouble(solution -> Arrays.stream(solution.objectives()).sum()));
+        for (S solution : sorted) {
+            add(solution);
+        }
+
+        return this;
+    }
+
+    public Archive<S> join(Archive<S> archive) {
+        return addAll(archive.getSolutionList());
+    }
+
+    /**
+     * Removes a solution from the archive
+     *
+     * @return false if the solution is not in the archive
+     */
+    public boolean remove(S solution) {
+        return solutionList.remove(solution);
+    }
+
+    @Override
+    public List<S> getSolutionList() {
+        return solutionList;
+    }
+
+    @Override
+    public int size() {
+        return solutions.size();
+    }
+
+    @Override
+    public S get(int index) {
+        return solutions.get(index);
+    }
+
+    private boolean addUnfeasible(S solution) {
+        if (root != null) {
+            return false;
+        }
+
+        List<S> previous = new ArrayList<>(unfeasibleSolutions.getSolutionList());
+        if (!unfeasibleSolutions.add(solution)) {
+            return false;
+        }
+
+        //the list archive may have removed solutions dominated by the new one
+        if (previous.size() + 1 != unfeasibleSolutions.size()) {
+            Map<S, Boolean> kept = new IdentityHashMap<>();
+            for (S unfeasible : unfeasibleSolutions.getSolutionList()) {
+                kept.put(unfeasible, true);
+            }
+            for (S unfeasible : previous) {
+                if (!kept.containsKey(unfeasible)) {
+                    unregister(unfeasible);
+                }
+            }
+        }
+        register(solution);
+
+        return true;
+    }
+
+    /**
+     * Removes the solutions of a node dominated by a point
+     *
+     * @return false if the point is dominated by (or equal to) a solution of the node
+     */
+    private boolean update(Node<S> node, double[] point) {
+        if (weaklyDominates(node.nadir, point)) {
+            //all the solutions of the node dominate the point
+            return false;
+        } else if (weaklyDominates(point, node.ideal) && !Arrays.equals(point, node.ideal)) {
+            //the point dominates all the solutions of the node
+            removeSolutions(node);
+            return true;
+        } else if (!weaklyDominates(node.ideal, point) && !weaklyDominates(point, node.nadir)) {
+            //no solution of the node dominates the point, and the point dominates none of them
+            return true;
+        }
+
+        if (node.isLeaf()) {
+            for (int i = 0; i < node.solutions.size(); i++) {
+                double[] objectives = node.solutions.get(i).objectives();
+                if (weaklyDominates(objectives, point)) {
+                    return false;
+                } else if (weaklyDominates(point, objectives)) {
+                    unregister(node.solutions.get(i));
+                    removeFromNode(node, i--);
+                }
+            }
+        } else {
+            for (int i = 0; i < node.children.size(); i++) {
+                Node<S> child = node.children.get(i);
+                if (!update(child, point)) {
+                    return false;
+                }
+                if (child.isEmpty()) {
+                    node.children.remove(i--);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Inserts a solution in the leaf with the closest middle point
+     */
+    private void insert(Node<S> node, S solution) {
+        double[] objectives = solution.objectives();
+        while (true) {
+            for (int j = 0; j < objectives.length; j++) {
+                node.ideal[j] = Math.min(node.ideal[j], objectives[j]);
+                node.nadir[j] = Math.max(node.nadir[j], objectives[j]);
+            }
+
+            if (node.isLeaf()) {
+                node.solutions.add(solution);
+                if (node.solutions.size() > maxLeafSize) {
+                    split(node);
+                }
+                return;
+            }
+
+            Node<S> closest = null;
+            double minimumDistance = Double.POSITIVE_INFINITY;
+            for (Node<S> child : node.children) {
+                double distance = 0.0;
+                for (int j = 0; j < objectives.length; j++) {
+                    double difference = objectives[j] - (child.ideal[j] + child.nadir[j]) / 2.0;
+                    distance += difference * difference;
+                }
+                if (distance < minimumDistance) {
+                    minimumDistance = distance;
+                    closest = child;
+                }
+            }
+            node = closest;
+        }
+    }
+
+    /**
+     * Splits a leaf into as many leaves as objectives plus one, by the objective with the largest range
+     */
+    private void split(Node<S> leaf) {
+        int largest = 0;
+        for (int j = 1; j < leaf.ideal.length; j++) {
+            if (leaf.nadir[j] - leaf.ideal[j] > leaf.nadir[largest] - leaf.ideal[largest]) {
+                largest = j;
+            }
+        }
+        int objective = largest;
+
+        List<S> sorted = leaf.solutions;
+        sorted.sort(Comparator.comparingDouble(solution -> solution.objectives()[objective]));
+
+        int numberOfChildren = leaf.ideal.length + 1;
+        leaf.children = new ArrayList<>(numberOfChildren);
+        leaf.solutions = null;
+        for (int c = 0; c < numberOfChildren; c++) {
+            int from = c * sorted.size() / numberOfChildren;
+            int to = (c + 1) * sorted.size() / numberOfChildren;
+            if (from < to) {
+                Node<S> child = new Node<>(sorted.get(from).objectives());
+                for (S solution : sorted.subList(from, to)) {
+                    insert(child, solution);
+                }
+                leaf.children.add(child);
+            }
+        }
+    }
+
+    private void removeFromNode(Node<S> leaf, int index) {
+        int last = leaf.solutions.size() - 1;
+        leaf.solutions.set(index, leaf.solutions.get(last));
+        leaf.solutions.remove(last);
+    }
+
+    private void removeSolutions(Node<S> node) {
+        if (node.isLeaf()) {
+            for (S solution : node.solutions) {
+                unregister(solution);
+            }
+            node.solutions.clear();
+        } else {
+            for (Node<S> child : node.children) {
+                removeSolutions(child);
+            }
+            node.children.clear();
+        }
+    }
+
+    /**
+     * Removes a solution from the nodes whose box contains it
+     *
+     * @return true if the solution has been found
+     */
+    private boolean removeFromTree(Node<S> node, S solution) {
+        double[] objectives = solution.objectives();
+        if (!weaklyDominates(node.ideal, objectives) || !weaklyDominates(objectives, node.nadir)) {
+            return false;
+        }
+
+        if (node.isLeaf()) {
+            for (int i = 0; i < node.solutions.size(); i++) {
+                if (node.solutions.get(i) == solution) {
+                    removeFromNode(node, i);
+                    return true;
+                }
+            }
+        } else {
+            for (int i = 0; i < node.children.size(); i++) {
+                Node<S> child = node.children.get(i);
+                if (removeFromTree(child, solution)) {
+                    if (child.isEmpty()) {
+                        node.children.remove(i);
+                    }
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean weaklyDominates(double[] point1, double[] point2) {
+        for (int j = 0; j < point1.length; j++) {
+            if (point1[j] > point2[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void register(S solution) {
+        positions.put(solution, solutions.size());
+        solutions.add(solution);
+    }
+
+    /**
+     * Removes a solution from the solution list, moving the last solution to its position
+     */
+    private void unregister(S solution) {
+        int position = positions.remove(solution);
+        int last = solutions.size() - 1;
+        if (position != last) {
+            S moved = solutions.get(last);
+            solutions.set(position, moved);
+            positions.put(moved, position);
+        }
+        solutions.remove(last);
+    }
+
+    /**
+     * View of the solutions of the archive
+     */
+    private class SolutionList extends AbstractList<S> implements RandomAccess {
+        @Override
+        public S get(int index) {
+            return solutions.get(index);
+        }
+
+        @Override
+        public int size() {
+            return solutions.size();
+        }
+
+        /**
+         * Only moves solutions of the archive within the list (e.g., when sorting it)
+         */
+        @Override
+        public S set(int index, S solution) {
+            Check.that(positions.containsKey(solution), "The solution is not in the archive");
+
+            positions.put(solution, index);
+            return solutions.set(index, solution);
+        }
+
+        @Override
+        public S remove(int index) {
+            S solution = solutions.get(index);
+            if ((root == null) || !removeFromTree(root, solution)) {
+                unfeasibleSolutions.getSolutionList().removeIf(unfeasible -> unfeasible == solution);
+            } else if (root.isEmpty()) {
+                root = null;
+            }
+            unregister(solution);
+            modCount++;
+
+            return solution;
+        }
+
+        @SuppressWarnings("SuspiciousMethodCalls")
+        @Override
+        public boolean remove(Object solution) {
+            Integer position = positions.get(solution);
+            if (position == null) {
+                return false;
+            }
+
+            remove((int) position);
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object solution) {
+            return positions.containsKey(solution);
+        }
+
+        @Override
+        public int indexOf(Object solution) {
+            Integer position = positions.get(solution);
+            return (position == null) ? -1 : position;
+        }
+    }
+}
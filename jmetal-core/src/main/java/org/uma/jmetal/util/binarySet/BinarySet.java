@@ -30,6 +30,22 @@ public class BinarySet extends BitSet {
     return numberOfBits;
   }
 
+  /**
+   * Exchanges with another binary set the bits given by a mask, with word operations instead of bit
+   * by bit
+   *
+   * @param binarySet Binary set exchanging bits with this one
+   * @param mask      Bits to be exchanged
+   */
+  public void swap(BinarySet binarySet, BitSet mask) {
+    BitSet difference = (BitSet) clone();
+    difference.xor(binarySet);
+    difference.and(mask);
+
+    xor(difference);
+    binarySet.xor(difference);
+  }
+
   @Override
   public String toString() {
     StringBuilder result = new StringBuilder();
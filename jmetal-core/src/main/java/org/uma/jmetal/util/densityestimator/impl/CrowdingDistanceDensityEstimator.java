@@ -1,5 +1,6 @@
 package org.uma.jmetal.util.densityestimator.impl;
 
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.comparator.ObjectiveComparator;
 import org.uma.jmetal.util.densityestimator.DensityEstimator;
@@ -17,6 +18,7 @@ import java.util.List;
 public class CrowdingDistanceDensityEstimator<S extends Solution<?>> implements DensityEstimator<S> {
 
     private final String attributeId = getClass().getName();
+    private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
 
     /**
      * Assigns crowding distances to all population in a <code>SolutionSet</code>.
@@ -33,13 +35,13 @@ public class CrowdingDistanceDensityEstimator<S extends Solution<?>> implements
         }
 
         if (size == 1) {
-            solutionList.get(0).attributes().put(attributeId, Double.POSITIVE_INFINITY);
+            solutionList.get(0).setAttribute(attributeSlot, Double.POSITIVE_INFINITY);
             return;
         }
 
         if (size == 2) {
-            solutionList.get(0).attributes().put(attributeId, Double.POSITIVE_INFINITY);
-            solutionList.get(1).attributes().put(attributeId, Double.POSITIVE_INFINITY);
+            solutionList.get(0).setAttribute(attributeSlot, Double.POSITIVE_INFINITY);
+            solutionList.get(1).setAttribute(attributeSlot, Double.POSITIVE_INFINITY);
             return;
         }
 
@@ -47,7 +49,7 @@ public class CrowdingDistanceDensityEstimator<S extends Solution<?>> implements
         List<S> front = new ArrayList<>(solutionList);
 
         for (int i = 0; i < size; i++) {
-            front.get(i).attributes().put(attributeId, 0.0);
+            front.get(i).setAttribute(attributeSlot, 0.0);
         }
 
         int numberOfObjectives = solutionList.get(0).objectives().length;
@@ -68,15 +70,15 @@ public class CrowdingDistanceDensityEstimator<S extends Solution<?>> implements
             }
 
             // Set the crowding distance for the extreme points
-            front.get(0).attributes().put(attributeId, Double.POSITIVE_INFINITY);
-            front.get(size - 1).attributes().put(attributeId, Double.POSITIVE_INFINITY);
+            front.get(0).setAttribute(attributeSlot, Double.POSITIVE_INFINITY);
+            front.get(size - 1).setAttribute(attributeSlot, Double.POSITIVE_INFINITY);
 
             // Increase the crowding distances for all the intermediate points
             for (int j = 1; j < size - 1; j++) {
                 double distance = front.get(j + 1).objectives()[i] - front.get(j - 1).objectives()[i];
                 distance = distance / (maxObjective - minObjective);
-                distance += (double) front.get(j).attributes().get(attributeId);
-                front.get(j).attributes().put(attributeId, distance);
+                distance += front.get(j).getAttribute(attributeSlot);
+                front.get(j).setAttribute(attributeSlot, distance);
             }
         }
     }
@@ -85,15 +87,19 @@ public class CrowdingDistanceDensityEstimator<S extends Solution<?>> implements
     public Double getValue(S solution) {
         Check.notNull(solution);
 
-        Double result = 0.0;
-        if (solution.attributes().get(attributeId) != null) {
-            result = (Double) solution.attributes().get(attributeId);
-        }
-        return result;
+        return value(solution);
+    }
+
+    /**
+     * Crowding distance of a solution, 0.0 if it has not been computed
+     */
+    private double value(S solution) {
+        double value = solution.getAttribute(attributeSlot);
+        return Double.isNaN(value) ? 0.0 : value;
     }
 
     @Override
     public Comparator<S> getComparator() {
-        return Comparator.comparing(this::getValue).reversed();
+        return Comparator.<S>comparingDouble(this::value).reversed();
     }
 }
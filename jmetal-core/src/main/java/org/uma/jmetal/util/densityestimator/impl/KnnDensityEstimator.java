@@ -1,5 +1,6 @@
 package org.uma.jmetal.util.densityestimator.impl;
 
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.NormalizeUtils;
 import org.uma.jmetal.util.SolutionListUtils;
@@ -9,7 +10,7 @@ import org.uma.jmetal.util.distance.impl.EuclideanDistanceBetweenVectors;
 import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.errorchecking.JMetalException;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -20,6 +21,7 @@ import java.util.List;
  */
 public class KnnDensityEstimator<S extends Solution<?>> implements DensityEstimator<S> {
     private final String attributeId = getClass().getName();
+    private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
     private final Distance<double[], double[]> distance = new EuclideanDistanceBetweenVectors();
     private final int k;
     private double[][] distanceMatrix;
@@ -70,13 +72,11 @@ public class KnnDensityEstimator<S extends Solution<?>> implements DensityEstima
     }
 
     /* Get the k-nearest distance of all the solutions */
+    double[] distances = new double[solutionList.size()];
     for (int i = 0; i < solutionList.size(); i++) {
-      List<Double> distances = new ArrayList<>();
-      for (int j = 0; j < solutionList.size(); j++) {
-        distances.add(distanceMatrix[i][j]);
-      }
-      distances.sort(Comparator.naturalOrder());
-      solutionList.get(i).attributes().put(attributeId, distances.get(k));
+      System.arraycopy(distanceMatrix[i], 0, distances, 0, distances.length);
+      Arrays.sort(distances);
+      solutionList.get(i).setAttribute(attributeSlot, distances[k]);
     }
   }
 
@@ -85,15 +85,19 @@ public class KnnDensityEstimator<S extends Solution<?>> implements DensityEstima
   public Double getValue(S solution) {
     Check.notNull(solution);
 
-    Double result = 0.0 ;
-    if (solution.attributes().get(attributeId) != null) {
-      result = (Double) solution.attributes().get(attributeId) ;
-    }
-    return result ;
+    return value(solution);
+  }
+
+  /**
+   * Distance of a solution to its k-th nearest solution, 0.0 if it has not been computed
+   */
+  private double value(S solution) {
+    double value = solution.getAttribute(attributeSlot);
+    return Double.isNaN(value) ? 0.0 : value;
   }
 
   @Override
   public Comparator<S> getComparator() {
-    return Comparator.comparing(this::getValue) ;
+    return Comparator.comparingDouble(this::value) ;
   }
 }
@@ -0,0 +1,138 @@
+package org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl;
+
+import org.uma.jmetal.qualityindicator.impl.hypervolume.util.HypervolumeContributions;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.errorchecking.JMetalException;
+import org.uma.jmetal.util.legacy.front.Front;
+import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.Hypervolume;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class computes the hypervolume contributions of fronts with two or three objectives with
+ * {@link HypervolumeContributions}, exactly and without the generic hypervolume algorithms: in
+ * O(n log n) with two objectives, and by a sweep along the third objective with three. The
+ * contributions are the same as those of {@link PISAHypervolume} and {@link WFGHypervolume}
+ * (the front is normalized with the reference front, the values outside it are saturated to [0, 1]
+ * as {@link org.uma.jmetal.util.legacy.front.util.FrontUtils#getInvertedFront} does, and the
+ * reference point is shifted by the offset), so it can replace them in SMS-EMOA and in the
+ * hypervolume archive. The hypervolume and
+ * the contributions with more objectives are computed by a {@link WFGHypervolume}.
+ */
+@SuppressWarnings("serial")
+@Deprecated
+public class LowDimensionalHypervolume<S extends Solution<?>> extends Hypervolume<S> {
+  private static final double DEFAULT_OFFSET = 100.0;
+  private double offset = DEFAULT_OFFSET;
+
+  private final Hypervolume<S> hypervolume;
+
+  /** Default constructor */
+  public LowDimensionalHypervolume() {
+    hypervolume = new WFGHypervolume<>();
+  }
+
+  /**
+   * Constructor with reference point
+   * @param referencePoint
+   */
+  public LowDimensionalHypervolume(double[] referencePoint) {
+    super(referencePoint);
+    hypervolume = new WFGHypervolume<>(referencePoint);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFrontFile
+   * @throws FileNotFoundException
+   */
+  public LowDimensionalHypervolume(String referenceParetoFrontFile) throws FileNotFoundException {
+    super(referenceParetoFrontFile);
+    hypervolume = new WFGHypervolume<>(referenceParetoFrontFile);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param referenceParetoFront
+   */
+  public LowDimensionalHypervolume(Front referenceParetoFront) {
+    super(referenceParetoFront);
+    hypervolume = new WFGHypervolume<>(referenceParetoFront);
+  }
+
+  @Override
+  public Double evaluate(List<S> paretoFrontApproximation) {
+    return hypervolume.evaluate(paretoFrontApproximation);
+  }
+
+  @Override
+  public List<S> computeHypervolumeContribution(List<S> solutionList, List<S> referenceFrontList) {
+    if (solutionList.size() > 1) {
+      int numberOfObjectives = solutionList.get(0).objectives().length;
+      if ((numberOfObjectives < 2) || (numberOfObjectives > 3)) {
+        return hypervolume.computeHypervolumeContribution(solutionList, referenceFrontList);
+      }
+
+      // STEP 1. Obtain the maximum and minimum values of the reference front
+      double[] maximumValues = new double[numberOfObjectives];
+      double[] minimumValues = new double[numberOfObjectives];
+      Arrays.fill(maximumValues, Double.NEGATIVE_INFINITY);
+      Arrays.fill(minimumValues, Double.POSITIVE_INFINITY);
+      for (S solution : referenceFrontList) {
+        for (int j = 0; j < numberOfObjectives; j++) {
+          maximumValues[j] = Math.max(maximumValues[j], solution.objectives()[j]);
+          minimumValues[j] = Math.min(minimumValues[j], solution.objectives()[j]);
+        }
+      }
+
+      // STEP 2. Normalize the front in [0, 1], with the reference point shifted by the offset
+      double[] referencePoint = new double[numberOfObjectives];
+      double[][] front = new double[solutionList.size()][numberOfObjectives];
+      for (int j = 0; j < numberOfObjectives; j++) {
+        double range = maximumValues[j] - minimumValues[j];
+        if (range == 0) {
+          throw new JMetalException("Maximum and minimum values of index " + j + " "
+              + "are the same: " + maximumValues[j]);
+        }
+        referencePoint[j] = 1.0 + offset / range;
+        for (int i = 0; i < solutionList.size(); i++) {
+          double value = (solutionList.get(i).objectives()[j] - minimumValues[j]) / range;
+          // saturated as when PISAHypervolume inverts the normalized front
+          front[i][j] = Math.min(Math.max(value, 0.0), 1.0);
+        }
+      }
+
+      // STEP 3. Calculate the contributions and sort
+      HypervolumeContributionAttribute<S> hvContribution = new HypervolumeContributionAttribute<>();
+      double[] contributions = HypervolumeContributions.compute(front, referencePoint);
+      for (int i = 0; i < contributions.length; i++) {
+        hvContribution.setAttribute(solutionList.get(i), contributions[i]);
+      }
+
+      solutionList.sort(new HypervolumeContributionComparator<S>());
+    }
+    return solutionList;
+  }
+
+  @Override
+  public double getOffset() {
+    return offset;
+  }
+
+  @Override
+  public void setOffset(double offset) {
+    this.offset = offset;
+    hypervolume.setOffset(offset);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Hypervolume contributions for two and three objectives";
+  }
+}
@@ -12,5 +12,10 @@ public interface Ranking<S> {
   List<S> getSubFront(int rank) ;
   int getNumberOfSubFronts() ;
   Integer getRank(S solution) ;
+
+  /**
+   * Id of the attribute holding the ranks of the solutions. The ranks are
+   * kept in the slot of this id (see {@link org.uma.jmetal.solution.AttributeSlot}).
+   */
   Object getAttributedId() ;
 }
@@ -1,5 +1,6 @@
 package org.uma.jmetal.util.ranking.impl;
 
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.comparator.ConstraintViolationComparator;
 import org.uma.jmetal.util.comparator.DominanceComparator;
@@ -19,6 +20,7 @@ import java.util.*;
  */
 public class FastNonDominatedSortRanking<S extends Solution<?>> implements Ranking<S> {
     private final String attributeId = getClass().getName();
+    private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
     private final Comparator<S> dominanceComparator;
     private static final Comparator<Solution<?>> CONSTRAINT_VIOLATION_COMPARATOR =
             new ConstraintViolationComparator<Solution<?>>();
@@ -89,7 +91,7 @@ public class FastNonDominatedSortRanking<S extends Solution<?>> implements Ranki
         for (int i = 0; i < population.size(); i++) {
             if (dominateMe[i] == 0) {
                 front.get(0).add(i);
-                solutionList.get(i).attributes().put(attributeId, 0);
+                solutionList.get(i).setAttribute(attributeSlot, 0);
             }
         }
 
@@ -106,7 +108,7 @@ public class FastNonDominatedSortRanking<S extends Solution<?>> implements Ranki
                     dominateMe[index]--;
                     if (dominateMe[index] == 0) {
                         front.get(i).add(index);
-                        solutionList.get(index).attributes().put(attributeId, i);
+                        solutionList.get(index).setAttribute(attributeSlot, i);
                     }
                 }
             }
@@ -143,11 +145,8 @@ public class FastNonDominatedSortRanking<S extends Solution<?>> implements Ranki
     public Integer getRank(S solution) {
         Check.notNull(solution);
 
-        Integer result = -1;
-        if (solution.attributes().get(attributeId) != null) {
-            result = (Integer) solution.attributes().get(attributeId);
-        }
-        return result;
+        double rank = solution.getAttribute(attributeSlot);
+        return Double.isNaN(rank) ? -1 : (int) rank;
     }
 
     @Override
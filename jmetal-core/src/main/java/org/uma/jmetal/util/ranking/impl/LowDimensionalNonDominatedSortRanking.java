@@ -0,0 +1,310 @@
+package org.uma.jmetal.util.ranking.impl;
+
+import org.uma.jmetal.solution.AttributeSlot;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.ConstraintHandling;
+import org.uma.jmetal.util.errorchecking.Check;
+import org.uma.jmetal.util.ranking.Ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class implements a solution list ranking based on dominance ranking, as
+ * {@link FastNonDominatedSortRanking}, specialized for problems with two or
+ * three objectives. The solutions are sorted lexicographically by their
+ * objectives, so a solution can only be dominated by the solutions before it,
+ * and then each one is assigned to the first front not dominating it, found
+ * by binary search (as in the ENS-BS approach). Whether a front dominates a
+ * solution is checked in constant time with two objectives (the last solution
+ * added to the front has the lowest second objective), and in logarithmic
+ * time with three objectives (the front keeps the staircase of its solutions
+ * projected on the last two objectives). The ranking takes O(N log N) with
+ * two objectives, and O(N log^2 N) with three, instead of O(M N^2).
+ * <p>
+ * The objectives are copied to a primitive array before sorting. Populations
+ * with more than three objectives are ranked by
+ * {@link MergeNonDominatedSortRanking}, and populations with unfeasible
+ * solutions by {@link FastNonDominatedSortRanking}, which takes the
+ * constraints into account.
+ * <p>
+ * The ranks are the same as those of {@link FastNonDominatedSortRanking} with
+ * the default {@link org.uma.jmetal.util.comparator.DominanceComparator}, so
+ * they are kept under its attribute id. This way, the comparators reading the
+ * ranks of that class (e.g., the default one of
+ * {@link org.uma.jmetal.util.comparator.RankingAndCrowdingDistanceComparator})
+ * read the ranks computed by this one.
+ */
+public class LowDimensionalNonDominatedSortRanking<S extends Solution<?>> implements Ranking<S> {
+    private final String attributeId = FastNonDominatedSortRanking.class.getName();
+    private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
+
+    private int n; // Population size
+    private int m; // Number of objectives
+    private double[] objectives; // Objectives of solution i at [i * m, (i + 1) * m)
+    private int[] ranks;
+
+    private List<ArrayList<S>> rankedSubPopulations;
+
+    /**
+     * Constructor
+     */
+    public LowDimensionalNonDominatedSortRanking() {
+        rankedSubPopulations = new ArrayList<>();
+    }
+
+    @Override
+    public Ranking<S> compute(List<S> solutionList) {
+        n = solutionList.size();
+        rankedSubPopulations = new ArrayList<>();
+        if (n == 0) {
+            return this;
+        }
+
+        m = solutionList.get(0).objectives().length;
+        boolean feasible = true;
+        for (S solution : solutionList) {
+            feasible &= ConstraintHandling.isFeasible(solution);
+        }
+
+        if (m > 3) {
+            return copyRanking(new MergeNonDominatedSortRanking<S>().compute(solutionList));
+        } else if (!feasible) {
+            return copyRanking(new FastNonDominatedSortRanking<S>().compute(solutionList));
+        }
+
+        objectives = new double[n * m];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(solutionList.get(i).objectives(), 0, objectives, i * m, m);
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[n], 0, n);
+
+        ranks = new int[n];
+        int numberOfFronts = (m == 3) ? sortThreeObjectives(order) : sortTwoObjectives(order);
+
+        for (int r = 0; r < numberOfFronts; r++) {
+            rankedSubPopulations.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            solutionList.get(i).setAttribute(attributeSlot, ranks[i]);
+            rankedSubPopulations.get(ranks[i]).add(solutionList.get(i));
+        }
+
+        return this;
+    }
+
+    /**
+     * Assigns the fronts with one or two objectives. The last solution of
+     * each front is the one with the lowest second objective.
+     *
+     * @return The number of fronts
+     */
+    private int sortTwoObjectives(int[] order) {
+        int[] last = new int[n];
+        int numberOfFronts = 0;
+
+        for (int p : order) {
+            //first front not dominating p
+            int low = 0;
+            int high = numberOfFronts;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dominatesTwoObjectives(last[mid], p)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            ranks[p] = low;
+            last[low] = p;
+            if (low == numberOfFronts) {
+                numberOfFronts++;
+            }
+        }
+
+        return numberOfFronts;
+    }
+
+    /**
+     * Whether q dominates p, given that q is not after p in lexicographic order
+     */
+    private boolean dominatesTwoObjectives(int q, int p) {
+        double q1 = (m > 1) ? objectives[q * m + 1] : 0.0;
+        double p1 = (m > 1) ? objectives[p * m + 1] : 0.0;
+
+        return (q1 < p1) || ((q1 == p1) && (objectives[q * m] < objectives[p * m]));
+    }
+
+    /**
+     * Assigns the fronts with three objectives. Each front keeps, sorted by
+     * the second objective, the solutions whose projection on the second and
+     * third objectives is not dominated by that of the solutions after them.
+     *
+     * @return The number of fronts
+     */
+    private int sortThreeObjectives(int[] order) {
+        List<TreeMap<Double, Integer>> fronts = new ArrayList<>();
+
+        for (int p : order) {
+            //first front not dominating p
+            int low = 0;
+            int high = fronts.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dominatesThreeObjectives(fronts.get(mid), p)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            ranks[p] = low;
+            if (low == fronts.size()) {
+                fronts.add(new TreeMap<>());
+            }
+            addToStaircase(fronts.get(low), p);
+        }
+
+        return fronts.size();
+    }
+
+    /**
+     * Whether a solution of a front dominates p. The solution of the
+     * staircase with the highest second objective not greater than that of p
+     * is the one with the lowest third objective among them.
+     */
+    private boolean dominatesThreeObjectives(TreeMap<Double, Integer> staircase, int p) {
+        Map.Entry<Double, Integer> entry = staircase.floorEntry(key(p));
+        if (entry == null) {
+            return false;
+        }
+
+        int q = entry.getValue();
+        double q2 = objectives[q * m + 2];
+        double p2 = objectives[p * m + 2];
+        if (q2 != p2) {
+            return q2 < p2;
+        }
+
+        //equal in the third objective: q must be better in another one
+        return (objectives[q * m + 1] < objectives[p * m + 1]) || (objectives[q * m] < objectives[p * m]);
+    }
+
+    private void addToStaircase(TreeMap<Double, Integer> staircase, int p) {
+        double p1 = key(p);
+        double p2 = objectives[p * m + 2];
+
+        Map.Entry<Double, Integer> entry = staircase.floorEntry(p1);
+        if ((entry != null) && (objectives[entry.getValue() * m + 2] <= p2)) {
+            //the projection of p is dominated by (or equal to) that of a previous solution
+            return;
+        }
+
+        //remove the solutions whose projection is dominated by that of p
+        entry = staircase.ceilingEntry(p1);
+        while ((entry != null) && (objectives[entry.getValue() * m + 2] >= p2)) {
+            staircase.remove(entry.getKey());
+            entry = staircase.higherEntry(entry.getKey());
+        }
+
+        staircase.put(p1, p);
+    }
+
+    /**
+     * Key of a solution in a staircase: its second objective, with -0.0 as
+     * 0.0, as they are equal objective values but different keys
+     */
+    private double key(int p) {
+        return objectives[p * m + 1] + 0.0;
+    }
+
+    /**
+     * Stable merge sort of the solution indexes in lexicographic order of
+     * their objectives
+     */
+    private void mergeSort(int[] indexes, int[] work, int low, int high) {
+        if (high - low < 2) {
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSort(indexes, work, low, mid);
+        mergeSort(indexes, work, mid, high);
+        if (compareLexicographically(indexes[mid - 1], indexes[mid]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(indexes, low, work, low, high - low);
+        for (int s = low, i = low, j = mid; s < high; s++) {
+            if ((j >= high) || ((i < mid) && (compareLexicographically(work[i], work[j]) <= 0))) {
+                indexes[s] = work[i++];
+            } else {
+                indexes[s] = work[j++];
+            }
+        }
+    }
+
+    private int compareLexicographically(int a, int b) {
+        for (int k = 0; k < m; k++) {
+            double va = objectives[a * m + k];
+            double vb = objectives[b * m + k];
+            if (va < vb) {
+                return -1;
+            }
+            if (va > vb) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Takes the fronts computed by another ranking
+     */
+    private Ranking<S> copyRanking(Ranking<S> ranking) {
+        for (int r = 0; r < ranking.getNumberOfSubFronts(); r++) {
+            ArrayList<S> subFront = new ArrayList<>(ranking.getSubFront(r));
+            for (S solution : subFront) {
+                solution.setAttribute(attributeSlot, r);
+            }
+            rankedSubPopulations.add(subFront);
+        }
+
+        return this;
+    }
+
+    @Override
+    public List<S> getSubFront(int rank) {
+        Check.that(
+                rank < rankedSubPopulations.size(),
+                "Invalid rank: " + rank + ". Max rank = " + (rankedSubPopulations.size() - 1));
+
+        return rankedSubPopulations.get(rank);
+    }
+
+    @Override
+    public int getNumberOfSubFronts() {
+        return rankedSubPopulations.size();
+    }
+
+    @Override
+    public Integer getRank(S solution) {
+        Check.notNull(solution);
+
+        double rank = solution.getAttribute(attributeSlot);
+        return Double.isNaN(rank) ? -1 : (int) rank;
+    }
+
+    @Override
+    public Object getAttributedId() {
+        return attributeId;
+    }
+}
@@ -1,5 +1,6 @@
 package org.uma.jmetal.util.ranking.impl;
 
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.errorchecking.Check;
 import org.uma.jmetal.util.errorchecking.JMetalException;
@@ -20,6 +21,7 @@ import java.util.List;
  */
 public class MergeNonDominatedSortRanking<S extends Solution<?>> implements Ranking<S> {
     private final String attributeId = getClass().getName();
+    private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
 
     private static final int INSERTIONSORT = 7;
     private int SOL_ID; //field to store the identifier of the jMetal solution
@@ -58,7 +60,7 @@ public class MergeNonDominatedSortRanking<S extends Solution<?>> implements Rank
             for (int r = rankedSubPopulations.size(); r <= ranking[i]; r++) {
                 rankedSubPopulations.add(new ArrayList<S>());
             }
-            solutionSet.get(i).attributes().put(attributeId, ranking[i]);
+            solutionSet.get(i).setAttribute(attributeSlot, ranking[i]);
             rankedSubPopulations.get(ranking[i]).add(solutionSet.get(i));
         }
         return this;
@@ -221,11 +223,8 @@ public class MergeNonDominatedSortRanking<S extends Solution<?>> implements Rank
     public Integer getRank(S solution) {
         Check.notNull(solution);
 
-        Integer result = -1;
-        if (solution.attributes().get(attributeId) != null) {
-            result = (Integer) solution.attributes().get(attributeId);
-        }
-        return result;
+        double rank = solution.getAttribute(attributeSlot);
+        return Double.isNaN(rank) ? -1 : (int) rank;
     }
 
     @Override
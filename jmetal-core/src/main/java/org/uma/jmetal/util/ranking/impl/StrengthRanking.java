@@ -1,5 +1,6 @@
 package org.uma.jmetal.util.ranking.impl;
 
+import org.uma.jmetal.solution.AttributeSlot;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.comparator.DominanceComparator;
 import org.uma.jmetal.util.errorchecking.Check;
@@ -22,6 +23,7 @@ import java.util.stream.IntStream;
  */
 public class StrengthRanking<S extends Solution<?>> implements Ranking<S> {
   private final String attributeId = getClass().getName();
+  private final AttributeSlot attributeSlot = AttributeSlot.of(attributeId);
     private final Comparator<S> dominanceComparator;
 
   private List<ArrayList<S>> rankedSubPopulations;
@@ -63,7 +65,7 @@ public class StrengthRanking<S extends Solution<?>> implements Ranking<S> {
 
     int maxFitnessValue = 0;
     for (int i = 0; i < solutionList.size(); i++) {
-      solutionList.get(i).attributes().put(attributeId, rawFitness[i]);
+      solutionList.get(i).setAttribute(attributeSlot, rawFitness[i]);
       if (rawFitness[i] > maxFitnessValue) {
         maxFitnessValue = rawFitness[i];
       }
@@ -77,7 +79,7 @@ public class StrengthRanking<S extends Solution<?>> implements Ranking<S> {
     // Assign each solution to its corresponding front
     solutionList.forEach(
         solution ->
-            rankedSubPopulations.get((int) solution.attributes().get(attributeId)).add(solution));
+            rankedSubPopulations.get((int) solution.getAttribute(attributeSlot)).add(solution));
 
     // Remove empty fronts
     // rankedSubPopulations.stream().filter(list -> (list.size() == 0));
@@ -111,11 +113,8 @@ public class StrengthRanking<S extends Solution<?>> implements Ranking<S> {
   public Integer getRank(S solution) {
     Check.notNull(solution);
 
-    Integer result = -1;
-    if (solution.attributes().get(attributeId) != null) {
-      result = (Integer) solution.attributes().get(attributeId);
-    }
-    return result;
+    double rank = solution.getAttribute(attributeSlot);
+    return Double.isNaN(rank) ? -1 : (int) rank;
   }
 
   @Override
@@ -4,7 +4,6 @@ import org.uma.jmetal.problem.DynamicProblem;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.archive.impl.HypervolumeArchive;
 import org.uma.jmetal.util.errorchecking.JMetalException;
-import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl.PISAHypervolume;
 import org.uma.jmetal.util.restartstrategy.RemoveSolutionsStrategy;
 
 import java.util.List;
@@ -30,7 +29,7 @@ public class RemoveNSolutionsAccordingToTheHypervolumeContribution<S extends Sol
     if(numberOfSolutions < 0){
       numberOfSolutions = solutionList.size();
     }
-    HypervolumeArchive<S> archive = new HypervolumeArchive<>(numberOfSolutions,  new PISAHypervolume<>()) ;
+    HypervolumeArchive<S> archive = new HypervolumeArchive<>(numberOfSolutions) ;
     for (S solution: solutionList) {
       archive.add(solution) ;
     }
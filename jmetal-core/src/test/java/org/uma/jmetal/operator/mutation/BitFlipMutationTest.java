@@ -139,6 +139,48 @@ public class BitFlipMutationTest {
     verify(randomGenerator, times(8)).getRandomValue();
  }
 
+  @Test
+  public void shouldMutationWithTheDefaultRandomGeneratorFlipEachBitWithTheMutationProbability() {
+    double mutationProbability = 0.01 ;
+    int numberOfBits = 500 ;
+    int repetitions = 4000 ;
+    JMetalRandom.getInstance().setSeed(1);
+
+    BitFlipMutation mutation = new BitFlipMutation(mutationProbability) ;
+    int[] flips = new int[2 * numberOfBits] ;
+    for (int i = 0; i < repetitions; i++) {
+      BinarySolution solution = new DefaultBinarySolution(List.of(numberOfBits, numberOfBits), 2) ;
+      BinarySolution mutatedSolution = mutation.execute((BinarySolution) solution.copy()) ;
+
+      for (int var = 0; var < 2; var++) {
+        for (int bit = 0; bit < numberOfBits; bit++) {
+          if (solution.variables().get(var).get(bit) != mutatedSolution.variables().get(var).get(bit)) {
+            flips[var * numberOfBits + bit]++ ;
+          }
+        }
+        assertTrue(mutatedSolution.variables().get(var).length() <= numberOfBits) ;
+      }
+    }
+
+    // 40 expected flips per bit, with a standard deviation of about 6.3
+    int totalFlips = Arrays.stream(flips).sum() ;
+    assertEquals(mutationProbability * repetitions * 2 * numberOfBits, totalFlips, 400) ;
+    assertTrue(Arrays.stream(flips).min().getAsInt() > 10) ;
+    assertTrue(Arrays.stream(flips).max().getAsInt() < 75) ;
+  }
+
+  @Test
+  public void shouldMutationWithTheDefaultRandomGeneratorFlipAllTheBitsIfTheProbabilityIsOne() {
+    BinarySolution solution = new DefaultBinarySolution(List.of(70, 3), 2) ;
+    BinarySolution mutatedSolution = new BitFlipMutation(1.0).execute((BinarySolution) solution.copy()) ;
+
+    for (int var = 0; var < 2; var++) {
+      for (int bit = 0; bit < solution.variables().get(var).getBinarySetLength(); bit++) {
+        assertNotEquals(solution.variables().get(var).get(bit), mutatedSolution.variables().get(var).get(bit)) ;
+      }
+    }
+  }
+
   /**
    * Mock class representing a binary problem
    */
@@ -0,0 +1,124 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HypervolumeContributionFront2DTest {
+  private static final double EPSILON = 0.0000000001;
+  private final double[] referencePoint = {10.0, 10.0};
+
+  @Test
+  public void shouldAnEmptyFrontHaveNoHypervolumeNorLeastContributor() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+
+    assertEquals(0.0, front.getHypervolume());
+    assertEquals(0, front.getNumberOfPoints());
+    assertNull(front.getLeastContributor());
+  }
+
+  @Test
+  public void shouldComputeTheContributionsOfANonDominatedFront() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    front.add(1.0, 5.0);
+    front.add(2.0, 3.0);
+    front.add(6.0, 1.0);
+
+    assertEquals(5.0, front.getContribution(1.0, 5.0), EPSILON);
+    assertEquals(4.0 * 2.0, front.getContribution(2.0, 3.0), EPSILON);
+    assertEquals(4.0 * 2.0, front.getContribution(6.0, 1.0), EPSILON);
+    assertEquals(9.0 * 5.0 + 8.0 * 2.0 + 4.0 * 2.0, front.getHypervolume(), EPSILON);
+    assertArrayEquals(new double[] {1.0, 5.0}, front.getLeastContributor());
+  }
+
+  @Test
+  public void shouldNotAddADominatedPoint() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    front.add(1.0, 5.0);
+
+    assertFalse(front.add(2.0, 6.0));
+    assertFalse(front.add(1.0, 6.0));
+    assertEquals(1, front.getNumberOfPoints());
+    assertTrue(Double.isNaN(front.getContribution(2.0, 6.0)));
+  }
+
+  @Test
+  public void shouldAddingAPointRemoveThePointsDominatedByIt() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    front.add(1.0, 5.0);
+    front.add(2.0, 3.0);
+    front.add(6.0, 1.0);
+
+    assertTrue(front.add(1.0, 2.0));
+    assertEquals(2, front.getNumberOfPoints());
+    assertTrue(Double.isNaN(front.getContribution(1.0, 5.0)));
+    assertTrue(Double.isNaN(front.getContribution(2.0, 3.0)));
+    assertEquals(9.0 * 8.0 + 4.0 * 1.0, front.getHypervolume(), EPSILON);
+  }
+
+  @Test
+  public void shouldRepeatedPointsNotContributeUntilOnlyOneCopyIsLeft() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    front.add(1.0, 5.0);
+    front.add(6.0, 1.0);
+    front.add(6.0, 1.0);
+
+    assertEquals(3, front.getNumberOfPoints());
+    assertEquals(0.0, front.getContribution(6.0, 1.0));
+    assertEquals(9.0 * 5.0 + 4.0 * 4.0, front.getHypervolume(), EPSILON);
+
+    assertTrue(front.remove(6.0, 1.0));
+    assertEquals(4.0 * 4.0, front.getContribution(6.0, 1.0), EPSILON);
+    assertEquals(9.0 * 5.0 + 4.0 * 4.0, front.getHypervolume(), EPSILON);
+  }
+
+  @Test
+  public void shouldRemoveUpdateTheContributionsOfTheNeighbours() {
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    front.add(1.0, 5.0);
+    front.add(2.0, 3.0);
+    front.add(6.0, 1.0);
+
+    assertFalse(front.remove(2.0, 4.0));
+    assertTrue(front.remove(2.0, 3.0));
+
+    assertEquals(5.0 * 5.0, front.getContribution(1.0, 5.0), EPSILON);
+    assertEquals(4.0 * 4.0, front.getContribution(6.0, 1.0), EPSILON);
+    assertEquals(9.0 * 5.0 + 4.0 * 4.0, front.getHypervolume(), EPSILON);
+  }
+
+  @Test
+  public void shouldIncrementalUpdatesBeEqualToComputingTheFrontFromScratch() {
+    Random random = new Random(1);
+    HypervolumeContributionFront2D front = new HypervolumeContributionFront2D(referencePoint);
+    List<double[]> points = new ArrayList<>();
+
+    for (int step = 0; step < 500; step++) {
+      if (points.isEmpty() || random.nextInt(3) > 0) {
+        double x = random.nextInt(100) / 10.0;
+        double[] point = {x, random.nextInt(100) / 10.0};
+        if (front.add(point[0], point[1])) {
+          points.removeIf(p -> (p[0] >= point[0]) && (p[1] >= point[1]) && ((p[0] > point[0]) || (p[1] > point[1])));
+          points.add(point);
+        }
+      } else {
+        double[] point = points.remove(random.nextInt(points.size()));
+        assertTrue(front.remove(point[0], point[1]));
+      }
+
+      HypervolumeContributionFront2D expected = new HypervolumeContributionFront2D(referencePoint);
+      for (double[] point : points) {
+        expected.add(point[0], point[1]);
+      }
+      assertEquals(points.size(), front.getNumberOfPoints());
+      assertEquals(expected.getHypervolume(), front.getHypervolume(), EPSILON);
+      for (double[] point : points) {
+        assertEquals(expected.getContribution(point[0], point[1]), front.getContribution(point[0], point[1]), EPSILON);
+      }
+    }
+  }
+}
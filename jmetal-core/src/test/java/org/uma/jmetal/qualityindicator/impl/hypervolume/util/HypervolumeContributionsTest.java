@@ -0,0 +1,149 @@
+package org.uma.jmetal.qualityindicator.impl.hypervolume.util;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.util.errorchecking.exception.InvalidConditionException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HypervolumeContributionsTest {
+  private static final double EPSILON = 0.0000001;
+  private static final int SIZE = 8; // Integer coordinates in [0, SIZE), reference point at SIZE
+
+  @Test
+  public void shouldComputeRaiseAnExceptionWithMoreThanThreeObjectives() {
+    assertThrows(InvalidConditionException.class,
+        () -> HypervolumeContributions.compute(new double[][] {{1, 1, 1, 1}}, new double[] {2, 2, 2, 2}));
+  }
+
+  @Test
+  public void shouldComputeTheContributionsOfNonDominatedSetsWithTwoObjectives() {
+    for (int seed = 0; seed < 50; seed++) {
+      double[][] points = randomPoints(2, 20, seed);
+      assertContributionsAreTheVolumeDominatedOnlyByEachPoint(nonDominated(points));
+    }
+  }
+
+  @Test
+  public void shouldComputeTheContributionsOfSetsWithDominatedPointsWithTwoObjectives() {
+    for (int seed = 0; seed < 50; seed++) {
+      assertContributionsAreTheVolumeDominatedOnlyByEachPoint(randomPoints(2, 20, seed));
+    }
+  }
+
+  @Test
+  public void shouldComputeTheContributionsWithThreeObjectives() {
+    for (int seed = 0; seed < 50; seed++) {
+      double[][] points = randomPoints(3, 20, seed);
+      assertContributionsAreTheVolumeDominatedOnlyByEachPoint(points);
+      assertContributionsAreTheVolumeDominatedOnlyByEachPoint(nonDominated(points));
+    }
+  }
+
+  @Test
+  public void shouldComputeTheHypervolumeWithThreeObjectives() {
+    for (int seed = 0; seed < 50; seed++) {
+      double[][] points = randomPoints(3, 20, seed);
+      double[] referencePoint = {SIZE, SIZE, SIZE};
+
+      int dominatedCells = 0;
+      for (int[] cell : cells(3)) {
+        if (numberOfPointsDominating(points, cell) > 0) {
+          dominatedCells++;
+        }
+      }
+
+      assertEquals(dominatedCells, HypervolumeContributions.hypervolume(points, referencePoint), EPSILON);
+    }
+  }
+
+  /**
+   * With integer coordinates, the contribution of a point is the number of unit cells of the
+   * objective space dominated by it and by no other point
+   */
+  private void assertContributionsAreTheVolumeDominatedOnlyByEachPoint(double[][] points) {
+    int m = points[0].length;
+    double[] referencePoint = new double[m];
+    Arrays.fill(referencePoint, SIZE);
+
+    double[] expected = new double[points.length];
+    for (int[] cell : cells(m)) {
+      int dominating = -1;
+      int count = 0;
+      for (int i = 0; i < points.length; i++) {
+        if (dominatesCell(points[i], cell)) {
+          dominating = i;
+          count++;
+        }
+      }
+      if (count == 1) {
+        expected[dominating]++;
+      }
+    }
+
+    assertArrayEquals(expected, HypervolumeContributions.compute(points, referencePoint), EPSILON);
+  }
+
+  private int numberOfPointsDominating(double[][] points, int[] cell) {
+    int count = 0;
+    for (double[] point : points) {
+      if (dominatesCell(point, cell)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private boolean dominatesCell(double[] point, int[] cell) {
+    for (int j = 0; j < point.length; j++) {
+      if (point[j] > cell[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int[][] cells(int m) {
+    int numberOfCells = (int) Math.pow(SIZE, m);
+    int[][] cells = new int[numberOfCells][m];
+    for (int c = 0; c < numberOfCells; c++) {
+      for (int j = 0, value = c; j < m; j++, value /= SIZE) {
+        cells[c][j] = value % SIZE;
+      }
+    }
+    return cells;
+  }
+
+  private double[][] randomPoints(int m, int n, long seed) {
+    Random random = new Random(seed);
+    double[][] points = new double[n][m];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        points[i][j] = random.nextInt(SIZE);
+      }
+    }
+    return points;
+  }
+
+  /**
+   * The points not dominated by another one (repeated points are kept)
+   */
+  private double[][] nonDominated(double[][] points) {
+    return Arrays.stream(points)
+        .filter(p -> Arrays.stream(points).noneMatch(q -> dominates(q, p)))
+        .toArray(double[][]::new);
+  }
+
+  private boolean dominates(double[] q, double[] p) {
+    boolean better = false;
+    for (int j = 0; j < p.length; j++) {
+      if (q[j] > p[j]) {
+        return false;
+      }
+      better |= q[j] < p[j];
+    }
+    return better;
+  }
+}
@@ -0,0 +1,78 @@
+package org.uma.jmetal.solution;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.solution.doublesolution.DoubleSolution;
+import org.uma.jmetal.solution.doublesolution.impl.DefaultDoubleSolution;
+import org.uma.jmetal.util.bounds.Bounds;
+import org.uma.jmetal.util.point.PointSolution;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttributeSlotTest {
+
+  @Test
+  public void shouldOfReturnTheSameSlotForTheSameId() {
+    AttributeSlot slot = AttributeSlot.of("AttributeSlotTest.same");
+
+    assertSame(slot, AttributeSlot.of("AttributeSlotTest.same"));
+    assertEquals("AttributeSlotTest.same", slot.getId());
+  }
+
+  @Test
+  public void shouldOfReturnDifferentSlotsForDifferentIds() {
+    AttributeSlot slot1 = AttributeSlot.of("AttributeSlotTest.first");
+    AttributeSlot slot2 = AttributeSlot.of("AttributeSlotTest.second");
+
+    assertNotEquals(slot1.getIndex(), slot2.getIndex());
+    assertTrue(AttributeSlot.getNumberOfSlots() > Math.max(slot1.getIndex(), slot2.getIndex()));
+  }
+
+  @Test
+  public void shouldGetAttributeReturnNaNIfTheAttributeHasNotBeenSet() {
+    DoubleSolution solution = createSolution();
+
+    assertTrue(Double.isNaN(solution.getAttribute(AttributeSlot.of("AttributeSlotTest.unset"))));
+  }
+
+  @Test
+  public void shouldGetAttributeReturnTheValueSetWithoutUsingTheAttributeMap() {
+    AttributeSlot slot = AttributeSlot.of("AttributeSlotTest.value");
+    DoubleSolution solution = createSolution();
+    solution.setAttribute(slot, 3.5);
+
+    assertEquals(3.5, solution.getAttribute(slot));
+    assertTrue(solution.attributes().isEmpty());
+  }
+
+  @Test
+  public void shouldCopyKeepTheValuesOfTheSlots() {
+    AttributeSlot slot = AttributeSlot.of("AttributeSlotTest.copy");
+    DoubleSolution solution = createSolution();
+    solution.setAttribute(slot, 2.0);
+
+    DoubleSolution copy = (DoubleSolution) solution.copy();
+    assertEquals(2.0, copy.getAttribute(slot));
+
+    copy.setAttribute(slot, 4.0);
+    assertEquals(2.0, solution.getAttribute(slot));
+    assertEquals(4.0, copy.getAttribute(slot));
+  }
+
+  @Test
+  public void shouldSolutionsNotExtendingAbstractSolutionKeepTheValuesInTheAttributeMap() {
+    AttributeSlot slot = AttributeSlot.of("AttributeSlotTest.map");
+    PointSolution solution = new PointSolution(2);
+
+    assertTrue(Double.isNaN(solution.getAttribute(slot)));
+
+    solution.setAttribute(slot, 1.5);
+    assertEquals(1.5, solution.getAttribute(slot));
+    assertEquals(1.5, solution.attributes().get("AttributeSlotTest.map"));
+  }
+
+  private DoubleSolution createSolution() {
+    return new DefaultDoubleSolution(2, 0, List.of(Bounds.create(0.0, 1.0)));
+  }
+}
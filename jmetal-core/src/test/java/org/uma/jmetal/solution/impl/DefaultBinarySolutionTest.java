@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class DefaultBinarySolutionTest {
 
@@ -61,4 +62,15 @@ public class DefaultBinarySolutionTest {
     solution.variables().get(0).clear(2) ;
     assertEquals("11011", solution.variables().get(0).toString()) ;
   }
+
+  @Test public void shouldSetANullUEsToCellAssignmentForgetTheAssignments() {
+    BinarySolution solution = new DefaultBinarySolution(Arrays.asList(5), 2);
+    solution.setUEsToCellAssignment(new int[]{0, 1});
+    solution.setUEsToCellAssignment(new int[]{1, 1});
+
+    solution.setUEsToCellAssignment(null);
+
+    assertNull(solution.getCurrentUesToCellAssignment());
+    assertNull(solution.getPreviousUesToCellAssignment());
+  }
 }
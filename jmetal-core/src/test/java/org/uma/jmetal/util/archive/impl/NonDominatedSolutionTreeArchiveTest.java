@@ -0,0 +1,196 @@
+package org.uma.jmetal.util.archive.impl;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.doubleproblem.DoubleProblem;
+import org.uma.jmetal.problem.doubleproblem.impl.DummyDoubleProblem;
+import org.uma.jmetal.solution.doublesolution.DoubleSolution;
+import org.uma.jmetal.util.comparator.ObjectiveComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NonDominatedSolutionTreeArchiveTest {
+
+  @Test
+  public void shouldConstructorCreateAnEmptyArchive() {
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>();
+
+    assertEquals(0, archive.size());
+    assertTrue(archive.getSolutionList().isEmpty());
+  }
+
+  @Test
+  public void shouldNotAddADominatedSolutionNorARepeatedOne() {
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>();
+
+    assertTrue(archive.add(solution(1.0, 2.0)));
+    assertFalse(archive.add(solution(1.0, 3.0)));
+    assertFalse(archive.add(solution(1.0, 2.0)));
+    assertEquals(1, archive.size());
+  }
+
+  @Test
+  public void shouldAddASolutionRemoveTheSolutionsDominatedByIt() {
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>();
+    archive.add(solution(1.0, 4.0));
+    archive.add(solution(2.0, 3.0));
+    archive.add(solution(4.0, 1.0));
+
+    DoubleSolution solution = solution(1.0, 2.0);
+    assertTrue(archive.add(solution));
+
+    assertEquals(2, archive.size());
+    assertTrue(archive.getSolutionList().contains(solution));
+  }
+
+  @Test
+  public void shouldHaveTheSameSolutionsAsANonDominatedSolutionListArchive() {
+    for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+      for (int seed = 0; seed < 5; seed++) {
+        Random random = new Random(seed);
+        NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>(4);
+        NonDominatedSolutionListArchive<DoubleSolution> expected = new NonDominatedSolutionListArchive<>();
+
+        for (int i = 0; i < 2000; i++) {
+          DoubleSolution solution = randomSolution(numberOfObjectives, random);
+          assertEquals(expected.add(solution), archive.add(solution));
+          assertSameSolutions(expected.getSolutionList(), archive.getSolutionList());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldRemovingSolutionsFromTheSolutionListRemoveThemFromTheArchive() {
+    Random random = new Random(1);
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>(4);
+    NonDominatedSolutionListArchive<DoubleSolution> expected = new NonDominatedSolutionListArchive<>();
+
+    for (int i = 0; i < 3000; i++) {
+      if ((archive.size() > 0) && (random.nextInt(4) == 0)) {
+        DoubleSolution solution = archive.get(random.nextInt(archive.size()));
+        assertTrue(archive.getSolutionList().remove(solution));
+        expected.getSolutionList().remove(solution);
+      } else {
+        DoubleSolution solution = randomSolution(3, random);
+        assertEquals(expected.add(solution), archive.add(solution));
+      }
+      assertSameSolutions(expected.getSolutionList(), archive.getSolutionList());
+    }
+  }
+
+  @Test
+  public void shouldSortingTheSolutionListKeepTheArchive() {
+    Random random = new Random(1);
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>(4);
+    for (int i = 0; i < 500; i++) {
+      archive.add(randomSolution(3, random));
+    }
+    List<DoubleSolution> solutions = new ArrayList<>(archive.getSolutionList());
+
+    archive.getSolutionList().sort(new ObjectiveComparator<>(0));
+
+    for (int i = 1; i < archive.size(); i++) {
+      assertTrue(archive.get(i - 1).objectives()[0] <= archive.get(i).objectives()[0]);
+    }
+    assertSameSolutions(solutions, archive.getSolutionList());
+
+    DoubleSolution first = archive.get(0);
+    assertSame(first, archive.getSolutionList().remove(0));
+    assertEquals(solutions.size() - 1, archive.size());
+    assertFalse(archive.getSolutionList().contains(first));
+  }
+
+  @Test
+  public void shouldAddAllHaveTheSameSolutionsAsAddingThemOneByOne() {
+    Random random = new Random(1);
+    List<DoubleSolution> solutions = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      solutions.add(randomSolution(3, random));
+    }
+
+    NonDominatedSolutionListArchive<DoubleSolution> expected = new NonDominatedSolutionListArchive<>();
+    solutions.forEach(expected::add);
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>();
+    archive.addAll(solutions);
+
+    assertSameSolutions(expected.getSolutionList(), archive.getSolutionList());
+  }
+
+  @Test
+  public void shouldAFeasibleSolutionReplaceTheUnfeasibleOnes() {
+    NonDominatedSolutionTreeArchive<DoubleSolution> archive = new NonDominatedSolutionTreeArchive<>();
+    DoubleSolution unfeasible = solution(1.0, 1.0);
+    unfeasible.constraints()[0] = -1.0;
+
+    assertTrue(archive.add(unfeasible));
+    assertEquals(1, archive.size());
+
+    DoubleSolution feasible = solution(5.0, 5.0);
+    assertTrue(archive.add(feasible));
+    assertEquals(1, archive.size());
+    assertSame(feasible, archive.get(0));
+
+    assertFalse(archive.add(unfeasible));
+  }
+
+  @Test
+  public void shouldCrowdingDistanceArchiveWithATreeArchiveBeBounded() {
+    Random random = new Random(1);
+    CrowdingDistanceArchive<DoubleSolution> archive =
+        new CrowdingDistanceArchive<>(20, new NonDominatedSolutionTreeArchive<>());
+    CrowdingDistanceArchive<DoubleSolution> expected = new CrowdingDistanceArchive<>(20);
+
+    for (int i = 0; i < 2000; i++) {
+      DoubleSolution solution = randomSolution(2, random);
+      archive.add(solution);
+      expected.add(solution);
+    }
+
+    assertEquals(20, archive.size());
+    assertSameSolutions(expected.getSolutionList(), archive.getSolutionList());
+  }
+
+  private void assertSameSolutions(List<DoubleSolution> expected, List<DoubleSolution> result) {
+    Comparator<DoubleSolution> comparator = Comparator.comparingInt(System::identityHashCode);
+    List<DoubleSolution> sortedExpected = new ArrayList<>(expected);
+    List<DoubleSolution> sortedResult = new ArrayList<>(result);
+    sortedExpected.sort(comparator);
+    sortedResult.sort(comparator);
+
+    assertEquals(sortedExpected.size(), sortedResult.size());
+    for (int i = 0; i < sortedExpected.size(); i++) {
+      assertSame(sortedExpected.get(i), sortedResult.get(i));
+    }
+  }
+
+  /**
+   * Solution near the simplex of objectives summing 5, in a coarse grid so there are solutions with
+   * the same objectives
+   */
+  private DoubleSolution randomSolution(int numberOfObjectives, Random random) {
+    double[] objectives = new double[numberOfObjectives];
+    double sum = 0.0;
+    for (int j = 0; j < numberOfObjectives; j++) {
+      objectives[j] = random.nextDouble();
+      sum += objectives[j];
+    }
+    for (int j = 0; j < numberOfObjectives; j++) {
+      objectives[j] = (Math.round(objectives[j] * 50.0 / sum) + random.nextInt(3)) / 10.0;
+    }
+
+    return solution(objectives);
+  }
+
+  private DoubleSolution solution(double... objectives) {
+    DoubleProblem problem = new DummyDoubleProblem(2, objectives.length, 1);
+    DoubleSolution solution = problem.createSolution();
+    System.arraycopy(objectives, 0, solution.objectives(), 0, objectives.length);
+
+    return solution;
+  }
+}
@@ -0,0 +1,140 @@
+package org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.impl;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.doubleproblem.DoubleProblem;
+import org.uma.jmetal.problem.doubleproblem.impl.DummyDoubleProblem;
+import org.uma.jmetal.solution.doublesolution.DoubleSolution;
+import org.uma.jmetal.util.legacy.qualityindicator.impl.hypervolume.Hypervolume;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LowDimensionalHypervolumeTest {
+  private static final double EPSILON = 0.000000001;
+
+  @Test
+  public void shouldContributionsWithTwoObjectivesBeEqualToThoseOfPISAHypervolume() {
+    for (int seed = 0; seed < 20; seed++) {
+      assertSameContributionsAsPISAHypervolume(randomFront(2, 30, seed));
+    }
+  }
+
+  @Test
+  public void shouldContributionsWithThreeObjectivesBeEqualToThoseOfPISAHypervolume() {
+    for (int seed = 0; seed < 20; seed++) {
+      assertSameContributionsAsPISAHypervolume(randomFront(3, 30, seed));
+    }
+  }
+
+  @Test
+  public void shouldContributionsBeComputedRelativeToTheReferenceFront() {
+    List<DoubleSolution> front = randomFront(2, 20, 1);
+    List<DoubleSolution> referenceFront = new ArrayList<>(front);
+    referenceFront.add(solution(new double[] {-5.0, -5.0}));
+    referenceFront.add(solution(new double[] {30.0, 30.0}));
+
+    List<DoubleSolution> expected = new PISAHypervolume<DoubleSolution>().computeHypervolumeContribution(
+        copy(front), referenceFront);
+    List<DoubleSolution> result = new LowDimensionalHypervolume<DoubleSolution>().computeHypervolumeContribution(
+        front, referenceFront);
+
+    assertSameContributions(expected, result);
+  }
+
+  @Test
+  public void shouldContributionsBeEqualToThoseOfPISAHypervolumeWithANarrowerReferenceFront() {
+    for (int numberOfObjectives = 2; numberOfObjectives <= 3; numberOfObjectives++) {
+      List<DoubleSolution> front = randomFront(numberOfObjectives, 30, 1);
+      List<DoubleSolution> referenceFront = copy(front.subList(5, 20));
+
+      List<DoubleSolution> expected = new PISAHypervolume<DoubleSolution>().computeHypervolumeContribution(
+          copy(front), referenceFront);
+      List<DoubleSolution> result = new LowDimensionalHypervolume<DoubleSolution>().computeHypervolumeContribution(
+          front, referenceFront);
+
+      assertSameContributions(expected, result);
+    }
+  }
+
+  @Test
+  public void shouldSortTheSolutionsByDecreasingContribution() {
+    List<DoubleSolution> front = new LowDimensionalHypervolume<DoubleSolution>().computeHypervolumeContribution(
+        randomFront(3, 30, 1), randomFront(3, 30, 1));
+    HypervolumeContributionAttribute<DoubleSolution> contribution = new HypervolumeContributionAttribute<>();
+
+    for (int i = 1; i < front.size(); i++) {
+      assertTrue(contribution.getAttribute(front.get(i - 1)) >= contribution.getAttribute(front.get(i)));
+    }
+  }
+
+  private void assertSameContributionsAsPISAHypervolume(List<DoubleSolution> front) {
+    Hypervolume<DoubleSolution> pisaHypervolume = new PISAHypervolume<>();
+    Hypervolume<DoubleSolution> hypervolume = new LowDimensionalHypervolume<>();
+    pisaHypervolume.setOffset(1.0);
+    hypervolume.setOffset(1.0);
+
+    List<DoubleSolution> expected = pisaHypervolume.computeHypervolumeContribution(copy(front), copy(front));
+    List<DoubleSolution> result = hypervolume.computeHypervolumeContribution(front, copy(front));
+
+    assertSameContributions(expected, result);
+  }
+
+  /**
+   * Compares the contributions of the solutions with the same objectives, which are in the same
+   * position in both lists unless they have the same contribution
+   */
+  private void assertSameContributions(List<DoubleSolution> expected, List<DoubleSolution> result) {
+    HypervolumeContributionAttribute<DoubleSolution> contribution = new HypervolumeContributionAttribute<>();
+
+    assertEquals(expected.size(), result.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(contribution.getAttribute(expected.get(i)), contribution.getAttribute(result.get(i)), EPSILON);
+    }
+  }
+
+  /**
+   * Random non-dominated front, with some repeated solutions
+   */
+  private List<DoubleSolution> randomFront(int numberOfObjectives, int size, long seed) {
+    Random random = new Random(seed);
+    List<DoubleSolution> front = new ArrayList<>();
+    while (front.size() < size) {
+      double[] objectives = new double[numberOfObjectives];
+      double sum = 0.0;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        objectives[j] = random.nextDouble();
+        sum += objectives[j];
+      }
+      for (int j = 0; j < numberOfObjectives; j++) {
+        objectives[j] = 10.0 * objectives[j] / sum;
+      }
+
+      front.add(solution(objectives));
+      if (random.nextInt(10) == 0) {
+        front.add(solution(objectives.clone()));
+      }
+    }
+
+    return front;
+  }
+
+  private DoubleSolution solution(double[] objectives) {
+    DoubleProblem problem = new DummyDoubleProblem(2, objectives.length, 0);
+    DoubleSolution solution = problem.createSolution();
+    System.arraycopy(objectives, 0, solution.objectives(), 0, objectives.length);
+
+    return solution;
+  }
+
+  private List<DoubleSolution> copy(List<DoubleSolution> front) {
+    List<DoubleSolution> copy = new ArrayList<>();
+    for (DoubleSolution solution : front) {
+      copy.add((DoubleSolution) solution.copy());
+    }
+    return copy;
+  }
+}
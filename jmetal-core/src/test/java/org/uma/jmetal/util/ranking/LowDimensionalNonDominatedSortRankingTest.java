@@ -0,0 +1,90 @@
+package org.uma.jmetal.util.ranking;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.doubleproblem.DoubleProblem;
+import org.uma.jmetal.problem.doubleproblem.impl.DummyDoubleProblem;
+import org.uma.jmetal.solution.doublesolution.DoubleSolution;
+import org.uma.jmetal.util.ranking.impl.FastNonDominatedSortRanking;
+import org.uma.jmetal.util.ranking.impl.LowDimensionalNonDominatedSortRanking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LowDimensionalNonDominatedSortRankingTest extends NonDominanceRankingTestCases<Ranking<DoubleSolution>> {
+  public LowDimensionalNonDominatedSortRankingTest() {
+    setRanking(new LowDimensionalNonDominatedSortRanking<>());
+  }
+
+  @Test
+  public void shouldRankingWithTwoObjectivesBeEqualToTheFastNonDominatedSortRanking() {
+    for (int seed = 0; seed < 20; seed++) {
+      assertSameRanksAsFastNonDominatedSort(randomPopulation(2, 0, 200, 10, seed));
+    }
+  }
+
+  @Test
+  public void shouldRankingWithThreeObjectivesBeEqualToTheFastNonDominatedSortRanking() {
+    for (int seed = 0; seed < 20; seed++) {
+      assertSameRanksAsFastNonDominatedSort(randomPopulation(3, 0, 200, 6, seed));
+    }
+  }
+
+  @Test
+  public void shouldRankingWithOneObjectiveBeEqualToTheFastNonDominatedSortRanking() {
+    assertSameRanksAsFastNonDominatedSort(randomPopulation(1, 0, 50, 10, 1));
+  }
+
+  @Test
+  public void shouldRankingWithFourObjectivesBeEqualToTheFastNonDominatedSortRanking() {
+    // ranked by MergeNonDominatedSortRanking, which may differ with tied objective values
+    assertSameRanksAsFastNonDominatedSort(randomPopulation(4, 0, 100, 1000000, 1));
+  }
+
+  @Test
+  public void shouldRankingOfUnfeasibleSolutionsBeEqualToTheFastNonDominatedSortRanking() {
+    List<DoubleSolution> population = randomPopulation(2, 1, 100, 10, 1);
+    Random random = new Random(1);
+    for (DoubleSolution solution : population) {
+      solution.constraints()[0] = random.nextBoolean() ? 0.0 : -random.nextInt(3);
+    }
+
+    assertSameRanksAsFastNonDominatedSort(population);
+  }
+
+  /**
+   * Random population with integer objective values in [0, values), so there
+   * are many ties and duplicated solutions
+   */
+  private List<DoubleSolution> randomPopulation(
+      int numberOfObjectives, int numberOfConstraints, int size, int values, long seed) {
+    DoubleProblem problem = new DummyDoubleProblem(2, numberOfObjectives, numberOfConstraints);
+    Random random = new Random(seed);
+
+    List<DoubleSolution> population = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      DoubleSolution solution = problem.createSolution();
+      for (int j = 0; j < numberOfObjectives; j++) {
+        solution.objectives()[j] = random.nextInt(values);
+      }
+      population.add(solution);
+    }
+
+    return population;
+  }
+
+  private void assertSameRanksAsFastNonDominatedSort(List<DoubleSolution> population) {
+    Ranking<DoubleSolution> expected = new FastNonDominatedSortRanking<DoubleSolution>().compute(population);
+    Ranking<DoubleSolution> ranking = getRanking().compute(population);
+
+    assertEquals(expected.getNumberOfSubFronts(), ranking.getNumberOfSubFronts());
+    for (DoubleSolution solution : population) {
+      assertEquals(expected.getRank(solution), ranking.getRank(solution));
+    }
+    for (int r = 0; r < ranking.getNumberOfSubFronts(); r++) {
+      assertEquals(expected.getSubFront(r).size(), ranking.getSubFront(r).size());
+    }
+  }
+}
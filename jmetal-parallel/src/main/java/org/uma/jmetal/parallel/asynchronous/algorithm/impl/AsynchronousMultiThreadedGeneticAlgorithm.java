@@ -69,13 +69,22 @@ public class AsynchronousMultiThreadedGeneticAlgorithm<S extends Solution<?>>
     private void createWorkers(int numberOfCores, Problem<S> problem) {
         IntStream.range(0, numberOfCores).forEach(i -> new Worker<>(
                 (task) -> {
-                    problem.evaluate(task.getContents());
+                    computeSolution(task.getContents());
                     return ParallelTask.create(createTaskIdentifier(), task.getContents());
                 },
                 pendingTaskQueue,
                 completedTaskQueue).start());
     }
 
+    /**
+     * Computes a solution in a worker thread. By default, the solution is evaluated.
+     *
+     * @param solution The solution of a task
+     */
+    protected void computeSolution(S solution) {
+        problem.evaluate(solution);
+    }
+
     private int createTaskIdentifier() {
         return JMetalRandom.getInstance().nextInt(0, 1000000000);
     }
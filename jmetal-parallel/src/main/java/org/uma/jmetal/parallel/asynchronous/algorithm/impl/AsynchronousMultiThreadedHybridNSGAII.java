@@ -0,0 +1,45 @@
+package org.uma.jmetal.parallel.asynchronous.algorithm.impl;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.termination.Termination;
+
+/**
+ * Asynchronous steady-state version of HybridNSGAII for the static CSO
+ * problem: each worker repairs a solution with the intelligentSwitchOff
+ * operators and evaluates it, and the master replaces the population with it
+ * as soon as it is received, without waiting for the rest of the solutions
+ * being computed.
+ * <p>
+ * The problem is switched to concurrent evaluation, so each worker thread
+ * repairs and evaluates the solutions on its own evaluation context. The
+ * macrocells switched on/off by the repair are kept in the solution (see
+ * EvaluationContext.MACRO_ACTIVATION) and inherited by its offspring, so the
+ * shared UDN model is only read.
+ */
+public class AsynchronousMultiThreadedHybridNSGAII extends AsynchronousMultiThreadedNSGAII<BinarySolution> {
+    private final StaticCSO problem;
+
+    public AsynchronousMultiThreadedHybridNSGAII(
+            int numberOfCores,
+            StaticCSO problem,
+            int populationSize,
+            CrossoverOperator<BinarySolution> crossover,
+            MutationOperator<BinarySolution> mutation,
+            Termination termination) {
+        super(numberOfCores, problem, populationSize, crossover, mutation, termination);
+        this.problem = problem;
+
+        //the workers do not compute any task until the algorithm is run
+        problem.setConcurrentEvaluation(true);
+    }
+
+    @Override
+    protected void computeSolution(BinarySolution solution) {
+        //both on the evaluation context of the worker thread
+        problem.intelligentSwitchOff(solution);
+        problem.evaluate(solution);
+    }
+}
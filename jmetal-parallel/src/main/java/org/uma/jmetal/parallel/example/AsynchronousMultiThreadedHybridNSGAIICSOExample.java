@@ -0,0 +1,67 @@
+package org.uma.jmetal.parallel.example;
+
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.crossover.impl.TwoPointCrossover;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
+import org.uma.jmetal.parallel.asynchronous.algorithm.impl.AsynchronousMultiThreadedHybridNSGAII;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.fileoutput.SolutionListOutput;
+import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
+import org.uma.jmetal.util.termination.impl.TerminationByEvaluations;
+
+import java.util.List;
+
+/**
+ * Runs the asynchronous HybridNSGAII on the static CSO problem, with the
+ * parameters of NSGAII_CSO_main.
+ * <p>
+ * Usage: AsynchronousMultiThreadedHybridNSGAIICSOExample popSize numEvals run numberOfCores name mainConfig
+ */
+public class AsynchronousMultiThreadedHybridNSGAIICSOExample {
+    public static void main(String[] args) {
+        CrossoverOperator<BinarySolution> crossover;
+        MutationOperator<BinarySolution> mutation;
+
+        if (args.length < 6) {
+            System.out.println("Usage: AsynchronousMultiThreadedHybridNSGAIICSOExample popSize numEvals run numberOfCores name mainConfig");
+            System.exit(-1);
+        }
+
+        int populationSize = Integer.parseInt(args[0]); // Population size
+        int maxEvaluations = Integer.parseInt(args[1]); // Stopping condition
+        int run = Integer.parseInt(args[2]);            // Seed selection
+        int numberOfCores = Integer.parseInt(args[3]);  // Number of workers
+        String name = args[4];                          // Name (for output files)
+        String main = args[5];                          // Main configuration file
+
+        StaticCSO problem = new StaticCSO(main, run);
+
+        double crossoverProbability = 0.9;
+        crossover = new TwoPointCrossover(crossoverProbability);
+
+        double mutationProbability = 1.0 / problem.getTotalNumberOfActivableCells();
+        mutation = new BitFlipMutation(mutationProbability);
+
+        long initTime = System.currentTimeMillis();
+
+        AsynchronousMultiThreadedHybridNSGAII nsgaii =
+                new AsynchronousMultiThreadedHybridNSGAII(
+                        numberOfCores, problem, populationSize, crossover, mutation, new TerminationByEvaluations(maxEvaluations));
+
+        nsgaii.run();
+
+        long endTime = System.currentTimeMillis();
+
+        List<BinarySolution> resultList = nsgaii.getResult();
+
+        JMetalLogger.logger.info("Computing time: " + (endTime - initTime));
+        new SolutionListOutput(resultList)
+                .setVarFileOutputContext(new DefaultFileOutputContext(name + ".VAR." + run, ","))
+                .setFunFileOutputContext(new DefaultFileOutputContext(name + ".FUN." + run, ","))
+                .print();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,142 @@
+package org.uma.jmetal.parallel.example;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.multiobjective.mocell.MOCellBuilder;
+import org.uma.jmetal.algorithm.multiobjective.moead.MOEADBuilder;
+import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
+import org.uma.jmetal.algorithm.multiobjective.smsemoa.SMSEMOABuilder;
+import org.uma.jmetal.algorithm.multiobjective.sparseea.HybridSparseEA;
+import org.uma.jmetal.operator.crossover.impl.TwoPointCrossover;
+import org.uma.jmetal.operator.crossover.impl.TwoPointCrossoverMOEAD;
+import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
+import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
+import org.uma.jmetal.parallel.island.IslandCSO;
+import org.uma.jmetal.parallel.island.IslandModel;
+import org.uma.jmetal.parallel.island.MigrationTopology;
+import org.uma.jmetal.problem.multiobjective.UDN.CSOSolutionListEvaluator;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.JMetalLogger;
+import org.uma.jmetal.util.comparator.RankingAndCrowdingDistanceComparator;
+import org.uma.jmetal.util.fileoutput.SolutionListOutput;
+import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
+
+import java.util.List;
+
+/**
+ * Runs a Hybrid* algorithm on each island of an island model for the static
+ * CSO problem. The parameters of the algorithms are those of the *_CSO_main
+ * runners.
+ * <p>
+ * Usage: IslandModelHybridCSOExample popSize numEvals run numberOfIslands
+ * algorithm name mainConfig [migrationInterval numberOfMigrants topology sharedModel]
+ * <p>
+ * where numEvals is the stopping condition of each island, algorithm is one
+ * of NSGAII, MOCell, SMSEMOA, MOEAD and SparseEA, and topology is RING or
+ * FULLY_CONNECTED.
+ */
+public class IslandModelHybridCSOExample {
+    public static void main(String[] args) {
+        if (args.length < 7) {
+            System.out.println("Usage: IslandModelHybridCSOExample popSize numEvals run numberOfIslands algorithm name "
+                    + "mainConfig [migrationInterval numberOfMigrants topology sharedModel]");
+            System.exit(-1);
+        }
+
+        int popSize = Integer.parseInt(args[0]);            // Population size
+        int numEvals = Integer.parseInt(args[1]);           // Stopping condition (of each island)
+        int run = Integer.parseInt(args[2]);                // Seed selection
+        int numberOfIslands = Integer.parseInt(args[3]);    // Number of islands (threads)
+        String algorithmName = args[4];                     // Algorithm of the islands
+        String name = args[5];                              // Name (for output files)
+        String main = args[6];                              // Main configuration file
+        int migrationInterval = (args.length > 7) ? Integer.parseInt(args[7]) : 10 * popSize;
+        int numberOfMigrants = (args.length > 8) ? Integer.parseInt(args[8]) : 2;
+        MigrationTopology topology = (args.length > 9) ? MigrationTopology.valueOf(args[9]) : MigrationTopology.RING;
+        boolean sharedModel = (args.length > 10) && Boolean.parseBoolean(args[10]);
+
+        IslandModel islandModel = new IslandModel(main, run, numberOfIslands, sharedModel)
+                .setMigration(migrationInterval, numberOfMigrants, topology);
+
+        long initTime = System.currentTimeMillis();
+        List<BinarySolution> front = islandModel.run(problem -> createAlgorithm(algorithmName, problem, popSize, numEvals));
+        long endTime = System.currentTimeMillis();
+
+        for (IslandCSO island : islandModel.getIslands()) {
+            JMetalLogger.logger.info("Island " + island.getIsland() + ": " + island.getNumberOfEvaluations()
+                    + " evaluations, " + island.getNumberOfSentMigrants() + " migrants sent, "
+                    + island.getNumberOfAcceptedMigrants() + " accepted");
+        }
+        JMetalLogger.logger.info("Computing time: " + (endTime - initTime));
+
+        new SolutionListOutput(front)
+                .setVarFileOutputContext(new DefaultFileOutputContext(name + ".VAR." + run, ","))
+                .setFunFileOutputContext(new DefaultFileOutputContext(name + ".FUN." + run, ","))
+                .print();
+        System.exit(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Algorithm<List<BinarySolution>> createAlgorithm(String name, IslandCSO problem, int popSize, int numEvals) {
+        double crossoverProbability = 0.9;
+        double mutationProbability = 1.0 / problem.getTotalNumberOfActivableCells();
+
+        switch (name) {
+            case "NSGAII":
+                return new NSGAIIBuilder<>(problem, new TwoPointCrossover(crossoverProbability), new BitFlipMutation(mutationProbability), popSize)
+                        .setSelectionOperator(new BinaryTournamentSelection<>()).setMaxEvaluations(numEvals)
+                        .setSolutionListEvaluator(new CSOSolutionListEvaluator())
+                        .setVariant(NSGAIIBuilder.NSGAIIVariant.HybridNSGAII).build();
+            case "MOCell":
+                return new MOCellBuilder<>(problem, new TwoPointCrossover(crossoverProbability), new BitFlipMutation(mutationProbability))
+                        .setPopulationSize(popSize).setSelectionOperator(new BinaryTournamentSelection<>()).setMaxEvaluations(numEvals)
+                        .setSolutionListEvaluator(new CSOSolutionListEvaluator())
+                        .setVariant(MOCellBuilder.MOCellVariant.HybridMOCell).build();
+            case "SMSEMOA":
+                return new SMSEMOABuilder<>(problem, new TwoPointCrossover(crossoverProbability), new BitFlipMutation(mutationProbability))
+                        .setPopulationSize(popSize).setSelectionOperator(new BinaryTournamentSelection<>()).setMaxEvaluations(numEvals)
+                        .setVariant(SMSEMOABuilder.SMSEMOAVariant.HybridSMSEMOA).build();
+            case "MOEAD":
+                return (Algorithm<List<BinarySolution>>) new MOEADBuilder<>(problem, MOEADBuilder.Variant.HybridMOEAD)
+                        .setPopulationSize(popSize).setResultPopulationSize(popSize).setMaxEvaluations(numEvals)
+                        .setCrossover(new TwoPointCrossoverMOEAD(crossoverProbability))
+                        .setMutation(new BitFlipMutation(mutationProbability)).build();
+            case "SparseEA":
+                return sparseEA(problem, popSize, numEvals);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+
+    /**
+     * HybridSparseEA is not an Algorithm, so it is wrapped in one
+     */
+    static Algorithm<List<BinarySolution>> sparseEA(IslandCSO problem, int popSize, int numEvals) {
+        HybridSparseEA<BinarySolution> sparseEA = new HybridSparseEA<>(problem, numEvals, popSize, 0.5, 0.5,
+                new BinaryTournamentSelection<>(new RankingAndCrowdingDistanceComparator<>()),
+                problem.getTotalNumberOfActivableCells());
+
+        return new Algorithm<List<BinarySolution>>() {
+            private List<BinarySolution> result;
+
+            @Override
+            public void run() {
+                result = sparseEA.execute();
+            }
+
+            @Override
+            public List<BinarySolution> getResult() {
+                return result;
+            }
+
+            @Override
+            public String getName() {
+                return "HybridSparseEA";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Hybrid SparseEA";
+            }
+        };
+    }
+}
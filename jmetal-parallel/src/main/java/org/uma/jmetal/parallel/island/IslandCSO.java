@@ -0,0 +1,248 @@
+package org.uma.jmetal.parallel.island;
+
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationState;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionTreeArchive;
+import org.uma.jmetal.util.binarySet.BinarySet;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Static CSO problem solved by one of the islands of an {@link IslandModel}.
+ * The migrations are made when evaluating, so any of the Hybrid* algorithms
+ * can run on an island without being modified:
+ * <ul>
+ * <li>Every evaluated solution is offered to an archive with the
+ * non-dominated solutions found by the island.</li>
+ * <li>Every migrationInterval evaluations, numberOfMigrants solutions of the
+ * archive, chosen at random, are sent to the islands given by the topology.
+ * They are sent through lock-free queues, without waiting for the receiving
+ * islands.</li>
+ * <li>The received solutions replace, with their objective values, the next
+ * solutions evaluated by the island, unless they are dominated by them.</li>
+ * </ul>
+ * The solutions sent are shared by the islands, but they are never modified
+ * once in an archive: the receiving islands copy them into their own
+ * solutions.
+ */
+public class IslandCSO extends StaticCSO {
+    private final int island;
+    private final Queue<BinarySolution> inbox = new ConcurrentLinkedQueue<>();
+    private final Deque<BinarySolution> immigrants = new ArrayDeque<>();
+    private final NonDominatedSolutionTreeArchive<BinarySolution> archive = new NonDominatedSolutionTreeArchive<>();
+    private final DominanceComparator<BinarySolution> dominanceComparator = new DominanceComparator<>();
+    private final Random random;
+
+    private List<IslandCSO> targets = Collections.emptyList();
+    private int migrationInterval = Integer.MAX_VALUE;
+    private int numberOfMigrants = 0;
+    private int maxImmigrants = 0;
+
+    private long evaluations = 0;
+    private long nextMigration = Integer.MAX_VALUE;
+    private int sentMigrants = 0;
+    private int acceptedMigrants = 0;
+
+    //set while evaluating a batch, whose solutions may be evaluated on other threads
+    private volatile boolean batch = false;
+
+    /**
+     * Island with its own replica of the UDN model. The islands built with
+     * the same run have the same model, so their solutions can be exchanged.
+     *
+     * @param mainConfig Main configuration file of the UDN
+     * @param run        Run ID (for the seeds of the UDN)
+     * @param island     Index of the island
+     */
+    public IslandCSO(String mainConfig, int run, int island) {
+        super(mainConfig, run);
+        this.island = island;
+        this.random = new Random(31L * run + island);
+    }
+
+    /**
+     * Island sharing the UDN model of a problem with other islands. The
+     * solutions are evaluated and repaired on per-thread contexts, and the
+     * macrocells switched on/off by the repair are kept in the solutions, so
+     * the shared model is only read (see StaticCSO(StaticCSO)).
+     *
+     * @param problem The problem whose model is shared
+     * @param island  Index of the island
+     */
+    public IslandCSO(StaticCSO problem, int island) {
+        super(problem);
+        this.island = island;
+        this.random = new Random(31L * problem.getRun() + island);
+    }
+
+    /**
+     * Sets up the migrations from this island. The topologies are symmetric,
+     * so the island receives migrants from as many islands as it sends them,
+     * and only the most recent immigrants of a migration of each one are kept
+     * if the island falls behind.
+     *
+     * @param targets           Islands receiving the migrants of this one
+     * @param migrationInterval Number of evaluations between migrations
+     * @param numberOfMigrants  Number of solutions sent to each island
+     */
+    public void setMigration(List<IslandCSO> targets, int migrationInterval, int numberOfMigrants) {
+        this.targets = targets;
+        this.migrationInterval = migrationInterval;
+        this.numberOfMigrants = numberOfMigrants;
+        this.maxImmigrants = numberOfMigrants * Math.max(1, targets.size());
+        this.nextMigration = evaluations + migrationInterval;
+    }
+
+    @Override
+    public BinarySolution evaluate(BinarySolution solution) {
+        super.evaluate(solution);
+
+        if (!batch) {
+            migrate(Collections.singletonList(solution));
+        }
+
+        return solution;
+    }
+
+    @Override
+    public List<BinarySolution> evaluateBatch(List<BinarySolution> solutions) {
+        batch = true;
+        try {
+            super.evaluateBatch(solutions);
+        } finally {
+            batch = false;
+        }
+
+        migrate(solutions);
+
+        return solutions;
+    }
+
+    /**
+     * Archives the evaluated solutions, sends migrants if it is time to, and
+     * replaces the evaluated solutions with the received migrants
+     */
+    private synchronized void migrate(List<BinarySolution> evaluated) {
+        for (BinarySolution s : evaluated) {
+            BinarySolution copy = (BinarySolution) s.copy();
+            copy.attributes().remove(EvaluationState.ATTRIBUTE);
+            archive.add(copy);
+        }
+
+        evaluations += evaluated.size();
+        if (evaluations >= nextMigration) {
+            emigrate();
+            nextMigration = evaluations + migrationInterval;
+        }
+
+        immigrate(evaluated);
+    }
+
+    private void emigrate() {
+        int count = Math.min(numberOfMigrants, archive.size());
+        if (targets.isEmpty() || (count == 0)) {
+            return;
+        }
+
+        //partial Fisher-Yates shuffle of the archive indexes
+        int[] indexes = new int[archive.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(indexes.length - i);
+            int index = indexes[j];
+            indexes[j] = indexes[i];
+            indexes[i] = index;
+
+            BinarySolution migrant = archive.get(index);
+            for (IslandCSO target : targets) {
+                target.inbox.offer(migrant);
+            }
+        }
+
+        sentMigrants += count * targets.size();
+    }
+
+    private void immigrate(List<BinarySolution> evaluated) {
+        BinarySolution migrant;
+        while ((migrant = inbox.poll()) != null) {
+            immigrants.addLast(migrant);
+        }
+        while (immigrants.size() > maxImmigrants) {
+            immigrants.pollFirst();
+        }
+
+        for (int i = evaluated.size() - 1; (i >= 0) && !immigrants.isEmpty(); i--) {
+            BinarySolution solution = evaluated.get(i);
+            migrant = immigrants.pollLast();
+
+            if (dominanceComparator.compare(solution, migrant) >= 0) {
+                replace(solution, migrant);
+                archive.add(migrant);
+                acceptedMigrants++;
+            }
+        }
+    }
+
+    /**
+     * Copies a migrant, already evaluated, into a solution of this island
+     */
+    private static void replace(BinarySolution solution, BinarySolution migrant) {
+        BinarySet bits = solution.variables().get(0);
+        bits.clear();
+        bits.or(migrant.variables().get(0));
+
+        System.arraycopy(migrant.objectives(), 0, solution.objectives(), 0, solution.objectives().length);
+
+        int[] assignment = migrant.getCurrentUesToCellAssignment();
+        if (assignment != null) {
+            solution.setUEsToCellAssignment(assignment);
+        } else {
+            solution.forgetUEsToCellAssignment();
+        }
+
+        //the macrocells go with the activation plan
+        Object macroActivation = migrant.attributes().get(EvaluationContext.MACRO_ACTIVATION);
+        if (macroActivation != null) {
+            solution.attributes().put(EvaluationContext.MACRO_ACTIVATION, macroActivation);
+        } else {
+            solution.attributes().remove(EvaluationContext.MACRO_ACTIVATION);
+        }
+
+        //the snapshot of the previous evaluation is no longer valid
+        solution.attributes().remove(EvaluationState.ATTRIBUTE);
+    }
+
+    public int getIsland() {
+        return island;
+    }
+
+    /**
+     * @return The non-dominated solutions evaluated by (or migrated to) this island
+     */
+    public synchronized List<BinarySolution> getNonDominatedSolutions() {
+        return archive.getSolutionList();
+    }
+
+    public synchronized long getNumberOfEvaluations() {
+        return evaluations;
+    }
+
+    public synchronized int getNumberOfSentMigrants() {
+        return sentMigrants;
+    }
+
+    public synchronized int getNumberOfAcceptedMigrants() {
+        return acceptedMigrants;
+    }
+}
@@ -0,0 +1,150 @@
+package org.uma.jmetal.parallel.island;
+
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionTreeArchive;
+import org.uma.jmetal.util.errorchecking.Check;
+import org.uma.jmetal.util.errorchecking.JMetalException;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Island model for the static CSO problem: several independent algorithms
+ * (e.g., the Hybrid* ones) run at once, each on its own thread and problem
+ * (see {@link IslandCSO}), and exchange non-dominated solutions every given
+ * number of evaluations. The islands either have their own replica of the
+ * UDN model, or share a single one. A shared model is only read: the islands
+ * evaluate and repair their solutions on per-thread contexts, and the
+ * macrocells switched on/off by the repair are kept in each solution (see
+ * EvaluationContext.MACRO_ACTIVATION). The fronts found by the islands are
+ * merged into a single non-dominated front.
+ * <p>
+ * The algorithms use the JMetalRandom singleton, whose default generator
+ * (java.util.Random) can be used from several threads, but the results of a
+ * run cannot be reproduced.
+ */
+public class IslandModel {
+    private final List<IslandCSO> islands;
+
+    private int migrationInterval = 1000;
+    private int numberOfMigrants = 1;
+    private MigrationTopology topology = MigrationTopology.RING;
+
+    private List<List<BinarySolution>> islandResults;
+
+    /**
+     * Constructor
+     *
+     * @param mainConfig      Main configuration file of the UDN
+     * @param run             Run ID (for the seeds of the UDN)
+     * @param numberOfIslands Number of islands
+     * @param sharedModel     true to share a single UDN model among the islands,
+     *                        false to build a replica for each island
+     */
+    public IslandModel(String mainConfig, int run, int numberOfIslands, boolean sharedModel) {
+        Check.that(numberOfIslands > 0, "The number of islands must be positive: " + numberOfIslands);
+
+        islands = new ArrayList<>(numberOfIslands);
+        StaticCSO model = sharedModel ? new StaticCSO(mainConfig, run) : null;
+        for (int i = 0; i < numberOfIslands; i++) {
+            islands.add(sharedModel ? new IslandCSO(model, i) : new IslandCSO(mainConfig, run, i));
+        }
+    }
+
+    /**
+     * Sets up the migrations among the islands
+     *
+     * @param migrationInterval Number of evaluations of an island between migrations
+     * @param numberOfMigrants  Number of solutions sent to each receiving island
+     * @param topology          Islands receiving the migrants of each one
+     * @return The island model
+     */
+    public IslandModel setMigration(int migrationInterval, int numberOfMigrants, MigrationTopology topology) {
+        Check.that(migrationInterval > 0, "The migration interval must be positive: " + migrationInterval);
+        Check.that(numberOfMigrants >= 0, "The number of migrants is negative: " + numberOfMigrants);
+        Check.notNull(topology);
+
+        this.migrationInterval = migrationInterval;
+        this.numberOfMigrants = numberOfMigrants;
+        this.topology = topology;
+
+        return this;
+    }
+
+    /**
+     * Runs an algorithm on each island and waits for all of them to finish
+     *
+     * @param algorithmFactory Builds the algorithm of an island from its problem
+     * @return The non-dominated solutions of the results of all the islands
+     */
+    public List<BinarySolution> run(Function<IslandCSO, Algorithm<List<BinarySolution>>> algorithmFactory) {
+        for (IslandCSO island : islands) {
+            List<IslandCSO> targets = new ArrayList<>();
+            for (int target : topology.targets(island.getIsland(), islands.size())) {
+                targets.add(islands.get(target));
+            }
+            island.setMigration(targets, migrationInterval, numberOfMigrants);
+
+            //the received power matrix is updated before evaluating, which
+            //must not happen concurrently on a shared model
+            island.getUDN().updateReceivedPowerMatrix();
+        }
+
+        //the singleton is created lazily, without synchronization
+        JMetalRandom.getInstance();
+
+        List<Algorithm<List<BinarySolution>>> algorithms = new ArrayList<>(islands.size());
+        for (IslandCSO island : islands) {
+            algorithms.add(algorithmFactory.apply(island));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(islands.size());
+        try {
+            List<Future<List<BinarySolution>>> futures = new ArrayList<>(algorithms.size());
+            for (Algorithm<List<BinarySolution>> algorithm : algorithms) {
+                futures.add(executor.submit(() -> {
+                    algorithm.run();
+                    return algorithm.getResult();
+                }));
+            }
+
+            islandResults = new ArrayList<>(futures.size());
+            for (Future<List<BinarySolution>> future : futures) {
+                islandResults.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException("Island model interrupted", e);
+        } catch (ExecutionException e) {
+            throw new JMetalException("Error running an island", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        NonDominatedSolutionTreeArchive<BinarySolution> front = new NonDominatedSolutionTreeArchive<>();
+        for (List<BinarySolution> result : islandResults) {
+            front.addAll(result);
+        }
+
+        return front.getSolutionList();
+    }
+
+    public List<IslandCSO> getIslands() {
+        return islands;
+    }
+
+    /**
+     * @return The result of the algorithm of each island in the last run
+     */
+    public List<List<BinarySolution>> getIslandResults() {
+        return islandResults;
+    }
+}
@@ -0,0 +1,41 @@
+package org.uma.jmetal.parallel.island;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Topologies of the migrations between the islands of an {@link IslandModel}
+ */
+public enum MigrationTopology {
+    /**
+     * Each island sends its migrants to the next one, and the last one to the first one
+     */
+    RING,
+    /**
+     * Each island sends its migrants to all the other islands
+     */
+    FULLY_CONNECTED;
+
+    /**
+     * Islands receiving the migrants of an island
+     *
+     * @param island          The sending island
+     * @param numberOfIslands Number of islands
+     * @return The receiving islands
+     */
+    public List<Integer> targets(int island, int numberOfIslands) {
+        List<Integer> targets = new ArrayList<>();
+        if (numberOfIslands > 1) {
+            if (this == RING) {
+                targets.add((island + 1) % numberOfIslands);
+            } else {
+                for (int i = 0; i < numberOfIslands; i++) {
+                    if (i != island) {
+                        targets.add(i);
+                    }
+                }
+            }
+        }
+        return targets;
+    }
+}
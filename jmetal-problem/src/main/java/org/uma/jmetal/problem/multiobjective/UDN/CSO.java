@@ -2,6 +2,9 @@ package org.uma.jmetal.problem.multiobjective.UDN;
 
 import org.uma.jmetal.problem.binaryproblem.impl.AbstractBinaryProblem;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.problem.multiobjective.UDN.model.CellUsers;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.NetworkView;
 import org.uma.jmetal.problem.multiobjective.UDN.model.Point;
 import org.uma.jmetal.problem.multiobjective.UDN.model.UDN;
 import org.uma.jmetal.problem.multiobjective.UDN.model.UDN.CellType;
@@ -43,6 +46,43 @@ public abstract class CSO extends AbstractBinaryProblem {
      */
     protected int run_;
 
+    /**
+     * Evaluate on per-thread contexts instead of on the shared UDN
+     */
+    protected boolean concurrentEvaluation_ = false;
+
+    /**
+     * Per-thread evaluation contexts over the shared UDN
+     */
+    protected transient ThreadLocal<EvaluationContext> contexts_;
+
+    /**
+     * Evaluate the offspring incrementally from the snapshot of their parent
+     */
+    protected boolean deltaEvaluation_ = false;
+
+    /**
+     * Maximum number of flipped cells to evaluate a solution incrementally
+     */
+    protected int maxFlippedCells_;
+
+    /**
+     * UE to cell assignment of the evaluations on the shared UDN, reused
+     * between evaluations
+     */
+    protected transient int[] assignment_;
+
+    /**
+     * Users served by each cell in the last evaluation on the shared UDN, with
+     * the capacity of their links (see networkCapacity(solution))
+     */
+    protected transient CellUsers cellUsers_;
+
+    /**
+     * Objective values of the activation plans already evaluated (optional)
+     */
+    protected EvaluationCache cache_ = null;
+
     public int getTotalNumberOfActivableCells() {
         return udn_.getTotalNumberOfActivableCells();
     }
@@ -71,30 +111,31 @@ public abstract class CSO extends AbstractBinaryProblem {
     }
 
     /**
-     * Calculates the power consumption taking into account the total traffic demand
+     * Calculates the power consumption taking into account the total traffic
+     * demand, from the users assigned by the last networkCapacity(solution)
      *
      * @return Power consumption
      */
     double powerConsumptionPiovesan() {
-        double sum = 0.0;
+        NetworkView view = udn_.getNetworkView();
+        boolean[] active = new boolean[view.getNumberOfCells()];
+        double[] trafficDemand = new double[view.getNumberOfCells()];
+
+        view.readCellStatus(active, trafficDemand, cellUsers_, udn_.getUsers());
 
-        for (List<Cell> cells : udn_.cells_.values()) {
-            for (Cell c : cells) {
-                Sector sector = c.getSector();
-                if (c.isActive()) {
-                    //sum += c.getBTS().getBaseConsumedPower() * 4.7 * c.getBTS().getTransmittedPower();
-//                    double td = c.getTrafficDemand();
-                    sum += sector.getTransmittedPower() * sector.getAlfa() + sector.getBeta() + sector.getDelta() * c.getTrafficDemand() + 10;
-                } else {
-                    //residual consuption in sleep mode (mW)
-                    sum += sector.getTransmittedPower() * 0.01;
-                }
-            }
-        }
-        //mW -> W -> kW -> MW
-        sum /= 1000000000;
         //System.out.println("Consumed power = " + sum);
-        return sum;
+        return view.powerConsumptionPiovesan(active, trafficDemand);
+    }
+
+    /**
+     * Calculates the power consumption taking into account the total traffic
+     * demand, from the state stored in an evaluation context
+     *
+     * @param context The evaluation context
+     * @return Power consumption
+     */
+    double powerConsumptionPiovesan(EvaluationContext context) {
+        return udn_.getNetworkView().powerConsumptionPiovesan(context);
     }
 
     double[][] loadH(BTS bts) {
@@ -118,7 +159,11 @@ public abstract class CSO extends AbstractBinaryProblem {
         /*
           For the dynamic problem addressing
          */
-        List<Cell> assignment = new ArrayList<>();
+        List<User> users = this.udn_.getUsers();
+        if ((assignment_ == null) || (assignment_.length != users.size())) {
+            assignment_ = new int[users.size()];
+        }
+        int[] assignment = assignment_;
 
         double capacity = 0.0;
 
@@ -126,25 +171,33 @@ public abstract class CSO extends AbstractBinaryProblem {
         udn_.resetNumberOfUsersAssignedToCells();
 
         //1.- Assign users to cells, to compute the BW allocated to them
-        for (User u : this.udn_.getUsers()) {
+        for (int i = 0; i < assignment.length; i++) {
+            User u = users.get(i);
             u.setServingCell(udn_.getGridPoint(u.getX(), u.getY(), u.getZ()).getCellWithHigherSINR());
             u.getServingCell().addUserAssigned();
 
             //dynamic
-            // assignment.add(u.getServingCell().getID());
-            assignment.add(u.getServingCell());
+            assignment[i] = u.getServingCell().getIndex();
         }
 
         //save the assignment into the solution
         solution.setUEsToCellAssignment(assignment);
 
+        //group the users by cell, for the traffic demand of the cells
+        if (cellUsers_ == null) {
+            cellUsers_ = new CellUsers(udn_.getNetworkView().getNumberOfCells());
+        }
+        cellUsers_.assign(assignment);
+
         //1.- computes the Mbps allocated to each user
-        for (User u : this.udn_.getUsers()) {
+        for (int i = 0; i < assignment.length; i++) {
+            User u = users.get(i);
             double allocatedBW = u.getServingCell().getSharedBWForAssignedUsers();
 
             //computes the Mbps
             //double c = u.capacity(this.udn_, allocatedBW);
             double c = u.capacityMIMO(this.udn_, allocatedBW);
+            cellUsers_.setUserCapacity(i, c);
             capacity += c / 1000.0;
         }
 
@@ -152,6 +205,162 @@ public abstract class CSO extends AbstractBinaryProblem {
         return capacity;
     }
 
+    /**
+     * Max capacity of the 5G network, computed on an evaluation context
+     * instead of the shared UDN. The UE to cell assignment is stored in the
+     * solution, as in networkCapacity(solution).
+     *
+     * @param solution The solution being evaluated
+     * @param context  The evaluation context, with the signaling already computed
+     * @return Network capacity
+     */
+    double networkCapacity(BinarySolution solution, EvaluationContext context) {
+        //1.- Assign users to cells, to compute the BW allocated to them
+        context.assignUsers();
+
+        //save the assignment into the solution
+        solution.setUEsToCellAssignment(context.getUesToCellAssignment());
+
+        //2.- computes the Mbps allocated to each user
+        return context.computeCapacity();
+    }
+
+    /**
+     * Enables the evaluation of solutions on per-thread contexts. The UDN is
+     * then only read when evaluating, so evaluate() can be called from
+     * several threads at once (e.g., by MultiThreadedSolutionListEvaluator).
+     * The repair operators of StaticCSO are then applied on the contexts too,
+     * keeping the macrocells they switch on/off in the solution (see
+     * EvaluationContext.MACRO_ACTIVATION); those of the other problems still
+     * work on the shared UDN and must be applied sequentially.
+     *
+     * @param concurrentEvaluation true to evaluate on per-thread contexts
+     */
+    public void setConcurrentEvaluation(boolean concurrentEvaluation) {
+        this.concurrentEvaluation_ = concurrentEvaluation;
+    }
+
+    public boolean isConcurrentEvaluation() {
+        return this.concurrentEvaluation_;
+    }
+
+    /**
+     * Enables a cache with the objective values of the last activation plans
+     * evaluated, so revisited plans are not evaluated again
+     *
+     * @param capacity Maximum number of plans kept, 0 to disable the cache
+     */
+    public void setEvaluationCache(int capacity) {
+        this.cache_ = (capacity > 0) ? new EvaluationCache(capacity) : null;
+    }
+
+    public EvaluationCache getEvaluationCache() {
+        return this.cache_;
+    }
+
+    /**
+     * Version of the position of the users, used to tell apart the cached
+     * evaluations of the same activation plan with different layouts
+     *
+     * @return The version of the users layout
+     */
+    protected int getUsersLayoutVersion() {
+        return 0;
+    }
+
+    /**
+     * Evaluates a list of solutions. By default, they are evaluated one by
+     * one on the shared UDN.
+     *
+     * @param solutions The solutions to evaluate
+     * @return The evaluated solutions
+     */
+    public List<BinarySolution> evaluateBatch(List<BinarySolution> solutions) {
+        solutions.forEach(this::evaluate);
+
+        return solutions;
+    }
+
+    /**
+     * Enables the incremental evaluation of the solutions. A snapshot of the
+     * evaluation is stored in the attributes of each solution (see
+     * EvaluationState), and the solutions copied from it that differ in at
+     * most a quarter of the activable cells are evaluated by only applying
+     * the flipped cells.
+     *
+     * @param deltaEvaluation true to evaluate incrementally
+     */
+    public void setDeltaEvaluation(boolean deltaEvaluation) {
+        setDeltaEvaluation(deltaEvaluation, udn_.getTotalNumberOfActivableCells() / 4);
+    }
+
+    /**
+     * Enables the incremental evaluation of the solutions
+     *
+     * @param deltaEvaluation true to evaluate incrementally
+     * @param maxFlippedCells Maximum number of flipped cells to evaluate a
+     *                        solution incrementally
+     */
+    public void setDeltaEvaluation(boolean deltaEvaluation, int maxFlippedCells) {
+        this.deltaEvaluation_ = deltaEvaluation;
+        this.maxFlippedCells_ = maxFlippedCells;
+    }
+
+    public boolean isDeltaEvaluation() {
+        return this.deltaEvaluation_;
+    }
+
+    /**
+     * Enables the dense matrix of received power at the user points of the
+     * UDN (see UDN.setReceivedPowerMatrix)
+     *
+     * @param use true to use the matrix
+     */
+    public void setReceivedPowerMatrix(boolean use) {
+        udn_.setReceivedPowerMatrix(use);
+    }
+
+    /**
+     * Enables the search of the serving cells among the cells of interest of
+     * the user points (see UDN.getCellsOfInterestByPoint)
+     *
+     * @param use true to use the cells of interest
+     */
+    public void setCellsOfInterest(boolean use) {
+        udn_.setCellsOfInterest(use);
+    }
+
+    /**
+     * Returns the evaluation context of the calling thread, creating it if
+     * needed
+     *
+     * @return The evaluation context of the current thread
+     */
+    protected EvaluationContext getEvaluationContext() {
+        if (contexts_ == null) {
+            synchronized (this) {
+                if (contexts_ == null) {
+                    contexts_ = ThreadLocal.withInitial(() -> new EvaluationContext(udn_));
+                }
+            }
+        }
+        return contexts_.get();
+    }
+
+    /**
+     * Macrocells a solution is evaluated with: those left in it by the repair
+     * operators applied on an evaluation context or, if none, those of the
+     * shared UDN, which is only read
+     *
+     * @param solution The solution
+     * @return The indices of the active macrocells
+     */
+    protected BitSet getMacroActivation(BinarySolution solution) {
+        BitSet macroActivation = (BitSet) solution.attributes().get(EvaluationContext.MACRO_ACTIVATION);
+
+        return (macroActivation != null) ? macroActivation : udn_.getMacroActivation();
+    }
+
     public int getRun() {
         return this.run_;
     }
@@ -687,22 +896,17 @@ public abstract class CSO extends AbstractBinaryProblem {
         int threshold = 3; //calcular la media de todos y que haya como máximo 2 veces la media
         Cell alternative = null;
         Point user_location;
-        Map<Double, Cell> bestCells;
+        int allCells = Point.cellTypes(UDN.CellType.values());
+        int[] bestCells = new int[2];
+        double[] bestSINRs = new double[2];
 
         for (User u : this.udn_.getUsers()) {
             user_location = udn_.getGridPoint(u.getX(), u.getY(), u.getZ());
             if (u.getServingCell().getAssignedUsers() >= threshold) {
 
-                bestCells = user_location.getCellsWithBestSINRs();
                 //get the 2nd best cell
-                int i = 1;
-                for (Map.Entry<Double, Cell> actualEntry : bestCells.entrySet()) {
-                    if (i == 2) {
-                        alternative = actualEntry.getValue();
-                        break;
-                    } else {
-                        i++;
-                    }
+                if (user_location.getCellsWithBestSINRs(2, allCells, -1, bestCells, bestSINRs) == 2) {
+                    alternative = udn_.getCell(bestCells[1]);
                 }
                 u.setServingCell(alternative);
                 count++;
@@ -747,26 +951,24 @@ public abstract class CSO extends AbstractBinaryProblem {
                 Cell alternative;
                 Cell current;
                 Point user_location;
-                Map<Double, Cell> bestCells;
+                int smallCells = Point.cellTypes(FEMTO, PICO);
+                int[] bestCell = new int[1];
+                double[] bestSINR = new double[1];
 
                 for (User u : this.udn_.getUsers()) {
                     if ((u.getServingCell().getType() != FEMTO) || (u.getServingCell().getType() != PICO)) {
                         current = u.getServingCell();
                         user_location = udn_.getGridPoint(u.getX(), u.getY(), u.getZ());
-                        bestCells = user_location.getCellsWithBestSINRs();
-                        for (Map.Entry<Double, Cell> actualEntry : bestCells.entrySet()) {
-                            alternative = actualEntry.getValue();
-                            if (user_location.computeSINR(alternative) > threshold) {
-                                if ((alternative.getType() == FEMTO) || (alternative.getType() == PICO)) {
-                                    u.setServingCell(alternative);
-                                    alternative.addUserAssigned();
-                                    current.removeUserAssigned();
-                                    if (current.getAssignedUsers() == 0)
-                                        current.setActivation(false);
-                                    alternative.setActivation(true);
-                                    break;
-                                }
-                            }
+                        //the small cell with the best SINR, if above the threshold
+                        if ((user_location.getCellsWithBestSINRs(1, smallCells, -1, bestCell, bestSINR) > 0)
+                                && (bestSINR[0] > threshold)) {
+                            alternative = udn_.getCell(bestCell[0]);
+                            u.setServingCell(alternative);
+                            alternative.addUserAssigned();
+                            current.removeUserAssigned();
+                            if (current.getAssignedUsers() == 0)
+                                current.setActivation(false);
+                            alternative.setActivation(true);
                         }
                     }//IF
                 }//FOR
@@ -824,26 +1026,24 @@ public abstract class CSO extends AbstractBinaryProblem {
                 Cell alternative;
                 Cell current;
                 Point user_location;
-                Map<Double, Cell> bestCells;
+                int smallCells = Point.cellTypes(FEMTO, PICO);
+                int[] bestCell = new int[1];
+                double[] bestSINR = new double[1];
 
                 for (User u : this.udn_.getUsers()) {
                     if ((u.getServingCell().getType() != FEMTO) || (u.getServingCell().getType() != PICO)) {
                         current = u.getServingCell();
                         user_location = udn_.getGridPoint(u.getX(), u.getY(), u.getZ());
-                        bestCells = user_location.getCellsWithBestSINRs();
-                        for (Map.Entry<Double, Cell> actualEntry : bestCells.entrySet()) {
-                            alternative = actualEntry.getValue();
-                            if (user_location.computeSINR(alternative) > threshold) {
-                                if ((alternative.getType() == FEMTO) || (alternative.getType() == PICO)) {
-                                    u.setServingCell(alternative);
-                                    alternative.addUserAssigned();
-                                    current.removeUserAssigned();
-                                    if (current.getAssignedUsers() == 0)
-                                        current.setActivation(false);
-                                    alternative.setActivation(true);
-                                    break;
-                                }
-                            }
+                        //the small cell with the best SINR, if above the threshold
+                        if ((user_location.getCellsWithBestSINRs(1, smallCells, -1, bestCell, bestSINR) > 0)
+                                && (bestSINR[0] > threshold)) {
+                            alternative = udn_.getCell(bestCell[0]);
+                            u.setServingCell(alternative);
+                            alternative.addUserAssigned();
+                            current.removeUserAssigned();
+                            if (current.getAssignedUsers() == 0)
+                                current.setActivation(false);
+                            alternative.setActivation(true);
                         }
                     }//IF
                 }//FOR
@@ -1013,6 +1213,209 @@ public abstract class CSO extends AbstractBinaryProblem {
 //        
 //    }
 
+    /**
+     * Cells with no users assigned are switched off (see noUsersOp(double,
+     * BinarySolution)). The operators taking an evaluation context edit the
+     * activation plan started with EvaluationContext.startEditing, sharing
+     * the UE to cell assignment instead of recomputing it from scratch.
+     *
+     * @param rate    : Application rate
+     * @param context The context with the activation plan being edited
+     */
+    public void noUsersOp(double rate, EvaluationContext context) {
+        if (new JavaRandomGenerator().nextDouble() < rate) {
+            if (context.getTotalNumberOfActiveCells() > 0) {
+                context.refreshAssignment();
+
+                switchOffCellsWithoutUsers(context);
+            }
+        }
+    }
+
+    /**
+     * For each UE, switches on the cell of its BTS with the best SINR among
+     * those of smaller or equal type (see increaseCapacityOp(double,
+     * BinarySolution))
+     *
+     * @param rate    : Application rate
+     * @param context The context with the activation plan being edited
+     */
+    public void increaseCapacityOp(double rate, EvaluationContext context) {
+        if (new JavaRandomGenerator().nextDouble() < rate) {
+            if (context.getTotalNumberOfActiveCells() > 0) {
+                context.refreshAssignment();
+
+                NetworkView view = udn_.getNetworkView();
+                for (int u = 0; u < context.getNumberOfUsers(); u++) {
+                    int current = context.getServingCell(u);
+                    CellType currentType = context.getCell(current).getType();
+                    int bts = view.getBTS(current);
+                    int best = current;
+                    double maxSINR = context.computeSINR(u, current);
+
+                    for (int k = view.getFirstCellOfBTS(bts); k < view.getFirstCellOfBTS(bts + 1); k++) {
+                        int c = view.getCellOfBTS(k);
+                        if ((c != current) && canIncreaseCapacity(context.getCell(c).getType(), currentType)) {
+                            double sinr = context.computeSINR(u, c);
+                            if (sinr >= maxSINR) {
+                                best = c;
+                                maxSINR = sinr;
+                            }
+                        }
+                    }
+
+                    context.setActivation(best, true);
+
+                    if ((context.getAssignedUsers(current) == 1) && (best != current)) {
+                        context.setActivation(current, false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cell types a UE can be moved to by increaseCapacityOp
+     */
+    private static boolean canIncreaseCapacity(CellType type, CellType currentType) {
+        switch (type) {
+            case FEMTO:
+                return true;
+            case PICO:
+                return currentType != FEMTO;
+            case MICRO:
+                return (currentType == MICRO) || (currentType == MACRO);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Switch on those femtocells that can serve UEs (see
+     * priorizeFemtoOp(double, BinarySolution))
+     *
+     * @param rate    : Application rate
+     * @param context The context with the activation plan being edited
+     */
+    public void priorizeFemtoOp(double rate, EvaluationContext context) {
+        if (new JavaRandomGenerator().nextDouble() < rate) {
+            if (context.getTotalNumberOfActiveCells() > 0) {
+                context.refreshAssignment();
+
+                moveUsersToSmallCells(context, 6);
+            }
+        }
+    }
+
+    /**
+     * Switch on those small cells (pico and femto) that can serve UEs (see
+     * priorizeSmallCellsOp(double, BinarySolution))
+     *
+     * @param rate    : Application rate
+     * @param context The context with the activation plan being edited
+     */
+    public void priorizeSmallCellsOp(double rate, EvaluationContext context) {
+        if (new JavaRandomGenerator().nextDouble() < rate) {
+            if (context.getTotalNumberOfActiveCells() > 0) {
+                context.refreshAssignment();
+
+                moveUsersToSmallCells(context, 1);
+            }
+        }
+    }
+
+    /**
+     * Turn off those BTSs that only have one active cell, saving the
+     * maintenance power (see maintenancePowerOp(double, BinarySolution)). The
+     * UE to cell assignment is not needed.
+     *
+     * @param rate    : application probability
+     * @param context The context with the activation plan being edited
+     */
+    public void maintenancePowerOp(double rate, EvaluationContext context) {
+        if (new JavaRandomGenerator().nextDouble() < rate) {
+            if (context.getTotalNumberOfActiveCells() > 0) {
+                NetworkView view = udn_.getNetworkView();
+                for (int bts = 0; bts < view.getNumberOfBTSs(); bts++) {
+                    int activeCells = 0;
+                    int activeCell = -1;
+                    for (int k = view.getFirstCellOfBTS(bts); k < view.getFirstCellOfBTS(bts + 1); k++) {
+                        int c = view.getCellOfBTS(k);
+                        if (context.isActive(c)) {
+                            activeCells++;
+                            activeCell = c;
+                        }
+                    }
+
+                    //Turn off the active cell
+                    if (activeCells == 1) {
+                        context.setActivation(activeCell, false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves each UE to the small cell with the best SINR above a threshold,
+     * if any, and switches off the cells that no longer serve any UE
+     *
+     * @param context   The context with the activation plan being edited
+     * @param threshold SINR threshold
+     */
+    private void moveUsersToSmallCells(EvaluationContext context, double threshold) {
+        for (int u = 0; u < context.getNumberOfUsers(); u++) {
+            int current = context.getServingCell(u);
+            int alternative = getSmallCellWithBestSINR(context, u, threshold);
+            if (alternative >= 0) {
+                context.setServingCell(u, alternative);
+                if (context.getAssignedUsers(current) == 0)
+                    context.setActivation(current, false);
+                context.setActivation(alternative, true);
+            }
+        }
+
+        //apply CSO -> switch off the remaining cells not serving any UE
+        switchOffCellsWithoutUsers(context);
+    }
+
+    /**
+     * Returns the small cell (femto or pico) with the best SINR for a UE, if
+     * it is above a threshold (see Point.getCellsWithBestSINRs)
+     *
+     * @param context   The context with the received power at the UEs
+     * @param u         Index of the UE
+     * @param threshold SINR threshold
+     * @return The index of the cell, or -1 if there is none
+     */
+    int getSmallCellWithBestSINR(EvaluationContext context, int u, double threshold) {
+        int best = -1;
+        double maxSINR = threshold;
+
+        for (int i = 0; i < context.getNumberOfCells(); i++) {
+            CellType type = context.getCell(i).getType();
+            if ((type == FEMTO) || (type == PICO)) {
+                double sinr = context.computeSINR(u, i);
+                if (sinr > maxSINR) {
+                    best = i;
+                    maxSINR = sinr;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Switches off the cells (including the macrocells) not serving any UE
+     */
+    private void switchOffCellsWithoutUsers(EvaluationContext context) {
+        for (int i = 0; i < context.getNumberOfCells(); i++) {
+            if (context.getAssignedUsers(i) == 0)
+                context.setActivation(i, false);
+        }
+    }
+
     /**
      * Activates/deactivates BTSs in the solution according to the information
      * enclosed in the modified network of the problem
@@ -0,0 +1,30 @@
+package org.uma.jmetal.problem.multiobjective.UDN;
+
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.errorchecking.JMetalException;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+
+import java.util.List;
+
+/**
+ * Evaluates the whole list of solutions at once on a CSO problem (see
+ * CSO.evaluateBatch), so the work shared by the solutions is done once
+ */
+@SuppressWarnings("serial")
+public class CSOSolutionListEvaluator implements SolutionListEvaluator<BinarySolution> {
+
+    @Override
+    public List<BinarySolution> evaluate(List<BinarySolution> solutionList, Problem<BinarySolution> problem) throws JMetalException {
+        if (!(problem instanceof CSO)) {
+            throw new JMetalException("The problem is not a CSO problem: " + problem.getName());
+        }
+
+        return ((CSO) problem).evaluateBatch(solutionList);
+    }
+
+    @Override
+    public void shutdown() {
+        // This method is an intentionally-blank override.
+    }
+}
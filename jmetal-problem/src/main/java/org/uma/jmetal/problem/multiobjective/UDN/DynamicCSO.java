@@ -54,6 +54,12 @@ public class DynamicCSO extends CSO {
     public BinarySolution evaluate(BinarySolution solution) {
         BitSet cso = solution.variables().get(0);
 
+        //the macrocells are not encoded in the solution
+        BitSet macroActivation = (cache_ != null) ? getMacroActivation(solution) : null;
+        if ((cache_ != null) && cache_.restore(solution, macroActivation, getUsersLayoutVersion())) {
+            return solution;
+        }
+
         boolean noActiveCells = true;
         for (int i = 0; i < cso.length(); i++) {
             if (cso.get(i)) {
@@ -87,10 +93,24 @@ public class DynamicCSO extends CSO {
             //solution.setObjective(3, 0);
         }
 
+        if (cache_ != null) {
+            cache_.store(solution, macroActivation, getUsersLayoutVersion());
+        }
+
         return solution;
     } // evaluate
 
 
+    /**
+     * The users move at each epoch
+     *
+     * @return The current epoch
+     */
+    @Override
+    protected int getUsersLayoutVersion() {
+        return this.currentEpoch_;
+    }
+
     public int getNumberOfEpochs() {
         return this.epochs_;
     }
@@ -107,24 +127,32 @@ public class DynamicCSO extends CSO {
         //update the accumulated evaluations on each epoch
         evaluations_ = 0;
 
-        //saving memory: recompute only interesiting points for the new epoch
-        this.udn_.emptyMapsAtPoints();
+        //saving memory: forget the points left without users, the rest are
+        //still valid as the deployment does not change between epochs
+        this.udn_.emptyMapsAtPointsWithoutUsers();
+    }
+
+    /**
+     * Warm start of an epoch: re-evaluates, with the users at their new
+     * positions, the solutions found in the previous epoch (e.g., its Pareto
+     * front), so an algorithm can seed its population with them instead of
+     * starting cold. The solutions are evaluated in place, so their previous
+     * UE to cell assignment is that of the previous epoch and the handovers
+     * are accounted for.
+     *
+     * @param solutions The solutions of the previous epoch
+     * @return The same solutions, evaluated in the current epoch
+     */
+    public List<BinarySolution> warmStart(List<BinarySolution> solutions) {
+        return evaluateBatch(solutions);
     }
 
     private int incurredHandovers(BinarySolution solution) {
-        int handovers = 0;
+        int handovers;
 
-        List<Cell> previous = solution.getPreviousUesToCellAssignment();
+        int[] previous = solution.getPreviousUesToCellAssignment();
         if ((currentEpoch_ > 0) && (previous != null)) {
-
-            List<Cell> current = solution.getCurrentUesToCellAssignment();
-
-            for (int i = 0; i < current.size(); i++) {
-
-                if (current.get(i).getID() != previous.get(i).getID())
-                    //There is a handover 
-                    handovers++;
-            }
+            handovers = udn_.getNetworkView().handovers(previous, solution.getCurrentUesToCellAssignment());
         } else
             handovers = this.udn_.getUsers().size();
 
@@ -147,37 +175,13 @@ public class DynamicCSO extends CSO {
         float cost_interTower = 159; //ms
 
         float cost_interTech = 82; //ms
-        float totalCost = 0;
+        float totalCost;
 
-        List<Cell> previous = solution.getPreviousUesToCellAssignment();
+        int[] previous = solution.getPreviousUesToCellAssignment();
 
         if ((currentEpoch_ > 0) && (previous != null)) {
-
-            List<Cell> current = solution.getCurrentUesToCellAssignment();
-
-            for (int i = 0; i < current.size(); i++) {
-                int currentID = current.get(i).getID(); //ID of previous assigned cell
-                int previousID = previous.get(i).getID(); //ID of current assigned cell
-                BTS currentBts = current.get(i).getBTS();
-                BTS previousBts = previous.get(i).getBTS();
-                if (currentID != previousID) {
-                    //There is a handover
-                    if (currentBts.getX() == previousBts.getX() && currentBts.getY() == previousBts.getY()) {
-                        //same tower
-                        totalCost += cost_intraTower;
-
-                    } else {
-                        //different tower
-                        totalCost += cost_interTower;
-
-                    }
-                    if (currentBts.getWorkingFrequency() != previousBts.getWorkingFrequency()) {
-                        //change of technology
-                        totalCost += cost_interTech;
-                    }
-
-                }
-            }
+            totalCost = (float) udn_.getNetworkView().signalingCost(previous, solution.getCurrentUesToCellAssignment(),
+                    cost_intraTower, cost_interTower, cost_interTech);
         } else
             totalCost = this.udn_.getUsers().size();
 
@@ -0,0 +1,187 @@
+package org.uma.jmetal.problem.multiobjective.UDN;
+
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationState;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.measure.MeasureManager;
+import org.uma.jmetal.util.measure.Measurable;
+import org.uma.jmetal.util.measure.impl.CountingMeasure;
+import org.uma.jmetal.util.measure.impl.SimpleMeasureManager;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache with the objective values of the activation plans already
+ * evaluated. Entries are keyed by the words of the activation BitSet, the
+ * active macrocells, which are not encoded in it (see
+ * CSO.getMacroActivation), and the version of the users layout (e.g., the
+ * epoch of a dynamic problem), and the
+ * least recently used one is evicted when the cache is full. The number of
+ * hits and misses are available as the "cacheHits" and "cacheMisses"
+ * measures.
+ */
+public class EvaluationCache implements Measurable {
+
+    private final int capacity_;
+    private final Map<Key, Entry> entries_;
+
+    private final CountingMeasure hits_;
+    private final CountingMeasure misses_;
+    private final SimpleMeasureManager measureManager_;
+
+    /**
+     * Constructor
+     *
+     * @param capacity Maximum number of activation plans kept
+     */
+    public EvaluationCache(int capacity) {
+        capacity_ = capacity;
+        entries_ = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > capacity_;
+            }
+        };
+
+        hits_ = new CountingMeasure("cacheHits", "Evaluations read from the cache");
+        misses_ = new CountingMeasure("cacheMisses", "Evaluations not found in the cache");
+        measureManager_ = new SimpleMeasureManager();
+        measureManager_.setPullMeasure("cacheHits", hits_);
+        measureManager_.setPullMeasure("cacheMisses", misses_);
+        measureManager_.setPushMeasure("cacheHits", hits_);
+        measureManager_.setPushMeasure("cacheMisses", misses_);
+    }
+
+    /**
+     * Copies into the solution the evaluation of its activation plan, if it
+     * is in the cache
+     *
+     * @param solution        The solution to evaluate
+     * @param macroActivation Active macrocells the solution is evaluated with
+     * @param version         Version of the users layout
+     * @return true if the solution was found in the cache
+     */
+    public boolean restore(BinarySolution solution, BitSet macroActivation, int version) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries_.get(new Key(solution.variables().get(0), macroActivation, version));
+        }
+
+        if (entry == null) {
+            misses_.increment();
+            return false;
+        }
+
+        System.arraycopy(entry.objectives_, 0, solution.objectives(), 0, entry.objectives_.length);
+        //the assignment and snapshot of the solution, if any, are replaced
+        //even if the entry has none (e.g., a plan with all the cells off)
+        if (entry.assignment_ != null) {
+            solution.setUEsToCellAssignment(entry.assignment_);
+        } else {
+            solution.forgetUEsToCellAssignment();
+        }
+        if (entry.state_ != null) {
+            solution.attributes().put(EvaluationState.ATTRIBUTE, entry.state_);
+        } else {
+            solution.attributes().remove(EvaluationState.ATTRIBUTE);
+        }
+        hits_.increment();
+
+        return true;
+    }
+
+    /**
+     * Stores the evaluation of a solution
+     *
+     * @param solution        The evaluated solution
+     * @param macroActivation Active macrocells the solution was evaluated with
+     * @param version         Version of the users layout
+     */
+    public void store(BinarySolution solution, BitSet macroActivation, int version) {
+        int[] assignment = solution.getCurrentUesToCellAssignment();
+        Entry entry = new Entry(solution.objectives().clone(), (assignment == null) ? null : assignment.clone(),
+                solution.attributes().get(EvaluationState.ATTRIBUTE));
+        Key key = new Key(solution.variables().get(0), macroActivation, version);
+
+        synchronized (this) {
+            entries_.put(key, entry);
+        }
+    }
+
+    public synchronized void clear() {
+        entries_.clear();
+    }
+
+    public synchronized int size() {
+        return entries_.size();
+    }
+
+    public int getCapacity() {
+        return capacity_;
+    }
+
+    public long getHits() {
+        return hits_.get();
+    }
+
+    public long getMisses() {
+        return misses_.get();
+    }
+
+    @Override
+    public MeasureManager getMeasureManager() {
+        return measureManager_;
+    }
+
+    /**
+     * Activation plan, macrocells and users layout of an entry
+     */
+    private static class Key {
+        final long[] words_;
+        final long[] macroWords_;
+        final int version_;
+        final int hash_;
+
+        Key(BitSet cso, BitSet macroActivation, int version) {
+            words_ = cso.toLongArray();
+            macroWords_ = macroActivation.toLongArray();
+            version_ = version;
+            hash_ = 31 * (31 * Arrays.hashCode(words_) + Arrays.hashCode(macroWords_)) + version;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash_;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return (version_ == other.version_) && Arrays.equals(words_, other.words_)
+                    && Arrays.equals(macroWords_, other.macroWords_);
+        }
+    }
+
+    /**
+     * Cached evaluation of an activation plan
+     */
+    private static class Entry {
+        final double[] objectives_;
+        final int[] assignment_;
+        final Object state_;
+
+        Entry(double[] objectives, int[] assignment, Object state) {
+            objectives_ = objectives;
+            assignment_ = assignment;
+            state_ = state;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package org.uma.jmetal.problem.multiobjective.UDN;
 
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.problem.multiobjective.UDN.model.DynamicUDN;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.Point;
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
 
-import java.util.Arrays;
-import java.util.BitSet;
-import java.util.List;
+import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Class representing problem ZDT1
@@ -19,6 +21,10 @@ public class RobustCSO extends CSO {
     //for updating the user positions
     boolean shanghai_ = false;
 
+    //Points of the users at each sample of the current generation, shared
+    //by the concurrent evaluations
+    volatile Point[][] samples_;
+
     /**
      * Creates an instance of the UDN planning problems.
      */
@@ -43,12 +49,27 @@ public class RobustCSO extends CSO {
     }
 
     /**
-     * Evaluates a solution.
+     * Evaluates a solution. With concurrent evaluation, it is evaluated on the
+     * samples of the current generation, which are materialized by
+     * evaluateBatch or by materializeSamples (or on the first call, if there
+     * are none yet). Callers evaluating the solutions one by one from several
+     * threads must then call materializeSamples at each generation, while no
+     * solution is being evaluated.
      *
      * @param solution The solution to evaluate.
      */
     @Override
     public BinarySolution evaluate(BinarySolution solution) {
+        if (concurrentEvaluation_) {
+            Point[][] samples = samples_;
+            if (samples == null) {
+                samples = getSamples();
+            }
+            evaluateOnSamples(Collections.singletonList(solution), samples);
+
+            return solution;
+        }
+
         BitSet cso = solution.variables().get(0);
 
         //map the activation to the udn
@@ -57,22 +78,15 @@ public class RobustCSO extends CSO {
         //update the avera
         udn_.computeSignaling();
 
-        double sumCapacity = 0.0, sqSumCapacity = 0.0;
-        double sumPower = 0.0, sqSumPower = 0.0;
-        double capacity, powerConsumption;
+        double[] capacity = new double[this.samplingSize_];
+        double[] powerConsumption = new double[this.samplingSize_];
 
         //Reset the sampling
         this.resetSampling();
 
         for (int t = 0; t < this.samplingSize_; t++) {
-            capacity = networkCapacity(solution);
-            powerConsumption = powerConsumptionPiovesan();
-
-            sumCapacity += capacity;
-            sqSumCapacity += capacity * capacity;
-
-            sumPower += powerConsumption;
-            sqSumPower += powerConsumption * powerConsumption;
+            capacity[t] = networkCapacity(solution);
+            powerConsumption[t] = powerConsumptionPiovesan();
 
             this.nextSample();
 
@@ -80,42 +94,179 @@ public class RobustCSO extends CSO {
             udn_.computeSignaling();
         }
 
-        double meanCapacity = sumCapacity / this.samplingSize_;
-        double varianceCapacity = (sqSumCapacity - (sumCapacity * sumCapacity) / this.samplingSize_) / (this.samplingSize_ - 1);
-
-        double meanPower = sumPower / this.samplingSize_;
-        double variancePower = (sqSumPower - (sumPower * sumPower) / this.samplingSize_) / (this.samplingSize_ - 1);
-
-        solution.objectives()[0] = meanPower;
-        solution.objectives()[1] = -variancePower;
-        solution.objectives()[2] = -meanCapacity;
-        solution.objectives()[3] = -varianceCapacity;
+        setObjectives(solution, capacity, powerConsumption, 0);
 
         return solution;
 
     } // evaluate
 
+    /**
+     * Evaluates a list of solutions. With concurrent evaluation, the samples
+     * of the mobility are materialized once for the whole list, and the
+     * pairs (solution, sample) are evaluated in parallel on per-thread
+     * contexts.
+     *
+     * @param solutions The solutions to evaluate
+     * @return The evaluated solutions
+     */
+    @Override
+    public List<BinarySolution> evaluateBatch(List<BinarySolution> solutions) {
+        if (!concurrentEvaluation_) {
+            return super.evaluateBatch(solutions);
+        }
+
+        //the UDN is modified only here, before going parallel
+        materializeSamples();
+        evaluateOnSamples(solutions, samples_);
+
+        return solutions;
+    }
+
+    /**
+     * Replays the sampling on the shared UDN, as evaluate() does, and keeps
+     * the points where the users are placed at each sample. The points are
+     * added to the received power matrix, if used, so the samples can be
+     * evaluated concurrently without modifying the UDN. It moves the users of
+     * the UDN, so it must not be called while solutions are being evaluated.
+     */
+    public synchronized void materializeSamples() {
+        Point[][] samples = new Point[this.samplingSize_][];
+        Set<Point> points = new HashSet<>();
+
+        //saving memory: recompute only interesiting points for the new samples
+        this.udn_.emptyMapsAtPoints();
+
+        moveUsers(0);
+        for (int t = 0; t < this.samplingSize_; t++) {
+            List<User> users = this.udn_.getUsers();
+            samples[t] = new Point[users.size()];
+            for (int u = 0; u < samples[t].length; u++) {
+                User user = users.get(u);
+                samples[t][u] = this.udn_.getGridPoint(user.getX(), user.getY(), user.getZ());
+            }
+            points.addAll(Arrays.asList(samples[t]));
+
+            this.currentSample_++;
+            moveUsers(this.currentSample_);
+        }
+
+        this.udn_.addToReceivedPowerMatrix(points);
+        samples_ = samples;
+    }
+
+    /**
+     * Samples of the current generation, materialized if there are none yet
+     */
+    private synchronized Point[][] getSamples() {
+        if (samples_ == null) {
+            materializeSamples();
+        }
+        return samples_;
+    }
+
+    /**
+     * Evaluates the solutions on the materialized samples, in parallel
+     *
+     * @param solutions The solutions to evaluate
+     * @param samples   Points of the users at each sample
+     */
+    private void evaluateOnSamples(List<BinarySolution> solutions, Point[][] samples) {
+        int numberOfSamples = samples.length;
+        double[] capacity = new double[solutions.size() * numberOfSamples];
+        double[] powerConsumption = new double[solutions.size() * numberOfSamples];
+
+        IntStream.range(0, capacity.length).parallel().forEach(k -> {
+            BinarySolution solution = solutions.get(k / numberOfSamples);
+            int t = k % numberOfSamples;
+            EvaluationContext context = getEvaluationContext();
+
+            context.setCellActivation(solution.variables().get(0), getMacroActivation(solution));
+            context.computeSignaling(samples[t]);
+            context.assignUsers();
+            capacity[k] = context.computeCapacity();
+            powerConsumption[k] = powerConsumptionPiovesan(context);
+
+            //the assignment of the last sample is kept, as in evaluate()
+            if (t == numberOfSamples - 1) {
+                solution.setUEsToCellAssignment(context.getUesToCellAssignment());
+            }
+        });
+
+        for (int i = 0; i < solutions.size(); i++) {
+            setObjectives(solutions.get(i), capacity, powerConsumption, i * numberOfSamples);
+        }
+    }
+
+    /**
+     * Sets the mean and variance of the power consumption and the capacity
+     * of the samples of a solution as its objectives
+     *
+     * @param solution         The solution
+     * @param capacity         Capacity at each sample
+     * @param powerConsumption Power consumption at each sample
+     * @param from             Position of the first sample of the solution
+     */
+    private void setObjectives(BinarySolution solution, double[] capacity, double[] powerConsumption, int from) {
+        double[] statsCapacity = meanAndVariance(capacity, from, this.samplingSize_);
+        double[] statsPower = meanAndVariance(powerConsumption, from, this.samplingSize_);
+
+        solution.objectives()[0] = statsPower[0];
+        solution.objectives()[1] = -statsPower[1];
+        solution.objectives()[2] = -statsCapacity[0];
+        solution.objectives()[3] = -statsCapacity[1];
+    }
+
+    /**
+     * Mean and sample variance of values[from, from + n), computed with the
+     * online algorithm of Welford, which does not suffer the cancellation of
+     * the sum of squares
+     *
+     * @param values The values
+     * @param from   Position of the first value
+     * @param n      Number of values
+     * @return The mean and the variance
+     */
+    static double[] meanAndVariance(double[] values, int from, int n) {
+        double mean = 0.0;
+        double m2 = 0.0;
+
+        for (int k = 0; k < n; k++) {
+            double x = values[from + k];
+            double delta = x - mean;
+            mean += delta / (k + 1);
+            m2 += delta * (x - mean);
+        }
+
+        return new double[]{mean, m2 / (n - 1)};
+    }
+
     public void nextSample() {
         this.currentSample_++;
-        if (shanghai_)
-            ((DynamicUDN) this.udn_).updateUsersPositionShanghai(this.currentSample_);
-        else
-            ((DynamicUDN) this.udn_).updateUsersPositionFromMatrix(this.currentSample_);
+        moveUsers(this.currentSample_);
 
         //saving memory: recompute only interesiting points for the new epoch
         this.udn_.emptyMapsAtPoints();
     }
 
     private void resetSampling() {
-        if (shanghai_)
-            ((DynamicUDN) this.udn_).updateUsersPositionShanghai(0);
-        else
-            ((DynamicUDN) this.udn_).updateUsersPositionFromMatrix(0);
+        moveUsers(0);
 
         //saving memory: recompute only interesiting points for the new epoch
         this.udn_.emptyMapsAtPoints();
     }
 
+    /**
+     * Moves the users to their position at a sample
+     *
+     * @param sample The sample
+     */
+    private void moveUsers(int sample) {
+        if (shanghai_)
+            ((DynamicUDN) this.udn_).updateUsersPositionShanghai(sample);
+        else
+            ((DynamicUDN) this.udn_).updateUsersPositionFromMatrix(sample);
+    }
+
     @Override
     public List<Integer> getListOfBitsPerVariable() {
         return Arrays.asList(bits);
@@ -1,15 +1,20 @@
 package org.uma.jmetal.problem.multiobjective.UDN;
 
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationState;
+import org.uma.jmetal.problem.multiobjective.UDN.model.NetworkView;
 import org.uma.jmetal.problem.multiobjective.UDN.model.StaticUDN;
 import org.uma.jmetal.problem.multiobjective.UDN.model.UDN;
 import org.uma.jmetal.problem.multiobjective.UDN.model.cells.BTS;
 import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
-import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Sector;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class representing problem ZDT1
@@ -41,6 +46,34 @@ public class StaticCSO extends CSO {
 //        udn_.getCellsOfInterestByPoint();
     }
 
+    /**
+     * Creates an instance of the Static CSO problem sharing the UDN model and
+     * the operators of another one, e.g., to run several algorithms at once
+     * on the same model. The shared model is only read while evaluating and
+     * repairing the solutions, so both are made on per-thread contexts (see
+     * setConcurrentEvaluation). The macrocells switched on/off by the repair,
+     * which are not encoded in the binary solutions, are kept in their
+     * attributes (see EvaluationContext.MACRO_ACTIVATION).
+     *
+     * @param problem The problem whose model is shared
+     */
+    protected StaticCSO(StaticCSO problem) {
+        udn_ = problem.udn_;
+
+        bits = problem.bits;
+
+        setNumberOfVariables(1);
+        setNumberOfObjectives(2);
+        setNumberOfConstraints(0);
+        setName("StaticCSO");
+
+        run_ = problem.run_;
+        operators_ = problem.operators_;
+        deltaEvaluation_ = problem.deltaEvaluation_;
+        maxFlippedCells_ = problem.maxFlippedCells_;
+        concurrentEvaluation_ = true;
+    }
+
     public StaticCSO(String problemconf) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
@@ -59,15 +92,17 @@ public class StaticCSO extends CSO {
     public BinarySolution evaluate(BinarySolution solution) {
         BitSet cso = solution.variables().get(0);
 
-        boolean noActiveCells = true;
-        for (int i = 0; i < cso.length(); i++) {
-            if (cso.get(i)) {
-                noActiveCells = false;
-                break;
-            }
+        boolean noActiveCells = cso.isEmpty();
+
+        //the macrocells are not encoded in the solution
+        BitSet macroActivation = (cache_ != null) ? getMacroActivation(solution) : null;
+        if ((cache_ != null) && cache_.restore(solution, macroActivation, getUsersLayoutVersion())) {
+            return solution;
         }
 
-        if (!noActiveCells) {
+        if (!noActiveCells && (concurrentEvaluation_ || deltaEvaluation_)) {
+            evaluate(solution, getEvaluationContext());
+        } else if (!noActiveCells) {
             //map the activation to the udn
             udn_.setCellActivation(cso);
 
@@ -84,9 +119,112 @@ public class StaticCSO extends CSO {
             solution.objectives()[1] = 0.0;
         }
 
+        if (cache_ != null) {
+            cache_.store(solution, macroActivation, getUsersLayoutVersion());
+        }
+
         return solution;
     } // evaluate
 
+    /**
+     * Evaluates a solution on an evaluation context, without modifying the
+     * shared UDN. The macrocells are those kept in the solution, if any (see
+     * getMacroActivation). With delta evaluation, the solution is evaluated from the
+     * snapshot it carries, if any, and a new snapshot is stored in it.
+     *
+     * @param solution The solution to evaluate.
+     * @param context  The evaluation context owned by the calling thread
+     */
+    public BinarySolution evaluate(BinarySolution solution, EvaluationContext context) {
+        BitSet cso = solution.variables().get(0);
+        BitSet macroActivation = getMacroActivation(solution);
+        double capacity;
+
+        //without delta evaluation, only a snapshot of this very activation plan
+        //(e.g., left by intelligentSwitchOff) is used
+        EvaluationState state = (EvaluationState) solution.attributes().get(EvaluationState.ATTRIBUTE);
+        int maxFlippedCells = deltaEvaluation_ ? maxFlippedCells_ : 0;
+
+        if (context.update(state, cso, macroActivation, maxFlippedCells)) {
+            //only the flipped cells and the affected users were updated
+            solution.setUEsToCellAssignment(context.getUesToCellAssignment());
+            capacity = context.computeCapacity();
+        } else {
+            //map the activation to the context
+            context.setCellActivation(cso, macroActivation);
+
+            //update the received power at the users
+            context.computeSignaling();
+
+            capacity = networkCapacity(solution, context);
+        }
+
+        double powerConsumption = powerConsumptionStatic(context);
+        solution.objectives()[0] = powerConsumption;
+        solution.objectives()[1] = -capacity;
+
+        if (deltaEvaluation_) {
+            solution.attributes().put(EvaluationState.ATTRIBUTE, context.getState(cso));
+        }
+
+        return solution;
+    }
+
+    /**
+     * Evaluates a list of solutions. Solutions with the same activation plan
+     * and macrocells (e.g., offspring that were not modified by the
+     * variation operators) are only evaluated once, and the received power at the users is
+     * computed before starting. With concurrent evaluation, the different
+     * activation plans are evaluated in parallel on per-thread contexts.
+     *
+     * @param solutions The solutions to evaluate
+     * @return The evaluated solutions
+     */
+    @Override
+    public List<BinarySolution> evaluateBatch(List<BinarySolution> solutions) {
+        Map<List<BitSet>, BinarySolution> plans = new HashMap<>();
+        List<BinarySolution> unique = new ArrayList<>(solutions.size());
+        List<BinarySolution> duplicates = new ArrayList<>();
+
+        for (BinarySolution s : solutions) {
+            if (plans.putIfAbsent(getPlan(s), s) == null) {
+                unique.add(s);
+            } else {
+                duplicates.add(s);
+            }
+        }
+
+        udn_.updateReceivedPowerMatrix();
+
+        if (concurrentEvaluation_) {
+            unique.parallelStream().forEach(this::evaluate);
+        } else {
+            unique.forEach(this::evaluate);
+        }
+
+        for (BinarySolution s : duplicates) {
+            BinarySolution evaluated = plans.get(getPlan(s));
+            if (evaluated != s) {
+                System.arraycopy(evaluated.objectives(), 0, s.objectives(), 0, s.objectives().length);
+                s.setUEsToCellAssignment(evaluated.getCurrentUesToCellAssignment());
+
+                Object state = evaluated.attributes().get(EvaluationState.ATTRIBUTE);
+                if (state != null) {
+                    s.attributes().put(EvaluationState.ATTRIBUTE, state);
+                }
+            }
+        }
+
+        return solutions;
+    }
+
+    /**
+     * Activation plan and macrocells of a solution
+     */
+    private List<BitSet> getPlan(BinarySolution solution) {
+        return Arrays.asList(solution.variables().get(0), getMacroActivation(solution));
+    }
+
     /**
      * m
      * In this function operators are applied in order to improve the sinr of
@@ -96,6 +234,11 @@ public class StaticCSO extends CSO {
      */
     @Override
     public void intelligentSwitchOff(BinarySolution solution) {
+        if (concurrentEvaluation_ || deltaEvaluation_) {
+            intelligentSwitchOff(solution, getEvaluationContext());
+            return;
+        }
+
 //        Map<Double, List<Point>> worsePoints = new TreeMap<>();
 //        double sinr_limit = 12;
 //
@@ -143,44 +286,78 @@ public class StaticCSO extends CSO {
         //modifySolution(solution);
     }
 
+    /**
+     * Applies the operators of intelligentSwitchOff(BinarySolution) on an
+     * evaluation context. The received power and the UE to cell assignment
+     * are computed once and only the cells switched on/off by each operator
+     * are applied afterwards. The final assignment is left in the solution as
+     * a snapshot (see EvaluationState), so its evaluation does not compute it
+     * again. The macrocells switched on/off are kept in the solution (see
+     * EvaluationContext.MACRO_ACTIVATION) instead of in the shared UDN.
+     *
+     * @param solution Solution to be modified
+     * @param context  The evaluation context owned by the calling thread
+     */
+    public void intelligentSwitchOff(BinarySolution solution, EvaluationContext context) {
+        BitSet cso = solution.variables().get(0);
+
+        context.startEditing(cso, getMacroActivation(solution));
+
+        if (this.operators_.containsKey("maintenancePowerOp"))
+            maintenancePowerOp(this.operators_.get("maintenancePowerOp"), context);
+
+        if (this.operators_.containsKey("noUsersOp"))
+            noUsersOp(this.operators_.get("noUsersOp"), context);
+
+        if (this.operators_.containsKey("priorizeSmallCellsOp"))
+            priorizeSmallCellsOp(this.operators_.get("priorizeSmallCellsOp"), context);
+
+        if (this.operators_.containsKey("priorizeFemtoOp"))
+            priorizeFemtoOp(this.operators_.get("priorizeFemtoOp"), context);
+
+        if (this.operators_.containsKey("increaseCapacityOp"))
+            increaseCapacityOp(this.operators_.get("increaseCapacityOp"), context);
+
+        //copy the modifications to the solution
+        context.getCellActivation(cso);
+        solution.attributes().put(EvaluationContext.MACRO_ACTIVATION, context.getMacroActivation());
+
+        if (!cso.isEmpty() && (context.getTotalNumberOfActiveCells() > 0)) {
+            context.refreshAssignment();
+            context.computeCapacity();
+            solution.attributes().put(EvaluationState.ATTRIBUTE, context.getState(cso));
+        }
+    }
+
     /**
      * Calculates the power consumption taking into account the total traffic demand
-     * and the maintenance power, in the case of small cells (pico, femto)
+     * and the maintenance power, in the case of small cells (pico, femto). The
+     * users are those assigned by the last networkCapacity(solution).
      *
      * @return Power consumption
      */
     double powerConsumptionStatic() {
-        double sum = 0.0;
-        boolean hasActiveCells;
-        double maintenancePower = 2000; //mW
-
-        for (List<BTS> btss : udn_.btss_.values()) {
-            for (BTS bts : btss) {
-                hasActiveCells = false;
-                for (Sector sector : bts.getSectors()) {
-                    for (Cell cell : sector.getCells()) {
-                        if (cell.isActive()) {
-                            hasActiveCells = true;
-                            sum += sector.getTransmittedPower() * sector.getAlfa() + sector.getBeta() + sector.getDelta() * cell.getTrafficDemand() + 10;
-                        } else {
-                            //residual consuption in sleep mode (mW)
-                            sum += sector.getTransmittedPower() * 0.01;
-                        }
-                    }
-                }
-                if (hasActiveCells) {
-                    sum += maintenancePower;
-                }
-            }
-        }
+        NetworkView view = udn_.getNetworkView();
+        boolean[] active = new boolean[view.getNumberOfCells()];
+        double[] trafficDemand = new double[view.getNumberOfCells()];
 
-        //mW -> W -> kW -> MW
-        sum /= 1000000000;
-        //System.out.println("Consumed power = " + sum);
+        view.readCellStatus(active, trafficDemand, cellUsers_, udn_.getUsers());
 
-        return sum;
+        //System.out.println("Consumed power = " + sum);
+        return view.powerConsumptionStatic(active, trafficDemand);
     }// powerConsumptionStatic
 
+    /**
+     * Static power consumption computed from the state stored in an
+     * evaluation context
+     *
+     * @param context The evaluation context
+     * @return Power consumption
+     */
+    double powerConsumptionStatic(EvaluationContext context) {
+        return udn_.getNetworkView().powerConsumptionStatic(context);
+    }
+
     public UDN getUDN() {
         return udn_;
     }
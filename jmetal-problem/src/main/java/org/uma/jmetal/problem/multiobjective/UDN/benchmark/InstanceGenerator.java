@@ -0,0 +1,250 @@
+package org.uma.jmetal.problem.multiobjective.UDN.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes a UDN instance (main.conf, cells.conf, the cell chain files,
+ * users.conf and the user type files) at a given scale, taking a set of
+ * configuration files (e.g., the ones shipped in the root of the project) as
+ * template. Every parameter is copied from the template but the size of the
+ * grid and the densities of the PPPs.
+ * <p>
+ * UDN and StaticUDN place the BTSs and the users with a PPP, so the number of
+ * cells and users is only set on average (lambda * area, with the area in
+ * km2). The cells are split among the chain files (macrocells are not
+ * deployed), and the users among the user types, in the proportion of their
+ * lambdas in the template.
+ */
+public class InstanceGenerator {
+
+    //Directory with the template configuration files
+    String templateDir_;
+
+    //Grid of the instances (points)
+    int gridPointsX_;
+    int gridPointsY_;
+
+    /**
+     * Constructor
+     *
+     * @param templateDir Directory with the template main.conf
+     */
+    public InstanceGenerator(String templateDir) {
+        this.templateDir_ = templateDir;
+        Properties main = load(new File(templateDir, "main.conf"));
+        this.gridPointsX_ = Integer.parseInt(main.getProperty("gridPointsX"));
+        this.gridPointsY_ = Integer.parseInt(main.getProperty("gridPointsY"));
+    }
+
+    public void setGrid(int gridPointsX, int gridPointsY) {
+        this.gridPointsX_ = gridPointsX;
+        this.gridPointsY_ = gridPointsY;
+    }
+
+    /**
+     * Writes an instance
+     *
+     * @param outputDir Directory of the instance (created if needed)
+     * @param users     Average number of users
+     * @param cells     Average number of (non macro) cells
+     * @return The path of the main configuration file of the instance
+     * @throws IOException If the files cannot be read or written
+     */
+    public String write(String outputDir, int users, int cells) throws IOException {
+        File dir = new File(outputDir);
+        dir.mkdirs();
+
+        Properties main = load(new File(templateDir_, "main.conf"));
+        int interPointSeparation = Integer.parseInt(main.getProperty("interPointSeparation"));
+        double area = (double) gridPointsX_ * gridPointsY_ * interPointSeparation * interPointSeparation / 1000000.0;
+
+        //cell chains: the macrocells are not deployed
+        String cellConfigFile = main.getProperty("cellConfigFile");
+        String cellsText = read(new File(templateDir_, cellConfigFile));
+        Properties cellsConfig = load(new File(templateDir_, cellConfigFile));
+        int cellTypes = Integer.parseInt(cellsConfig.getProperty("cellTypes", "7"));
+        List<String> chains = new ArrayList<>();
+        List<Properties> chainConfigs = new ArrayList<>();
+        double totalLambda = 0.0;
+        for (int i = 0; i < cellTypes; i++) {
+            String chain = cellsConfig.getProperty("cell" + i);
+            Properties chainConfig = load(new File(templateDir_, chain));
+            chains.add(chain);
+            chainConfigs.add(chainConfig);
+            if (!isMacro(chainConfig)) {
+                totalLambda += Double.parseDouble(chainConfig.getProperty("lambdaForPPP", "50"));
+            }
+        }
+
+        //UDN deploys the BTSs of a chain in groups of 3, with numSectors *
+        //numRFChains cells each: split the cells in groups, and give the cells
+        //left to the chains with the smallest groups
+        int[] groups = new int[cellTypes];
+        int left = cells;
+        for (int i = 0; i < cellTypes; i++) {
+            Properties chainConfig = chainConfigs.get(i);
+            if (!isMacro(chainConfig)) {
+                double share = Double.parseDouble(chainConfig.getProperty("lambdaForPPP", "50")) / totalLambda;
+                groups[i] = (int) (share * cells / (3 * cellsPerBTS(chainConfig)));
+                left -= groups[i] * 3 * cellsPerBTS(chainConfig);
+            }
+        }
+        boolean placed = true;
+        while (placed) {
+            placed = false;
+            int smallest = -1;
+            for (int i = 0; i < cellTypes; i++) {
+                if (!isMacro(chainConfigs.get(i)) && (2 * left >= 3 * cellsPerBTS(chainConfigs.get(i)))
+                        && ((smallest < 0) || (cellsPerBTS(chainConfigs.get(i)) < cellsPerBTS(chainConfigs.get(smallest))))) {
+                    smallest = i;
+                }
+            }
+            if (smallest >= 0) {
+                groups[smallest]++;
+                left -= 3 * cellsPerBTS(chainConfigs.get(smallest));
+                placed = true;
+            }
+        }
+
+        for (int i = 0; i < cellTypes; i++) {
+            Properties chainConfig = chainConfigs.get(i);
+            String text = read(new File(templateDir_, chains.get(i)));
+            String pattern = path(new File(templateDir_, chainConfig.getProperty("radiationPatternFile")));
+            text = setProperty(text, "radiationPatternFile", pattern);
+
+            if (!isMacro(chainConfig)) {
+                //mean of the PPP in the middle of the number of groups
+                int cellsPerBTS = cellsPerBTS(chainConfig);
+                double lambda = (groups[i] > 0) ? (groups[i] * cellsPerBTS + cellsPerBTS / 2.0) / area : 0.0;
+                text = setProperty(text, "lambdaForPPP", Double.toString(lambda));
+                text = setProperty(text, "numCells", Integer.toString(groups[i] * 3 * cellsPerBTS));
+            }
+
+            write(new File(dir, chains.get(i)), text);
+            cellsText = setProperty(cellsText, "cell" + i, path(new File(dir, chains.get(i))));
+        }
+        write(new File(dir, cellConfigFile), cellsText);
+
+        //user types
+        String userConfigFile = main.getProperty("staticUserConfigFile");
+        String usersText = read(new File(templateDir_, userConfigFile));
+        Properties usersConfig = load(new File(templateDir_, userConfigFile));
+        int userTypes = Integer.parseInt(usersConfig.getProperty("numUserTypes"));
+        totalLambda = 0.0;
+        for (int i = 0; i < userTypes; i++) {
+            Properties userConfig = load(new File(templateDir_, usersConfig.getProperty("userType" + i)));
+            totalLambda += Double.parseDouble(userConfig.getProperty("lambdaForPPP", "50"));
+        }
+
+        for (int i = 0; i < userTypes; i++) {
+            String userType = usersConfig.getProperty("userType" + i);
+            Properties userConfig = load(new File(templateDir_, userType));
+            double share = Double.parseDouble(userConfig.getProperty("lambdaForPPP", "50")) / totalLambda;
+
+            String text = read(new File(templateDir_, userType));
+            text = setProperty(text, "lambdaForPPP", Double.toString(share * users / area));
+            text = setProperty(text, "numUsers", Long.toString(Math.round(share * users)));
+
+            write(new File(dir, userType), text);
+            usersText = setProperty(usersText, "userType" + i, path(new File(dir, userType)));
+        }
+        write(new File(dir, userConfigFile), usersText);
+
+        //the rest of the files are copied
+        String hetNetConfigFile = main.getProperty("hetNetConfigFile");
+        String operatorsFile = main.getProperty("operatorsFile");
+        write(new File(dir, hetNetConfigFile), read(new File(templateDir_, hetNetConfigFile)));
+        write(new File(dir, operatorsFile), read(new File(templateDir_, operatorsFile)));
+
+        String mainText = read(new File(templateDir_, "main.conf"));
+        mainText = setProperty(mainText, "gridPointsX", Integer.toString(gridPointsX_));
+        mainText = setProperty(mainText, "gridPointsY", Integer.toString(gridPointsY_));
+        mainText = setProperty(mainText, "cellConfigFile", path(new File(dir, cellConfigFile)));
+        mainText = setProperty(mainText, "operatorsFile", path(new File(dir, operatorsFile)));
+        mainText = setProperty(mainText, "hetNetConfigFile", path(new File(dir, hetNetConfigFile)));
+        mainText = setProperty(mainText, "userConfigFile", path(new File(dir, userConfigFile)));
+        mainText = setProperty(mainText, "staticUserConfigFile", path(new File(dir, userConfigFile)));
+
+        File mainConfig = new File(dir, "main.conf");
+        write(mainConfig, mainText);
+
+        return mainConfig.getPath();
+    }
+
+    private static boolean isMacro(Properties chainConfig) {
+        return chainConfig.getProperty("type").equals("macro");
+    }
+
+    private static int cellsPerBTS(Properties chainConfig) {
+        return Integer.parseInt(chainConfig.getProperty("numSectors", "3"))
+                * Integer.parseInt(chainConfig.getProperty("numRFChains", "1"));
+    }
+
+    /**
+     * Replaces the value of a property in the text of a configuration file,
+     * keeping the rest of the lines (and comments) unchanged. The property is
+     * appended if not found.
+     */
+    static String setProperty(String text, String key, String value) {
+        Matcher matcher = Pattern.compile("(?m)^(\\s*" + Pattern.quote(key) + "\\s*[=:]).*$").matcher(text);
+        if (matcher.find()) {
+            return matcher.replaceFirst(Matcher.quoteReplacement(matcher.group(1) + " " + value));
+        }
+        return text + (text.endsWith("\n") ? "" : "\n") + key + " = " + value + "\n";
+    }
+
+    /**
+     * Path of a file as written in the configuration files. The backslashes
+     * would be read as escapes by Properties.load.
+     */
+    private static String path(File file) {
+        return file.getPath().replace(File.separatorChar, '/');
+    }
+
+    private static Properties load(File file) {
+        Properties pro = new Properties();
+        try (FileInputStream input = new FileInputStream(file)) {
+            pro.load(input);
+        } catch (IOException e) {
+            System.out.println(e + "Error loading properties: " + file);
+            System.exit(-1);
+        }
+        return pro;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static void write(File file, String text) throws IOException {
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes an instance: InstanceGenerator outputDir users cells [gridPoints [templateDir]]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: InstanceGenerator outputDir users cells [gridPoints [templateDir]]");
+            System.exit(-1);
+        }
+
+        InstanceGenerator generator = new InstanceGenerator((args.length > 4) ? args[4] : ".");
+        if (args.length > 3) {
+            int gridPoints = Integer.parseInt(args[3]);
+            generator.setGrid(gridPoints, gridPoints);
+        }
+
+        String mainConfig = generator.write(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        System.out.println("Instance written to " + mainConfig);
+    }
+}
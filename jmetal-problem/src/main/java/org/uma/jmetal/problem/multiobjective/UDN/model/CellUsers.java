@@ -0,0 +1,114 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Users served by each cell after a UE to cell assignment, in CSR layout: the
+ * users of cell i are users_[firstUser_[i]] ... users_[firstUser_[i + 1] - 1],
+ * in ascending order. Together with the capacity of each user, the traffic
+ * demand and the satisfaction rate of all the cells are computed in a single
+ * pass, instead of scanning every user for each cell (see
+ * Cell.getTrafficDemand).
+ */
+public class CellUsers {
+
+    int[] firstUser_;
+    int[] users_;
+    double[] userCapacity_;
+
+    /**
+     * Constructor
+     *
+     * @param numberOfCells Number of cells of the UDN
+     */
+    public CellUsers(int numberOfCells) {
+        firstUser_ = new int[numberOfCells + 1];
+        users_ = new int[0];
+        userCapacity_ = new double[0];
+    }
+
+    /**
+     * Groups the users by serving cell
+     *
+     * @param servingCell Index of the serving cell of each user
+     */
+    public void assign(int[] servingCell) {
+        int numberOfUsers = servingCell.length;
+        if (users_.length != numberOfUsers) {
+            users_ = new int[numberOfUsers];
+            userCapacity_ = new double[numberOfUsers];
+        }
+
+        //count the users of each cell, shifted by one
+        Arrays.fill(firstUser_, 0);
+        for (int cell : servingCell) {
+            firstUser_[cell + 1]++;
+        }
+        for (int i = 1; i < firstUser_.length; i++) {
+            firstUser_[i] += firstUser_[i - 1];
+        }
+
+        //place the users, using firstUser_[cell] as the next free position
+        for (int u = 0; u < numberOfUsers; u++) {
+            users_[firstUser_[servingCell[u]]++] = u;
+        }
+        for (int i = firstUser_.length - 1; i > 0; i--) {
+            firstUser_[i] = firstUser_[i - 1];
+        }
+        firstUser_[0] = 0;
+    }
+
+    public int getNumberOfUsers(int cell) {
+        return firstUser_[cell + 1] - firstUser_[cell];
+    }
+
+    public int getUser(int cell, int k) {
+        return users_[firstUser_[cell] + k];
+    }
+
+    public void setUserCapacity(int u, double capacity) {
+        userCapacity_[u] = capacity;
+    }
+
+    public double getUserCapacity(int u) {
+        return userCapacity_[u];
+    }
+
+    /**
+     * Computes the traffic demand served by each cell, i.e., the demand of
+     * its users bounded by the capacity of their links, and the rate of its
+     * users whose demand is satisfied
+     *
+     * @param users            The users of the UDN
+     * @param trafficDemand    Traffic demand of each cell (output)
+     * @param satisfactionRate Satisfaction rate of each cell (output, may be null)
+     */
+    public void computeTrafficDemand(List<User> users, double[] trafficDemand, double[] satisfactionRate) {
+        for (int i = 0; i < firstUser_.length - 1; i++) {
+            double sum = 0;
+            int satisfied = 0;
+
+            for (int k = firstUser_[i]; k < firstUser_[i + 1]; k++) {
+                int u = users_[k];
+                double userCapacity = userCapacity_[u];
+                double userDemand = users.get(u).getTrafficDemand() / 1000;
+
+                //If the user demand is satisfied (capacity>demand), the user will "consume" its demand
+                //if not satisfied, the upper bound is the capcity of the link
+                sum += Math.min(userCapacity, userDemand);
+                if (Math.min(userCapacity, userDemand) != userCapacity) {
+                    satisfied++;
+                }
+            }
+
+            trafficDemand[i] = sum;
+            if (satisfactionRate != null) {
+                int count = getNumberOfUsers(i);
+                satisfactionRate[i] = (count != 0) ? (double) satisfied / count : 0;
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@
 package org.uma.jmetal.problem.multiobjective.UDN.model;
 
 import com.jmatio.io.MatFileReader;
-import com.jmatio.types.MLNumericArray;
 import com.jmatio.types.MLStructure;
 import org.uma.jmetal.problem.multiobjective.UDN.model.users.MobilityModel;
 import org.uma.jmetal.problem.multiobjective.UDN.model.users.RandomWaypoint;
@@ -28,8 +27,8 @@ import java.util.logging.Logger;
  */
 public class DynamicUDN extends UDN implements Serializable {
 
-    //Mobility info from matrix file
-    MLStructure VS_Node_;
+    //Mobility info from matrix file, indexed by instant (see MobilityTrace)
+    MobilityTrace trace_;
     //Use shanghai function to update positions of the users
     private boolean shanghaiMobility_ = false;
     private MobilityModel mobilityModel;
@@ -52,7 +51,8 @@ public class DynamicUDN extends UDN implements Serializable {
             }
             MLStructure UsersMatlab;
             UsersMatlab = (MLStructure) users_reader.getContent().get("UE");
-            VS_Node_ = (MLStructure) UsersMatlab.getField("VS_NODE");
+            trace_ = new MobilityTrace((MLStructure) UsersMatlab.getField("VS_NODE"),
+                    mobilityType_.equalsIgnoreCase("shanghai"));
         }
 
         //load Users info
@@ -167,15 +167,8 @@ public class DynamicUDN extends UDN implements Serializable {
 
                 int x, y, z;
                 if (!mobilityType_.equals("randomWaypoint")) {
-                    MLNumericArray V_Time = (MLNumericArray) VS_Node_.getField("V_TIME", u);
-                    MLNumericArray V_Position_X = (MLNumericArray) VS_Node_.getField("V_POSITION_X", u);
-                    MLNumericArray V_Position_Y = (MLNumericArray) VS_Node_.getField("V_POSITION_Y", u);
-                    MLNumericArray V_Position_Z = (MLNumericArray) VS_Node_.getField("V_POSITION_Z", u);
-
-                    float xf = V_Position_X.getReal(0).floatValue();
-                    x = Math.round(xf);
-                    float yf = V_Position_Y.getReal(0).floatValue();
-                    y = Math.round(yf);
+                    x = trace_.getInitialX(u);
+                    y = trace_.getInitialY(u);
 //                    float zf = V_Position_Z.getReal(0).floatValue();
 //                    z = Math.round(zf);
                 } else {
@@ -240,36 +233,19 @@ public class DynamicUDN extends UDN implements Serializable {
         boolean modified = false;
         int numUsers = this.users_.size();
 
-        //looking for changes in the positions
-        for (int k = 0; k < numUsers; k++) {
-
-            MLNumericArray V_Time = (MLNumericArray) VS_Node_.getField("V_TIME", k);
-            MLNumericArray V_Position_X = (MLNumericArray) VS_Node_.getField("V_POSITION_X", k);
-            MLNumericArray V_Position_Y = (MLNumericArray) VS_Node_.getField("V_POSITION_Y", k);
-            MLNumericArray V_Position_Z = (MLNumericArray) VS_Node_.getField("V_POSITION_Z", k);
-
-            //Check if the user is moving in this certain instant
-            for (int i = 0; i < V_Time.getM(); i++) {
-                int instant = V_Time.getReal(i).intValue();
-                if (instant == time) {
-                    float xf = V_Position_X.getReal(i).floatValue();
-                    int x = Math.round(xf);
-
-                    float yf = V_Position_Y.getReal(i).floatValue();
-                    int y = Math.round(yf);
-
-                    float zf = V_Position_Z.getReal(i).floatValue();
-                    int z = Math.round(zf);
-
+        //users moving in this certain instant
+        int instant = trace_.indexOfInstant(time);
+        if (instant >= 0) {
+            for (int m = trace_.firstMove_[instant]; m < trace_.firstMove_[instant + 1]; m++) {
+                int k = trace_.moveUser_[m];
+                if (k < numUsers) {
                     //modify the user's position
-                    this.users_.get(k).setX(x);
-                    this.users_.get(k).setY(y);
-                    this.users_.get(k).setZ(z);
+                    this.users_.get(k).setX(trace_.moveX_[m]);
+                    this.users_.get(k).setY(trace_.moveY_[m]);
+                    this.users_.get(k).setZ(trace_.moveZ_[m]);
 
 //                    System.out.println("The user " + k + " has changed his position");
-//                    System.out.println("time= " + time + ", Position= (" + x + "," + y + "," + z + ")");
                     modified = true;
-                    break;
                 }
             }
         }
@@ -297,6 +273,10 @@ public class DynamicUDN extends UDN implements Serializable {
         users_ = aux;*/
     }
 
+    public MobilityTrace getMobilityTrace() {
+        return trace_;
+    }
+
     public boolean updateUsersPositionShanghai(int time) {  //TODO Break at the end of the loop
         boolean modified = false;
         int numUsers = this.users_.size();
@@ -304,15 +284,11 @@ public class DynamicUDN extends UDN implements Serializable {
         int initTime = 150; //movement in shanghai does not start in 0
         //looking for changes in the positions
         for (int k = 0; k < numUsers; k++) {
-            //MLNumericArray V_Time = (MLNumericArray) VS_Node.getField("V_TIME", k);
-            MLNumericArray V_Position_X = (MLNumericArray) VS_Node_.getField("V_POSITION_X", k);
-            MLNumericArray V_Position_Y = (MLNumericArray) VS_Node_.getField("V_POSITION_Y", k);
-
             //Check if the user is moving in this certain instant
-            float xf = V_Position_X.getReal(time + initTime).floatValue();
+            float xf = trace_.getSampleX(k, time + initTime);
             int x = Math.round(xf);
 
-            float yf = V_Position_Y.getReal(time + initTime).floatValue();
+            float yf = trace_.getSampleY(k, time + initTime);
             int y = Math.round(yf);
             int z = 0;
 
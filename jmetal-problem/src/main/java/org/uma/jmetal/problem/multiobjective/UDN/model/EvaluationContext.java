@@ -0,0 +1,778 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Scratch state used to evaluate one solution against a shared UDN. The
+ * network (grid, BTSs, cells, users, antenna patterns) is only read, while the
+ * cell activation, the received power at the users, the UE to cell assignment
+ * and the users per cell are kept here. Each thread must own its own context,
+ * so several solutions can be evaluated at once on the same UDN.
+ * <p>
+ * A context can also start from the snapshot of a previous evaluation (see
+ * EvaluationState) and only apply the cells that flipped since then, which is
+ * much cheaper than a full evaluation when the solutions differ in a few bits.
+ * <p>
+ * The macrocells are not encoded in the binary solutions, so their activation
+ * is given apart (see MACRO_ACTIVATION) and is never written to the shared
+ * network.
+ */
+public class EvaluationContext {
+
+    //Incremental updates allowed before a full evaluation, to bound the
+    //rounding error accumulated in the received power sums
+    public static final int MAX_CONSECUTIVE_UPDATES = 20;
+
+    //Solution attribute with the active macrocells (a BitSet of cell
+    //indices), which is replaced, never modified, when they change
+    public static final String MACRO_ACTIVATION = "MacroActivation";
+
+    //Reference to the shared (read-only) network
+    UDN udn_;
+    NetworkView view_;
+
+    //Cells indexed by Cell.getIndex(), grouped by working frequency
+    Cell[] cells_;
+    boolean[] macro_;
+    int[] cellOfBit_;
+
+    //Per-solution state
+    boolean[] active_;
+    int[] assignedUsers_;
+    double[] trafficDemand_;
+    double[][] totalReceivedPower_;
+    int[][] bestCellOfFrequency_;
+    int[] servingCell_;
+    double[] userCapacity_;
+    boolean[] changedUser_;
+    Point[] points_;
+    boolean[] rescan_;
+    int updates_;
+
+    //Activation the received power at the users was computed for, if any
+    boolean[] signaledActivation_;
+    boolean signaled_;
+
+    //Links (user, serving cell) whose capacity is computed in a batch
+    int[] linkUser_;
+    int[] linkCell_;
+    double[] linkSINR_;
+    double[] linkBW_;
+    double[] linkCapacity_;
+
+    /**
+     * Constructor
+     *
+     * @param udn The shared network
+     */
+    public EvaluationContext(UDN udn) {
+        udn_ = udn;
+        view_ = udn.networkView_;
+        cells_ = udn.indexedCells_;
+        macro_ = view_.macro_;
+
+        int numberOfCells = cells_.length;
+        int bits = 0;
+        for (int i = 0; i < numberOfCells; i++) {
+            if (!macro_[i]) {
+                bits++;
+            }
+        }
+
+        //cell mapped to each bit of the binary solutions
+        cellOfBit_ = new int[bits];
+        int bts = 0;
+        for (int i = 0; i < numberOfCells; i++) {
+            if (!macro_[i]) {
+                cellOfBit_[bts++] = i;
+            }
+        }
+
+        active_ = new boolean[numberOfCells];
+        signaledActivation_ = new boolean[numberOfCells];
+        assignedUsers_ = new int[numberOfCells];
+        trafficDemand_ = new double[numberOfCells];
+        rescan_ = new boolean[udn.frequencies_.length];
+        allocateUsers();
+    }
+
+    /**
+     * (Re)allocates the per-user structures if the number of users changed
+     */
+    private void allocateUsers() {
+        int numberOfUsers = udn_.getUsers().size();
+        if ((servingCell_ == null) || (servingCell_.length != numberOfUsers)) {
+            servingCell_ = new int[numberOfUsers];
+            totalReceivedPower_ = new double[numberOfUsers][udn_.frequencies_.length];
+            bestCellOfFrequency_ = new int[numberOfUsers][udn_.frequencies_.length];
+            userCapacity_ = new double[numberOfUsers];
+            changedUser_ = new boolean[numberOfUsers];
+            points_ = new Point[numberOfUsers];
+            linkUser_ = new int[numberOfUsers];
+            linkCell_ = new int[numberOfUsers];
+            linkSINR_ = new double[numberOfUsers];
+            linkBW_ = new double[numberOfUsers];
+            linkCapacity_ = new double[numberOfUsers];
+        }
+    }
+
+    /**
+     * Looks up the grid points where the users are currently placed
+     */
+    private void locateUsers() {
+        List<User> users = udn_.getUsers();
+        for (int u = 0; u < points_.length; u++) {
+            User user = users.get(u);
+            points_[u] = udn_.getGridPoint(user.getX(), user.getY(), user.getZ());
+        }
+    }
+
+    public UDN getUDN() {
+        return udn_;
+    }
+
+    public int getNumberOfCells() {
+        return cells_.length;
+    }
+
+    public Cell getCell(int index) {
+        return cells_[index];
+    }
+
+    /**
+     * Activate/deactivates cells according to the information enclosed in the
+     * binary solution. Macrocells are not encoded in the solution, so they are
+     * set from the given macro activation.
+     *
+     * @param cso             The activation plan
+     * @param macroActivation Indices of the active macrocells
+     */
+    public void setCellActivation(BitSet cso, BitSet macroActivation) {
+        for (int i = 0; i < cells_.length; i++) {
+            active_[i] = macro_[i] && macroActivation.get(i);
+        }
+
+        for (int b = cso.nextSetBit(0); (b >= 0) && (b < cellOfBit_.length); b = cso.nextSetBit(b + 1)) {
+            active_[cellOfBit_[b]] = true;
+        }
+    }
+
+    public boolean isActive(int index) {
+        return active_[index];
+    }
+
+    public boolean isActive(Cell c) {
+        return active_[c.getIndex()];
+    }
+
+    /**
+     * Number of active cells in this context
+     *
+     * @return The number of active cells
+     */
+    public int getTotalNumberOfActiveCells() {
+        int count = 0;
+        for (boolean active : active_) {
+            if (active) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes the total received power, for each working frequency, at the
+     * grid points where the users are placed. The active cell received with
+     * the highest power at each frequency is also kept.
+     */
+    public void computeSignaling() {
+        allocateUsers();
+        locateUsers();
+        udn_.updateReceivedPowerMatrix();
+
+        computeReceivedPower();
+    }
+
+    /**
+     * Computes the signaling (see computeSignaling()) with the users placed
+     * at the given points instead of at their current positions, e.g., at a
+     * sample of their mobility. The points are not added to the received
+     * power matrix (see UDN.addToReceivedPowerMatrix).
+     *
+     * @param points The point of each user
+     */
+    public void computeSignaling(Point[] points) {
+        allocateUsers();
+        System.arraycopy(points, 0, points_, 0, points_.length);
+
+        computeReceivedPower();
+    }
+
+    /**
+     * Total received power and best cell of each working frequency at the
+     * points of the users
+     */
+    private void computeReceivedPower() {
+        for (int u = 0; u < servingCell_.length; u++) {
+            Point p = points_[u];
+
+            for (int f = 0; f < udn_.frequencies_.length; f++) {
+                double sum = 0.0;
+                double maxPower = Double.NEGATIVE_INFINITY;
+                int best = -1;
+                for (int i = udn_.firstCellOfFrequency_[f]; i < udn_.lastCellOfFrequency_[f]; i++) {
+                    if (active_[i]) {
+                        double power = p.getReceivedPower(cells_[i]);
+                        sum += power;
+                        if (power > maxPower) {
+                            maxPower = power;
+                            best = i;
+                        }
+                    }
+                }
+                totalReceivedPower_[u][f] = sum;
+                bestCellOfFrequency_[u][f] = best;
+            }
+        }
+
+        Arrays.fill(changedUser_, true);
+        updates_ = 0;
+        System.arraycopy(active_, 0, signaledActivation_, 0, active_.length);
+        signaled_ = true;
+    }
+
+    /**
+     * Brings the context to the evaluation of an activation plan starting
+     * from the snapshot of a previous one. Only the cells that flipped are
+     * added to/subtracted from the received power at the users, and only the
+     * users whose serving cell, interference or shared bandwidth changed are
+     * marked to recompute their capacity. Afterwards, the context is in the
+     * same state as after computeSignaling() and assignUsers().
+     * <p>
+     * The snapshot is not used (and false is returned) if the users moved
+     * since it was taken, if more than maxFlippedCells cells flipped or if it
+     * comes from too many consecutive updates. The macrocells switched on/off
+     * since the snapshot count as flipped cells.
+     *
+     * @param state           Snapshot of a previous evaluation
+     * @param cso             The activation plan
+     * @param macroActivation Indices of the active macrocells
+     * @param maxFlippedCells Maximum number of flipped cells to use the snapshot
+     * @return true if the context was updated, false if a full evaluation is needed
+     */
+    public boolean update(EvaluationState state, BitSet cso, BitSet macroActivation, int maxFlippedCells) {
+        allocateUsers();
+        locateUsers();
+
+        if ((state == null) || (state.updates_ >= MAX_CONSECUTIVE_UPDATES) || !state.isValidFor(udn_, points_)) {
+            return false;
+        }
+
+        //cells flipped since the snapshot, including the macrocells, which are
+        //not part of the activation plan
+        setCellActivation(cso, macroActivation);
+        int[] flippedCells = new int[active_.length];
+        int k = 0;
+        for (int i = 0; i < active_.length; i++) {
+            if (active_[i] != state.activeCells_[i]) {
+                flippedCells[k++] = i;
+            }
+        }
+        if (k > maxFlippedCells) {
+            return false;
+        }
+
+        udn_.updateReceivedPowerMatrix();
+        System.arraycopy(active_, 0, signaledActivation_, 0, active_.length);
+        signaled_ = true;
+
+        //restore the snapshot
+        for (int u = 0; u < servingCell_.length; u++) {
+            System.arraycopy(state.totalReceivedPower_[u], 0, totalReceivedPower_[u], 0, rescan_.length);
+            System.arraycopy(state.bestCellOfFrequency_[u], 0, bestCellOfFrequency_[u], 0, rescan_.length);
+        }
+        System.arraycopy(state.servingCell_, 0, servingCell_, 0, servingCell_.length);
+        System.arraycopy(state.userCapacity_, 0, userCapacity_, 0, userCapacity_.length);
+        System.arraycopy(state.assignedUsers_, 0, assignedUsers_, 0, assignedUsers_.length);
+        Arrays.fill(changedUser_, false);
+        updates_ = state.updates_ + 1;
+
+        if (k == 0) {
+            return true;
+        }
+
+        boolean[] changedFrequency = new boolean[rescan_.length];
+        for (int j = 0; j < k; j++) {
+            changedFrequency[udn_.cellFrequency_[flippedCells[j]]] = true;
+        }
+
+        for (int u = 0; u < servingCell_.length; u++) {
+            applyFlippedCells(u, flippedCells, k);
+
+            int servingCell = getCellWithHigherSINRAmong(u, bestCellOfFrequency_[u]);
+            if (servingCell != servingCell_[u]) {
+                assignedUsers_[servingCell_[u]]--;
+                assignedUsers_[servingCell]++;
+                servingCell_[u] = servingCell;
+                changedUser_[u] = true;
+            } else if (changedFrequency[udn_.cellFrequency_[servingCell]]) {
+                changedUser_[u] = true;
+            }
+        }
+
+        //the bandwidth of the users changes with the load of their cell
+        for (int u = 0; u < servingCell_.length; u++) {
+            int cell = servingCell_[u];
+            if (assignedUsers_[cell] != state.assignedUsers_[cell]) {
+                changedUser_[u] = true;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds to/subtracts from the received power at a user the cells that
+     * flipped, and updates the best cell of their working frequencies
+     *
+     * @param u            Index of the user
+     * @param flippedCells Indices of the flipped cells, in [0, k)
+     * @param k            Number of flipped cells
+     */
+    private void applyFlippedCells(int u, int[] flippedCells, int k) {
+        Point p = points_[u];
+        double[] totalPower = totalReceivedPower_[u];
+        int[] best = bestCellOfFrequency_[u];
+        Arrays.fill(rescan_, false);
+
+        for (int j = 0; j < k; j++) {
+            int i = flippedCells[j];
+            int f = udn_.cellFrequency_[i];
+            double power = p.getReceivedPower(cells_[i]);
+
+            if (active_[i]) {
+                totalPower[f] += power;
+                if (!rescan_[f] && ((best[f] < 0) || isReceivedWithHigherPower(p, i, best[f]))) {
+                    best[f] = i;
+                }
+            } else {
+                totalPower[f] -= power;
+                if (best[f] == i) {
+                    rescan_[f] = true;
+                }
+            }
+        }
+
+        //the best cell was switched off: look for the new one
+        for (int f = 0; f < rescan_.length; f++) {
+            if (rescan_[f]) {
+                best[f] = getCellWithHigherPower(p, f);
+                if (best[f] < 0) {
+                    totalPower[f] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts editing the activation plan of a solution in this context, e.g.,
+     * by the repair operators of the CSO problems. The cells are then switched
+     * on/off with setActivation and the users moved with setServingCell, and
+     * refreshAssignment brings the received power and the assignment up to
+     * date with the edits. The received power is not computed until the
+     * assignment is first needed.
+     *
+     * @param cso             The activation plan
+     * @param macroActivation Indices of the active macrocells
+     */
+    public void startEditing(BitSet cso, BitSet macroActivation) {
+        setCellActivation(cso, macroActivation);
+        signaled_ = false;
+    }
+
+    /**
+     * Switches a cell on/off. The received power at the users is not updated
+     * until the next call to refreshAssignment.
+     *
+     * @param cell   Index of the cell
+     * @param active true to switch it on
+     */
+    public void setActivation(int cell, boolean active) {
+        active_[cell] = active;
+    }
+
+    /**
+     * Assigns a user to a cell, regardless of its SINR
+     *
+     * @param u    Index of the user
+     * @param cell Index of the new serving cell
+     */
+    public void setServingCell(int u, int cell) {
+        assignedUsers_[cell]++;
+        assignedUsers_[servingCell_[u]]--;
+        servingCell_[u] = cell;
+        changedUser_[u] = true;
+    }
+
+    /**
+     * Computes the received power at the users for the current activation
+     * and assigns every user to the cell with the best SINR (see
+     * computeSignaling and assignUsers). If it was already computed since
+     * startEditing, only the cells switched on/off since then are applied,
+     * as in update.
+     */
+    public void refreshAssignment() {
+        if (!signaled_ || (updates_ >= MAX_CONSECUTIVE_UPDATES)) {
+            computeSignaling();
+            assignUsers();
+            return;
+        }
+
+        int[] flippedCells = new int[active_.length];
+        int k = 0;
+        for (int i = 0; i < active_.length; i++) {
+            if (active_[i] != signaledActivation_[i]) {
+                flippedCells[k++] = i;
+            }
+        }
+
+        if (k > 0) {
+            for (int u = 0; u < servingCell_.length; u++) {
+                applyFlippedCells(u, flippedCells, k);
+            }
+            System.arraycopy(active_, 0, signaledActivation_, 0, active_.length);
+            updates_++;
+        }
+
+        Arrays.fill(assignedUsers_, 0);
+        for (int u = 0; u < servingCell_.length; u++) {
+            int c = getCellWithHigherSINRAmong(u, bestCellOfFrequency_[u]);
+            servingCell_[u] = c;
+            assignedUsers_[c]++;
+        }
+
+        Arrays.fill(changedUser_, true);
+    }
+
+    /**
+     * Copies the activation of the cells encoded in the binary solutions to
+     * an activation plan (see CSO.modifySolution)
+     *
+     * @param cso The activation plan to modify
+     */
+    public void getCellActivation(BitSet cso) {
+        for (int b = 0; b < cellOfBit_.length; b++) {
+            cso.set(b, active_[cellOfBit_[b]]);
+        }
+    }
+
+    /**
+     * Active macrocells, e.g., after editing, to be kept in the
+     * MACRO_ACTIVATION attribute of the solution
+     *
+     * @return A new BitSet with the indices of the active macrocells
+     */
+    public BitSet getMacroActivation() {
+        BitSet macroActivation = new BitSet(cells_.length);
+        for (int i = 0; i < cells_.length; i++) {
+            if (macro_[i] && active_[i]) {
+                macroActivation.set(i);
+            }
+        }
+        return macroActivation;
+    }
+
+    /**
+     * Takes a snapshot of the last evaluation, which must include the
+     * capacity (see computeCapacity)
+     *
+     * @param cso The activation plan evaluated
+     * @return The snapshot
+     */
+    public EvaluationState getState(BitSet cso) {
+        EvaluationState state = new EvaluationState(udn_, updates_);
+
+        state.points_ = points_.clone();
+        state.activation_ = (BitSet) cso.clone();
+        state.activeCells_ = signaledActivation_.clone();
+        state.totalReceivedPower_ = new double[servingCell_.length][];
+        state.bestCellOfFrequency_ = new int[servingCell_.length][];
+        for (int u = 0; u < servingCell_.length; u++) {
+            state.totalReceivedPower_[u] = totalReceivedPower_[u].clone();
+            state.bestCellOfFrequency_[u] = bestCellOfFrequency_[u].clone();
+        }
+        state.servingCell_ = servingCell_.clone();
+        state.assignedUsers_ = assignedUsers_.clone();
+        state.userCapacity_ = userCapacity_.clone();
+
+        return state;
+    }
+
+    /**
+     * Compares the power received at a point from two cells, breaking ties
+     * with the index of the cell
+     */
+    private boolean isReceivedWithHigherPower(Point p, int cell, int other) {
+        double power = p.getReceivedPower(cells_[cell]);
+        double otherPower = p.getReceivedPower(cells_[other]);
+
+        return (power > otherPower) || ((power == otherPower) && (cell < other));
+    }
+
+    /**
+     * Active cell of a working frequency received with the highest power at
+     * a point. The cells of interest of the point are scanned first, if
+     * enabled in the UDN.
+     *
+     * @return The index of the cell, -1 if there are no active cells
+     */
+    private int getCellWithHigherPower(Point p, int f) {
+        double maxPower = Double.NEGATIVE_INFINITY;
+        int best = -1;
+
+        if (udn_.useCellsOfInterest_) {
+            for (int i : p.getCellsOfInterest()[f]) {
+                if (active_[i]) {
+                    double power = p.getReceivedPower(cells_[i]);
+                    if (power > maxPower) {
+                        maxPower = power;
+                        best = i;
+                    }
+                }
+            }
+        }
+
+        if (best < 0) {
+            for (int i = udn_.firstCellOfFrequency_[f]; i < udn_.lastCellOfFrequency_[f]; i++) {
+                if (active_[i]) {
+                    double power = p.getReceivedPower(cells_[i]);
+                    if (power > maxPower) {
+                        maxPower = power;
+                        best = i;
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * At a given working frequency, the SINR grows with the received power,
+     * so the best cell of each frequency is the one received with the highest
+     * power. They are compared with each other as in getCellWithHigherSINR.
+     *
+     * @param u    Index of the user
+     * @param best Best cell of each frequency
+     * @return Index of the cell with higher SINR
+     */
+    private int getCellWithHigherSINRAmong(int u, int[] best) {
+        int servingCell = -1;
+        double maxValue = Double.NEGATIVE_INFINITY;
+
+        for (int f : udn_.ascendingFrequencies_) {
+            if (best[f] >= 0) {
+                double sinr = computeSINR(u, best[f]);
+                if (sinr > maxValue) {
+                    maxValue = sinr;
+                    servingCell = best[f];
+                }
+            }
+        }
+
+        return servingCell;
+    }
+
+    /**
+     * Computes the SINR received by a user from a given cell, using the
+     * received power stored in this context
+     *
+     * @param u    Index of the user
+     * @param cell Index of the cell
+     * @return SINR received by the user from the cell
+     */
+    public double computeSINR(int u, int cell) {
+        //get the averaged power received at the cell working frequency
+        double totalPower = totalReceivedPower_[u][udn_.cellFrequency_[cell]];
+
+        //compute the power received at this point from the cell (mW)
+        double power = points_[u].getReceivedPower(cells_[cell]);
+
+        return view_.sinr(cell, power, totalPower);
+    }
+
+    /**
+     * Returns the active cell that serves a user with the best SINR,
+     * regardless of its operating frequency. Only the cells of interest of
+     * the user point are scanned, if enabled in the UDN, unless none of them
+     * is active (see Point.getCellWithHigherSINR).
+     *
+     * @param u Index of the user
+     * @return Index of the cell with higher SINR, -1 if there are no active cells
+     */
+    public int getCellWithHigherSINR(int u) {
+        int servingCell = -1;
+        double maxValue = Double.NEGATIVE_INFINITY;
+        int[][] cellsOfInterest = udn_.useCellsOfInterest_ ? points_[u].getCellsOfInterest() : null;
+
+        for (int f : udn_.ascendingFrequencies_) {
+            int best = -1;
+            double maxSINR = Double.NEGATIVE_INFINITY;
+
+            if (cellsOfInterest != null) {
+                for (int i : cellsOfInterest[f]) {
+                    if (active_[i]) {
+                        double sinr = computeSINR(u, i);
+                        if (sinr > maxSINR) {
+                            maxSINR = sinr;
+                            best = i;
+                        }
+                    }
+                }
+            }
+
+            if (best < 0) {
+                for (int i = udn_.firstCellOfFrequency_[f]; i < udn_.lastCellOfFrequency_[f]; i++) {
+                    if (active_[i]) {
+                        double sinr = computeSINR(u, i);
+                        if (sinr > maxSINR) {
+                            maxSINR = sinr;
+                            best = i;
+                        }
+                    }
+                }
+            }
+
+            if ((best != -1) && (maxSINR > maxValue)) {
+                maxValue = maxSINR;
+                servingCell = best;
+            }
+        }
+
+        return servingCell;
+    }
+
+    /**
+     * Assigns every user to the cell with the best SINR and updates the number
+     * of users served by each cell
+     */
+    public void assignUsers() {
+        Arrays.fill(assignedUsers_, 0);
+
+        for (int u = 0; u < servingCell_.length; u++) {
+            int c = getCellWithHigherSINR(u);
+            servingCell_[u] = c;
+            assignedUsers_[c]++;
+        }
+
+        Arrays.fill(changedUser_, true);
+    }
+
+    public int getNumberOfUsers() {
+        return servingCell_.length;
+    }
+
+    public int getServingCell(int u) {
+        return servingCell_[u];
+    }
+
+    public int getAssignedUsers(int cell) {
+        return assignedUsers_[cell];
+    }
+
+    /**
+     * Current UE to cell assignment, as expected by the binary solutions. The
+     * array is owned by the context and overwritten by the next evaluation.
+     *
+     * @return The index of the serving cell of each user
+     */
+    public int[] getUesToCellAssignment() {
+        return servingCell_;
+    }
+
+    /**
+     * Bandwidth shared by the users assigned to a cell
+     *
+     * @param cell Index of the cell
+     * @return The bandwidth allocated to each user of the cell
+     */
+    public double getSharedBWForAssignedUsers(int cell) {
+        return view_.totalBW_[cell] / assignedUsers_[cell];
+    }
+
+    /**
+     * Capacity received by a user from its serving cell, considering a MIMO
+     * system (see User.capacityMIMO)
+     *
+     * @param u  Index of the user
+     * @param bw Bandwidth allocated to the user
+     * @return The capacity of the link
+     */
+    public double capacityMIMO(int u, double bw) {
+        int cell = servingCell_[u];
+
+        return view_.capacityMIMO(cell, computeSINR(u, cell), bw);
+    }
+
+    /**
+     * Computes the capacity of every user and the traffic demand served by
+     * each cell (see Cell.getTrafficDemand). After an incremental update,
+     * only the capacity of the users affected by the flipped cells is
+     * recomputed.
+     *
+     * @return The capacity of the network (Gbps)
+     */
+    public double computeCapacity() {
+        double capacity = 0.0;
+        List<User> users = udn_.getUsers();
+
+        Arrays.fill(trafficDemand_, 0.0);
+
+        //1.- SINR and bandwidth of the links to (re)compute
+        int n = 0;
+        for (int u = 0; u < servingCell_.length; u++) {
+            if (changedUser_[u]) {
+                int cell = servingCell_[u];
+                linkUser_[n] = u;
+                linkCell_[n] = cell;
+                linkSINR_[n] = computeSINR(u, cell);
+                linkBW_[n] = getSharedBWForAssignedUsers(cell);
+                n++;
+                changedUser_[u] = false;
+            }
+        }
+
+        //2.- MIMO capacity of all the links in a single pass
+        view_.capacityMIMO(n, linkCell_, linkSINR_, linkBW_, linkCapacity_);
+        for (int j = 0; j < n; j++) {
+            userCapacity_[linkUser_[j]] = linkCapacity_[j];
+        }
+
+        //3.- traffic demand served by the cells, in the order of the users
+        for (int u = 0; u < servingCell_.length; u++) {
+            int cell = servingCell_[u];
+            double userDemand = users.get(u).getTrafficDemand() / 1000;
+
+            trafficDemand_[cell] += Math.min(userCapacity_[u], userDemand);
+            capacity += userCapacity_[u] / 1000.0;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Traffic demand served by a cell, available after computeCapacity()
+     *
+     * @param cell Index of the cell
+     * @return Traffic demand
+     */
+    public double getTrafficDemand(int cell) {
+        return trafficDemand_[cell];
+    }
+}
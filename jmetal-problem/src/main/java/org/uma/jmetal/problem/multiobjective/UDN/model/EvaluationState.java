@@ -0,0 +1,66 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import java.util.BitSet;
+
+/**
+ * Snapshot of an evaluation context after evaluating a solution: the
+ * activation plan and the activation of the macrocells, the received power at the users, the best cell of each
+ * working frequency and the UE to cell assignment. It is stored as an
+ * attribute of the solution, so the offspring copied from it can be evaluated
+ * incrementally (see EvaluationContext.update). A snapshot is never modified
+ * once created.
+ */
+public class EvaluationState {
+
+    //Key of the snapshot in the attributes of the solutions
+    public static final String ATTRIBUTE = "EvaluationState";
+
+    //Network and user points the snapshot was computed on
+    UDN udn_;
+    Point[] points_;
+
+    BitSet activation_;
+    //Activation of every cell (macrocells included) the received power was computed for
+    boolean[] activeCells_;
+    double[][] totalReceivedPower_;
+    int[][] bestCellOfFrequency_;
+    int[] servingCell_;
+    int[] assignedUsers_;
+    double[] userCapacity_;
+
+    //Number of incremental updates since the last full evaluation
+    int updates_;
+
+    EvaluationState(UDN udn, int updates) {
+        udn_ = udn;
+        updates_ = updates;
+    }
+
+    /**
+     * Checks whether the snapshot can be reused on the current state of the
+     * network, i.e., the users have not moved since it was taken
+     *
+     * @param udn    The network
+     * @param points The points where the users are placed
+     * @return true if the snapshot is valid
+     */
+    boolean isValidFor(UDN udn, Point[] points) {
+        if ((udn_ != udn) || (points_.length != points.length)) {
+            return false;
+        }
+        for (int u = 0; u < points.length; u++) {
+            if (points_[u] != points[u]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public BitSet getActivation() {
+        return (BitSet) activation_.clone();
+    }
+
+    public int getUpdates() {
+        return updates_;
+    }
+}
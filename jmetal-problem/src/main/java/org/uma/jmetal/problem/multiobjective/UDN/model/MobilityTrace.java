@@ -0,0 +1,159 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import com.jmatio.types.MLNumericArray;
+import com.jmatio.types.MLStructure;
+
+import java.util.*;
+
+/**
+ * Mobility trace of the users (the VS_NODE field of the UE struct of the
+ * mobility file), converted once into primitive arrays. The movements are
+ * indexed by instant, so updating the positions at a given instant only
+ * visits the users moving at it, instead of scanning the V_TIME array of
+ * every user.
+ */
+public class MobilityTrace {
+
+    //Number of users in the trace
+    int numberOfUsers_;
+
+    //Initial position of the users
+    int[] initialX_;
+    int[] initialY_;
+
+    //Instants with movements (ascending), and their movements in [firstMove_[i], firstMove_[i + 1])
+    int[] instants_;
+    int[] firstMove_;
+    int[] moveUser_;
+    int[] moveX_;
+    int[] moveY_;
+    int[] moveZ_;
+
+    //Positions of the users at each sample of the trace (only for sampled traces)
+    float[][] sampleX_;
+    float[][] sampleY_;
+
+    /**
+     * Converts the trace of the users
+     *
+     * @param nodes   The VS_NODE struct, with a position per user
+     * @param sampled true if the positions are read by sample (shanghai
+     *                traces), or false if they are read by instant (V_TIME)
+     */
+    MobilityTrace(MLStructure nodes, boolean sampled) {
+        numberOfUsers_ = nodes.getSize();
+        initialX_ = new int[numberOfUsers_];
+        initialY_ = new int[numberOfUsers_];
+
+        if (sampled) {
+            sampleX_ = new float[numberOfUsers_][];
+            sampleY_ = new float[numberOfUsers_][];
+        }
+
+        //movements of the users, by instant
+        Map<Integer, List<int[]>> moves = new TreeMap<>();
+        int numberOfMoves = 0;
+
+        for (int u = 0; u < numberOfUsers_; u++) {
+            MLNumericArray positionX = (MLNumericArray) nodes.getField("V_POSITION_X", u);
+            MLNumericArray positionY = (MLNumericArray) nodes.getField("V_POSITION_Y", u);
+
+            initialX_[u] = Math.round(positionX.getReal(0).floatValue());
+            initialY_[u] = Math.round(positionY.getReal(0).floatValue());
+
+            if (sampled) {
+                sampleX_[u] = toFloatArray(positionX);
+                sampleY_[u] = toFloatArray(positionY);
+            } else {
+                MLNumericArray time = (MLNumericArray) nodes.getField("V_TIME", u);
+                MLNumericArray positionZ = (MLNumericArray) nodes.getField("V_POSITION_Z", u);
+
+                //only the first position of the user at each instant is used
+                Set<Integer> instants = new HashSet<>();
+                for (int i = 0; i < time.getM(); i++) {
+                    int instant = time.getReal(i).intValue();
+                    if (instants.add(instant)) {
+                        int x = Math.round(positionX.getReal(i).floatValue());
+                        int y = Math.round(positionY.getReal(i).floatValue());
+                        int z = Math.round(positionZ.getReal(i).floatValue());
+                        moves.computeIfAbsent(instant, k -> new ArrayList<>()).add(new int[]{u, x, y, z});
+                        numberOfMoves++;
+                    }
+                }
+            }
+        }
+
+        instants_ = new int[moves.size()];
+        firstMove_ = new int[moves.size() + 1];
+        moveUser_ = new int[numberOfMoves];
+        moveX_ = new int[numberOfMoves];
+        moveY_ = new int[numberOfMoves];
+        moveZ_ = new int[numberOfMoves];
+
+        int i = 0;
+        int m = 0;
+        for (Map.Entry<Integer, List<int[]>> entry : moves.entrySet()) {
+            instants_[i] = entry.getKey();
+            firstMove_[i] = m;
+            for (int[] move : entry.getValue()) {
+                moveUser_[m] = move[0];
+                moveX_[m] = move[1];
+                moveY_[m] = move[2];
+                moveZ_[m] = move[3];
+                m++;
+            }
+            i++;
+        }
+        firstMove_[i] = m;
+    }
+
+    private static float[] toFloatArray(MLNumericArray array) {
+        float[] values = new float[array.getSize()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.getReal(i).floatValue();
+        }
+        return values;
+    }
+
+    public int getNumberOfUsers() {
+        return numberOfUsers_;
+    }
+
+    public int getInitialX(int user) {
+        return initialX_[user];
+    }
+
+    public int getInitialY(int user) {
+        return initialY_[user];
+    }
+
+    /**
+     * Position of the movements at an instant
+     *
+     * @param time The instant
+     * @return The index of the instant, or a negative value if no user moves
+     * at it
+     */
+    int indexOfInstant(int time) {
+        return Arrays.binarySearch(instants_, time);
+    }
+
+    /**
+     * Number of users moving at an instant
+     *
+     * @param time The instant
+     * @return The number of users
+     */
+    public int getNumberOfMoves(int time) {
+        int i = indexOfInstant(time);
+        return (i < 0) ? 0 : firstMove_[i + 1] - firstMove_[i];
+    }
+
+    public float getSampleX(int user, int sample) {
+        return sampleX_[user][sample];
+    }
+
+    public float getSampleY(int user, int sample) {
+        return sampleY_[user][sample];
+    }
+}
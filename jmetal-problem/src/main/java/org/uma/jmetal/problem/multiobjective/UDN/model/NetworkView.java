@@ -0,0 +1,421 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.BTS;
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Sector;
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the deployment of a UDN, compiled into primitive arrays
+ * indexed by Cell.getIndex(). It holds the properties of the cells, their
+ * sectors and BTSs that do not change during the optimization, so the power
+ * and capacity functions run over contiguous arrays instead of traversing
+ * the maps of the UDN.
+ */
+public class NetworkView {
+
+    //Maintenance power of a BTS with active cells (mW)
+    static final double MAINTENANCE_POWER = 2000;
+
+    static final double LN2 = Math.log(2.0);
+
+    Cell[] cells_;
+
+    //Per cell properties
+    int[] id_;
+    int[] frequency_;
+    int[] type_;
+    boolean[] macro_;
+    int[] bts_;
+    double[] transmittedPower_;
+    double[] alfa_;
+    double[] beta_;
+    double[] delta_;
+    double[] totalBW_;
+    double[] noise_;
+    int[] numAntTx_;
+
+    //Singular values of the H matrix of cell i, in [firstSingularValue_[i], firstSingularValue_[i + 1])
+    double[] singularValues_;
+    int[] firstSingularValue_;
+
+    //Power consumption terms: transmittedPower * alfa + beta when active, and sleep mode power
+    double[] activePower_;
+    double[] sleepPower_;
+
+    //Location (tower) and working frequency of the BTS of each cell, for the handovers
+    int[] tower_;
+    double[] btsFrequency_;
+
+    //Cells in the order of the BTSs, and their positions in btsCells_ for each BTS
+    int numberOfBTSs_;
+    int[] btsCells_;
+    int[] firstCellOfBTS_;
+
+    /**
+     * Compiles the view of the cells indexed in a UDN
+     *
+     * @param udn The UDN
+     */
+    NetworkView(UDN udn) {
+        cells_ = udn.indexedCells_;
+        int numberOfCells = cells_.length;
+
+        id_ = new int[numberOfCells];
+        frequency_ = udn.cellFrequency_;
+        type_ = new int[numberOfCells];
+        macro_ = new boolean[numberOfCells];
+        bts_ = new int[numberOfCells];
+        transmittedPower_ = new double[numberOfCells];
+        alfa_ = new double[numberOfCells];
+        beta_ = new double[numberOfCells];
+        delta_ = new double[numberOfCells];
+        totalBW_ = new double[numberOfCells];
+        noise_ = new double[numberOfCells];
+        numAntTx_ = new int[numberOfCells];
+        activePower_ = new double[numberOfCells];
+        sleepPower_ = new double[numberOfCells];
+        firstSingularValue_ = new int[numberOfCells + 1];
+
+        int numberOfSingularValues = 0;
+        for (int i = 0; i < numberOfCells; i++) {
+            Cell c = cells_[i];
+            Sector sector = c.getSector();
+
+            id_[i] = c.getID();
+            type_[i] = c.getType().ordinal();
+            macro_[i] = c.getType() == UDN.CellType.MACRO;
+            transmittedPower_[i] = sector.getTransmittedPower();
+            alfa_[i] = sector.getAlfa();
+            beta_[i] = sector.getBeta();
+            delta_[i] = sector.getDelta();
+            totalBW_[i] = c.getTotalBW();
+            //noise, which only depends on the bandwidth (dB -> mW)
+            double pn = -174 + 10.0 * Math.log10(totalBW_[i] * 1000000);
+            noise_[i] = Math.pow(10.0, pn / 10);
+            numAntTx_[i] = c.getNumAntTx();
+            activePower_[i] = transmittedPower_[i] * alfa_[i] + beta_[i];
+            //residual consuption in sleep mode (mW)
+            sleepPower_[i] = transmittedPower_[i] * 0.01;
+
+            firstSingularValue_[i] = numberOfSingularValues;
+            numberOfSingularValues += c.getSingularValuesH().length;
+        }
+        firstSingularValue_[numberOfCells] = numberOfSingularValues;
+
+        singularValues_ = new double[numberOfSingularValues];
+        for (int i = 0; i < numberOfCells; i++) {
+            double[] values = cells_[i].getSingularValuesH();
+            System.arraycopy(values, 0, singularValues_, firstSingularValue_[i], values.length);
+        }
+
+        //cells grouped by BTS, following the order of btss_
+        numberOfBTSs_ = 0;
+        for (List<BTS> btss : udn.btss_.values()) {
+            numberOfBTSs_ += btss.size();
+        }
+
+        btsCells_ = new int[numberOfCells];
+        firstCellOfBTS_ = new int[numberOfBTSs_ + 1];
+        int b = 0;
+        int position = 0;
+        for (List<BTS> btss : udn.btss_.values()) {
+            for (BTS bts : btss) {
+                firstCellOfBTS_[b] = position;
+                for (Sector sector : bts.getSectors()) {
+                    for (Cell c : sector.getCells()) {
+                        bts_[c.getIndex()] = b;
+                        btsCells_[position++] = c.getIndex();
+                    }
+                }
+                b++;
+            }
+        }
+        firstCellOfBTS_[numberOfBTSs_] = position;
+
+        //BTSs at the same (x, y) location are in the same tower
+        Map<List<Integer>, Integer> towers = new HashMap<>();
+        tower_ = new int[numberOfCells];
+        btsFrequency_ = new double[numberOfCells];
+        for (int i = 0; i < numberOfCells; i++) {
+            BTS bts = cells_[i].getBTS();
+            tower_[i] = towers.computeIfAbsent(Arrays.asList(bts.getX(), bts.getY()), k -> towers.size());
+            btsFrequency_[i] = bts.getWorkingFrequency();
+        }
+    }
+
+    public int getNumberOfCells() {
+        return cells_.length;
+    }
+
+    public int getNumberOfBTSs() {
+        return numberOfBTSs_;
+    }
+
+    /**
+     * BTS of a cell, numbered in the order of UDN.btss_. The cells of BTS b,
+     * in the order of its sectors, are getCellOfBTS(k) for k in
+     * [getFirstCellOfBTS(b), getFirstCellOfBTS(b + 1)).
+     *
+     * @param cell Index of the cell
+     * @return The number of the BTS
+     */
+    public int getBTS(int cell) {
+        return bts_[cell];
+    }
+
+    public int getFirstCellOfBTS(int bts) {
+        return firstCellOfBTS_[bts];
+    }
+
+    public int getCellOfBTS(int position) {
+        return btsCells_[position];
+    }
+
+    public boolean isMacro(int cell) {
+        return macro_[cell];
+    }
+
+    public double getTotalBW(int cell) {
+        return totalBW_[cell];
+    }
+
+    /**
+     * Noise power at the bandwidth of a cell
+     *
+     * @param cell The index of the cell
+     * @return The noise power (mW)
+     */
+    public double getNoise(int cell) {
+        return noise_[cell];
+    }
+
+    /**
+     * SINR of a link from the power received from the cell and the total
+     * power received at its working frequency
+     *
+     * @param cell       The index of the cell
+     * @param power      Power received from the cell (mW)
+     * @param totalPower Total power received at the frequency of the cell (mW)
+     * @return The SINR
+     */
+    public double sinr(int cell, double power, double totalPower) {
+        return power / (totalPower - power + noise_[cell]);
+    }
+
+    /**
+     * Capacity of a MIMO link of a cell (see User.capacityMIMO)
+     *
+     * @param cell The index of the cell
+     * @param sinr SINR of the link
+     * @param bw   Bandwidth allocated to the link
+     * @return The capacity of the link
+     */
+    public double capacityMIMO(int cell, double sinr, double bw) {
+        int nt = numAntTx_[cell];
+        double capacity = 0;
+
+        for (int k = firstSingularValue_[cell]; k < firstSingularValue_[cell + 1]; k++) {
+            capacity += Math.log1p((sinr * singularValues_[k]) / nt) / LN2;
+        }
+
+        return bw * capacity;
+    }
+
+    /**
+     * Capacity of a batch of MIMO links (see capacityMIMO(int, double,
+     * double)), computed in a single pass over primitive arrays
+     *
+     * @param n        Number of links
+     * @param cells    Index of the cell of each link
+     * @param sinr     SINR of each link
+     * @param bw       Bandwidth allocated to each link
+     * @param capacity Capacity of each link (output)
+     */
+    public void capacityMIMO(int n, int[] cells, double[] sinr, double[] bw, double[] capacity) {
+        for (int j = 0; j < n; j++) {
+            int cell = cells[j];
+            int nt = numAntTx_[cell];
+            double s = sinr[j];
+            double sum = 0;
+
+            for (int k = firstSingularValue_[cell]; k < firstSingularValue_[cell + 1]; k++) {
+                sum += Math.log1p((s * singularValues_[k]) / nt) / LN2;
+            }
+
+            capacity[j] = bw[j] * sum;
+        }
+    }
+
+    /**
+     * Power consumption of the cells, taking into account their traffic
+     * demand (see CSO.powerConsumptionPiovesan)
+     *
+     * @param active        Activation of the cells
+     * @param trafficDemand Traffic demand served by each cell
+     * @return Power consumption (MW)
+     */
+    public double powerConsumptionPiovesan(boolean[] active, double[] trafficDemand) {
+        double sum = 0.0;
+
+        for (int i = 0; i < cells_.length; i++) {
+            if (active[i]) {
+                sum += activePower_[i] + delta_[i] * trafficDemand[i] + 10;
+            } else {
+                sum += sleepPower_[i];
+            }
+        }
+
+        //mW -> W -> kW -> MW
+        return sum / 1000000000;
+    }
+
+    /**
+     * Power consumption of the cells, taking into account their traffic
+     * demand and the maintenance power of the BTSs with active cells (see
+     * StaticCSO.powerConsumptionStatic)
+     *
+     * @param active        Activation of the cells
+     * @param trafficDemand Traffic demand served by each cell
+     * @return Power consumption (MW)
+     */
+    public double powerConsumptionStatic(boolean[] active, double[] trafficDemand) {
+        double sum = 0.0;
+
+        for (int b = 0; b < numberOfBTSs_; b++) {
+            boolean hasActiveCells = false;
+
+            for (int k = firstCellOfBTS_[b]; k < firstCellOfBTS_[b + 1]; k++) {
+                int i = btsCells_[k];
+                if (active[i]) {
+                    hasActiveCells = true;
+                    sum += activePower_[i] + delta_[i] * trafficDemand[i] + 10;
+                } else {
+                    sum += sleepPower_[i];
+                }
+            }
+
+            if (hasActiveCells) {
+                sum += MAINTENANCE_POWER;
+            }
+        }
+
+        //mW -> W -> kW -> MW
+        return sum / 1000000000;
+    }
+
+    /**
+     * Power consumption (see powerConsumptionPiovesan(boolean[], double[]))
+     * of the state stored in an evaluation context
+     *
+     * @param context The evaluation context, with the capacity computed
+     * @return Power consumption (MW)
+     */
+    public double powerConsumptionPiovesan(EvaluationContext context) {
+        return powerConsumptionPiovesan(context.active_, context.trafficDemand_);
+    }
+
+    /**
+     * Power consumption (see powerConsumptionStatic(boolean[], double[])) of
+     * the state stored in an evaluation context
+     *
+     * @param context The evaluation context, with the capacity computed
+     * @return Power consumption (MW)
+     */
+    public double powerConsumptionStatic(EvaluationContext context) {
+        return powerConsumptionStatic(context.active_, context.trafficDemand_);
+    }
+
+    /**
+     * Number of users whose serving cell changed between two UE to cell
+     * assignments
+     *
+     * @param previous Index of the previous serving cell of each user
+     * @param current  Index of the current serving cell of each user
+     * @return The number of handovers
+     */
+    public int handovers(int[] previous, int[] current) {
+        int handovers = 0;
+
+        for (int u = 0; u < current.length; u++) {
+            if (current[u] != previous[u]) {
+                handovers++;
+            }
+        }
+
+        return handovers;
+    }
+
+    /**
+     * Signaling cost of the handovers between two UE to cell assignments. A
+     * handover costs intraTower between cells of the same tower or
+     * interTower otherwise, plus interTech if the BTSs work at different
+     * frequencies.
+     *
+     * @param previous   Index of the previous serving cell of each user
+     * @param current    Index of the current serving cell of each user
+     * @param intraTower Cost of a handover within a tower
+     * @param interTower Cost of a handover between towers
+     * @param interTech  Additional cost of a change of technology
+     * @return The signaling cost
+     */
+    public double signalingCost(int[] previous, int[] current, double intraTower, double interTower, double interTech) {
+        int sameTower = 0;
+        int otherTower = 0;
+        int otherTech = 0;
+
+        for (int u = 0; u < current.length; u++) {
+            int c = current[u];
+            int p = previous[u];
+            if (c != p) {
+                if (tower_[c] == tower_[p]) {
+                    sameTower++;
+                } else {
+                    otherTower++;
+                }
+                if (btsFrequency_[c] != btsFrequency_[p]) {
+                    otherTech++;
+                }
+            }
+        }
+
+        return sameTower * intraTower + otherTower * interTower + otherTech * interTech;
+    }
+
+    /**
+     * Reads the activation and the traffic demand of the cells of the UDN
+     *
+     * @param active        Activation of the cells (output)
+     * @param trafficDemand Traffic demand served by the active cells (output)
+     */
+    public void readCellStatus(boolean[] active, double[] trafficDemand) {
+        for (int i = 0; i < cells_.length; i++) {
+            active[i] = cells_[i].isActive();
+            trafficDemand[i] = active[i] ? cells_[i].getTrafficDemand() : 0.0;
+        }
+    }
+
+    /**
+     * Reads the activation of the cells of the UDN, and computes their
+     * traffic demand from the users assigned to them in a single pass
+     *
+     * @param active        Activation of the cells (output)
+     * @param trafficDemand Traffic demand served by the active cells (output)
+     * @param cellUsers     Users of each cell, with the capacity of their links
+     * @param users         The users of the UDN
+     */
+    public void readCellStatus(boolean[] active, double[] trafficDemand, CellUsers cellUsers, List<User> users) {
+        cellUsers.computeTrafficDemand(users, trafficDemand, null);
+        for (int i = 0; i < cells_.length; i++) {
+            active[i] = cells_[i].isActive();
+            if (!active[i]) {
+                trafficDemand[i] = 0.0;
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Sector;
 import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * @author paco
@@ -20,13 +22,20 @@ public class Point {
     int y_;
     int z_;
 
+    //BTSs installed at the point, by working frequency (allocated with the first one)
     Map<Double, BTS> installedBTS_;
 
     //Propagation region
     Region propagationRegion_;
 
-    //SINR
-    Map<Double, Double> totalReceivedPower_;
+    //SINR: total received power, indexed by the frequencies of the UDN
+    double[] totalReceivedPower_;
+
+    //Row of this point in the received power matrix of the UDN (-1 if none)
+    volatile int powerRow_ = -1;
+
+    //Cells received above the signal power threshold, by frequency (lazy)
+    volatile int[][] cellsOfInterest_;
 //    Map<Double, Cell> sinr_;
 
     //Used to precompute stats only when needed_
@@ -34,8 +43,9 @@ public class Point {
 
     //Function<Cell, Double> function_;
 
-    Map<Integer, Double> signalPowerMap_ = new HashMap<>();
-    Map<Integer, Double> sinrMap_ = new HashMap<>();
+    //concurrent maps, as they can be filled by several evaluation contexts at once
+    Map<Integer, Double> signalPowerMap_ = new ConcurrentHashMap<>();
+    Map<Integer, Double> sinrMap_ = new ConcurrentHashMap<>();
 
     boolean canDeploy;
 
@@ -52,7 +62,7 @@ public class Point {
         y_ = y;
         z_ = z;
 
-        installedBTS_ = new TreeMap<>();
+        installedBTS_ = Collections.emptyMap();
         propagationRegion_ = null;
         totalReceivedPower_ = null;
         statsComputed_ = false;
@@ -73,32 +83,58 @@ public class Point {
      * @return The received power
      */
     public double computeSignalPower(Cell c) {
-        double powerDBm;
+        Double powerDBm = signalPowerMap_.get(c.getID());
 
         //create a new map after X insertions to bound the memory used
-        if (signalPowerMap_.get(c.getID()) == null) {
-            Sector sec = c.getSector();
-            double pathLoss = this.propagationRegion_.pathloss_;
-            double receptorGain = Math.pow(10.0, sec.getReceptorGain() / 10.0);
-            double transmitterGain = Math.pow(10.0, sec.getTransmitterGain() / 10.0);
-            double waveLength = c.getWavelength();
-            double transmitterPower = sec.getTransmittedPower();
-            double distance = this.udn_.distance(this.x_, this.y_, this.z_, sec.getX(), sec.getY(), sec.getZ());
-            double power;
-            int[] angles = this.udn_.calculateAngles(this, sec.getBTS());
-            double attenuationFactor = c.getAttenuationFactor(angles[0], angles[1]);
-            double loss = Math.pow((waveLength / (4.0 * Math.PI * distance)), pathLoss);
-            power = receptorGain * transmitterGain * transmitterPower * loss * attenuationFactor;
-            //
-            powerDBm = 10.0 * Math.log10(power);
+        if (powerDBm == null) {
+            powerDBm = computeSignalPowerDBm(c);
             signalPowerMap_.put(c.getID(), powerDBm);
-        } else {
-            powerDBm = signalPowerMap_.get(c.getID());
         }
 
         return powerDBm;
     }
 
+    /**
+     * Computes, without caching it, the signal power (dBm) received at this
+     * grid point from the Cell c
+     *
+     * @param c The serving Cell
+     * @return The received power
+     */
+    double computeSignalPowerDBm(Cell c) {
+        Sector sec = c.getSector();
+        double pathLoss = this.propagationRegion_.pathloss_;
+        double receptorGain = Math.pow(10.0, sec.getReceptorGain() / 10.0);
+        double transmitterGain = Math.pow(10.0, sec.getTransmitterGain() / 10.0);
+        double waveLength = c.getWavelength();
+        double transmitterPower = sec.getTransmittedPower();
+        double distance = this.udn_.distance(this.x_, this.y_, this.z_, sec.getX(), sec.getY(), sec.getZ());
+        double power;
+        int[] angles = this.udn_.calculateAngles(this, sec.getBTS());
+        double attenuationFactor = c.getAttenuationFactor(angles[0], angles[1]);
+        double loss = Math.pow((waveLength / (4.0 * Math.PI * distance)), pathLoss);
+        power = receptorGain * transmitterGain * transmitterPower * loss * attenuationFactor;
+        //
+        return 10.0 * Math.log10(power);
+    }
+
+    /**
+     * Power (mW) received at this grid point from the Cell c. It is read from
+     * the received power matrix of the UDN when the point has a row in it.
+     *
+     * @param c The Cell
+     * @return The received power (mW)
+     */
+    public double getReceivedPower(Cell c) {
+        int row = this.powerRow_;
+        if (row >= 0) {
+            return this.udn_.powerMatrix_.getPower(row, c.getIndex());
+        }
+
+        //dB -> mW
+        return Math.pow(10.0, computeSignalPower(c) / 10);
+    }
+
     /**
      * Returns the closest social attractor to this point
      *
@@ -139,27 +175,14 @@ public class Point {
      */
     public double computeSINR(Cell c) {
 
-        //get the bandwidth of the Cell and its working frequency
-        double cellBW = c.getTotalBW();
-        double frequency = c.getBTS().getWorkingFrequency();
-
-        //compute the noise
-        double pn = -174 + 10.0 * Math.log10(cellBW * 1000000);
-
-        //get the averaged power received at the BTS working frequency
-        double totalPower = this.totalReceivedPower_.get(frequency);
-
-        //compute the power received at this point from Cell c
-        double power = this.computeSignalPower(c);
+        //get the averaged power received at the cell working frequency
+        double totalPower = this.totalReceivedPower_[this.udn_.cellFrequency_[c.getIndex()]];
 
-        //double distance = this.udn_.distance(this.x_, this.y_, c.getBTS().getX(), c.getBTS().getY());
-        //compute the SINR
-        //dB -> mW
-
-        pn = Math.pow(10.0, pn / 10);
-        power = Math.pow(10.0, power / 10);
+        //compute the power received at this point from Cell c (mW)
+        double power = this.getReceivedPower(c);
 
-        return power / (totalPower - power + pn);
+        //compute the SINR, with the noise precomputed for the bandwidth of the cell
+        return this.udn_.networkView_.sinr(c.getIndex(), power, totalPower);
     }
 
     /**
@@ -167,24 +190,23 @@ public class Point {
      */
     void computeTotalReceivedPower() {
         //allocate memory at this point
-        totalReceivedPower_ = new TreeMap<>();
+        if (totalReceivedPower_ == null) {
+            totalReceivedPower_ = new double[this.udn_.frequencies_.length];
+        }
 
-        double sum, power;
+        double sum;
 
-        for (double frequency : this.udn_.cells_.keySet()) {
+        for (int f = 0; f < this.udn_.frequencies_.length; f++) {
             sum = 0.0;
 
-            for (Cell c : this.udn_.cells_.get(frequency)) {
+            for (int i = this.udn_.firstCellOfFrequency_[f]; i < this.udn_.lastCellOfFrequency_[f]; i++) {
+                Cell c = this.udn_.indexedCells_[i];
                 if (c.isActive()) {
-
-                    power = computeSignalPower(c);
-                    //dB -> mW
-                    power = Math.pow(10.0, power / 10);
-                    sum += power;
+                    sum += getReceivedPower(c);
                 }
             }
 
-            this.totalReceivedPower_.put(frequency, sum);
+            this.totalReceivedPower_[f] = sum;
         }
     }
 
@@ -216,59 +238,60 @@ public class Point {
     }
 
     /**
-     * Returns the cell that serves with the best SINR, regardless of its
-     * operating frequency.
+     * Cells received at this point with a power above the signal power
+     * threshold of the UDN, grouped by the index of their working frequency.
+     * They are computed the first time they are needed.
      *
-     * @return The cell with higher SINR
+     * @return The indexes of the cells of interest
      */
-    public Cell getCellWithHigherSINR() {
-        double sinr;
-        Map<Double, Double> maxSINR = new TreeMap<>();
-        Map<Double, Cell> servingBTSs = new TreeMap<>();
-        Cell servingCell = null;
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            maxSINR.put(frequency, Double.NEGATIVE_INFINITY);
-        }
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            for (Cell c : udn_.cells_.get(frequency)) {
-                if (c.isActive()) {
-                    sinr = this.computeSINR(c);
-
-                    //quality, regardless of the cell activation
-                    if (sinr > maxSINR.get(frequency)) {
-                        maxSINR.put(frequency, sinr);
-                        servingBTSs.put(frequency, c);
+    int[][] getCellsOfInterest() {
+        int[][] cellsOfInterest = this.cellsOfInterest_;
+
+        if (cellsOfInterest == null) {
+            //dBm -> mW
+            double threshold = Math.pow(10.0, this.udn_.signalPowerThreshold / 10);
+
+            cellsOfInterest = new int[this.udn_.frequencies_.length][];
+            for (int f = 0; f < cellsOfInterest.length; f++) {
+                int first = this.udn_.firstCellOfFrequency_[f];
+                int[] cells = new int[this.udn_.lastCellOfFrequency_[f] - first];
+                int count = 0;
+
+                for (int i = first; i < this.udn_.lastCellOfFrequency_[f]; i++) {
+                    if (getReceivedPower(this.udn_.indexedCells_[i]) >= threshold) {
+                        cells[count++] = i;
                     }
                 }
+                cellsOfInterest[f] = Arrays.copyOf(cells, count);
             }
+
+            this.cellsOfInterest_ = cellsOfInterest;
         }
 
-        // If using cellsOfInterestByPoint in UDN
-//        for (double frequency : this.udn_.cellsOfInterestByPoint.get(this).keySet()) {
-//            for (Cell c : this.udn_.cellsOfInterestByPoint.get(this).get(frequency)) {
-//                if (c.isActive()) {
-//                    sinr = this.computeSINR(c);
-//                    if (sinr > maxSINR.get(frequency)) {
-//                        maxSINR.put(frequency, sinr);
-//                        servingBTSs.put(frequency, c);
-//                    }
-//                }
-//            }
-//        }
-
-        //retrieve the best among the precomputed values
-        double maxValue = Double.NEGATIVE_INFINITY;
-        for (Double f : servingBTSs.keySet()) {
-            sinr = maxSINR.get(f);
-            if (sinr > maxValue) {
-                maxValue = sinr;
-                servingCell = servingBTSs.get(f);
-            }
+        return cellsOfInterest;
+    }
+
+    /**
+     * Number of cells of interest at this point
+     *
+     * @return The number of cells received above the signal power threshold
+     */
+    public int getNumberOfCellsOfInterest() {
+        int count = 0;
+        for (int[] cells : getCellsOfInterest()) {
+            count += cells.length;
         }
+        return count;
+    }
 
-        return servingCell;
+    /**
+     * Returns the cell that serves with the best SINR, regardless of its
+     * operating frequency.
+     *
+     * @return The cell with higher SINR
+     */
+    public Cell getCellWithHigherSINR() {
+        return getCellWithHigherSINR(c -> true);
     }
 
     /**
@@ -278,41 +301,7 @@ public class Point {
      * @return The cell with higher SINR discarding macrocells
      */
     public Cell getCellWithHigherSINRButMacro() {
-        double sinr;
-        Map<Double, Double> maxSINR = new TreeMap<>();
-        Map<Double, Cell> servingBTSs = new TreeMap<>();
-        Cell servingCell = null;
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            maxSINR.put(frequency, Double.NEGATIVE_INFINITY);
-        }
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            for (Cell c : udn_.cells_.get(frequency)) {
-
-                if (c.isActive() && !(c.getType().toString().equalsIgnoreCase("MACRO"))) {
-                    sinr = this.computeSINR(c);
-
-                    //quality, regardless of the cell activation
-                    if (sinr > maxSINR.get(frequency)) {
-                        maxSINR.put(frequency, sinr);
-                        servingBTSs.put(frequency, c);
-                    }
-                }
-            }
-        }//for
-
-        //retrieve the best among the precomputed values
-        double maxValue = Double.NEGATIVE_INFINITY;
-        for (Double f : servingBTSs.keySet()) {
-            sinr = maxSINR.get(f);
-            if (sinr > maxValue) {
-                maxValue = sinr;
-                servingCell = servingBTSs.get(f);
-            }
-        }
-
-        return servingCell;
+        return getCellWithHigherSINR(c -> c.getType() != UDN.CellType.MACRO);
     }
 
     /**
@@ -321,37 +310,60 @@ public class Point {
      * @return The small cell with higher SINR
      */
     public Cell getSmallCellWithHigherSINR() {
-        double sinr;
-        Map<Double, Double> maxSINR = new TreeMap<>();
-        Map<Double, Cell> servingBTSs = new TreeMap<>();
-        Cell servingCell = null;
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            maxSINR.put(frequency, Double.NEGATIVE_INFINITY);
-        }
-
-        for (Double frequency : this.udn_.cells_.keySet()) {
-            for (Cell c : udn_.cells_.get(frequency)) {
+        return getCellWithHigherSINR(c -> (c.getType() == UDN.CellType.PICO) || (c.getType() == UDN.CellType.FEMTO));
+    }
 
-                if (c.isActive() && ((c.getType().toString().equalsIgnoreCase("PICO")) || (c.getType().toString().equalsIgnoreCase("FEMTO")))) {
-                    sinr = this.computeSINR(c);
+    /**
+     * Returns the active cell accepted by the filter that serves with the best
+     * SINR. When the cells of interest are enabled in the UDN, only those are
+     * scanned at each frequency, unless none of them can serve the point. At
+     * a given frequency the SINR grows with the received power, so the best
+     * cell is always among them when one of them is active.
+     *
+     * @param filter Cells that can be selected
+     * @return The cell with higher SINR, null if there are no candidates
+     */
+    private Cell getCellWithHigherSINR(Predicate<Cell> filter) {
+        double maxValue = Double.NEGATIVE_INFINITY;
+        Cell servingCell = null;
+        int[][] cellsOfInterest = this.udn_.useCellsOfInterest_ ? getCellsOfInterest() : null;
+
+        //ties between frequencies are broken in favour of the lowest one
+        for (int f : this.udn_.ascendingFrequencies_) {
+            Cell best = null;
+            double maxSINR = Double.NEGATIVE_INFINITY;
+
+            if (cellsOfInterest != null) {
+                for (int i : cellsOfInterest[f]) {
+                    Cell c = this.udn_.indexedCells_[i];
+                    if (c.isActive() && filter.test(c)) {
+                        double sinr = this.computeSINR(c);
+                        if (sinr > maxSINR) {
+                            maxSINR = sinr;
+                            best = c;
+                        }
+                    }
+                }
+            }
 
-                    //quality, regardless of the cell activation
-                    if (sinr > maxSINR.get(frequency)) {
-                        maxSINR.put(frequency, sinr);
-                        servingBTSs.put(frequency, c);
+            //no cells of interest available: scan all the cells
+            if (best == null) {
+                for (int i = this.udn_.firstCellOfFrequency_[f]; i < this.udn_.lastCellOfFrequency_[f]; i++) {
+                    Cell c = this.udn_.indexedCells_[i];
+                    if (c.isActive() && filter.test(c)) {
+                        double sinr = this.computeSINR(c);
+                        if (sinr > maxSINR) {
+                            maxSINR = sinr;
+                            best = c;
+                        }
                     }
                 }
             }
-        }//for
 
-        //retrieve the best among the precomputed values
-        double maxValue = Double.NEGATIVE_INFINITY;
-        for (Double f : servingBTSs.keySet()) {
-            sinr = maxSINR.get(f);
-            if (sinr > maxValue) {
-                maxValue = sinr;
-                servingCell = servingBTSs.get(f);
+            //retrieve the best among the precomputed values
+            if ((best != null) && (maxSINR > maxValue)) {
+                maxValue = maxSINR;
+                servingCell = best;
             }
         }
 
@@ -379,8 +391,70 @@ public class Point {
         return sortedCells;
     }
 
+    /**
+     * Selects the k cells with the best SINR at this point among those of the
+     * given types and working frequency, without allocating memory. The cells
+     * are returned sorted by decreasing SINR. Unlike getCellsWithBestSINRs,
+     * cells with the same SINR are all kept, the one with the lowest index
+     * first. As there, both active and inactive cells are considered.
+     *
+     * @param k         Maximum number of cells to select
+     * @param types     Accepted cell types, as a mask (see cellTypes)
+     * @param frequency Index of the working frequency in the UDN, or -1 for all
+     * @param cells     Output: indices (Cell.getIndex()) of the selected cells
+     * @param sinrs     Output: SINRs of the selected cells
+     * @return The number of cells selected, at most k
+     */
+    public int getCellsWithBestSINRs(int k, int types, int frequency, int[] cells, double[] sinrs) {
+        int first = (frequency < 0) ? 0 : this.udn_.firstCellOfFrequency_[frequency];
+        int last = (frequency < 0) ? this.udn_.indexedCells_.length : this.udn_.lastCellOfFrequency_[frequency];
+        int[] type = this.udn_.networkView_.type_;
+        int n = 0;
+
+        if (k <= 0) {
+            return 0;
+        }
+
+        for (int i = first; i < last; i++) {
+            if ((types & (1 << type[i])) != 0) {
+                double sinr = this.computeSINR(this.udn_.indexedCells_[i]);
+                if ((n < k) || (sinr > sinrs[n - 1])) {
+                    //insert it in order, dropping the worst cell if there are k already
+                    int j = (n < k) ? n++ : n - 1;
+                    while ((j > 0) && (sinr > sinrs[j - 1])) {
+                        cells[j] = cells[j - 1];
+                        sinrs[j] = sinrs[j - 1];
+                        j--;
+                    }
+                    cells[j] = i;
+                    sinrs[j] = sinr;
+                }
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Mask of cell types accepted by getCellsWithBestSINRs
+     *
+     * @param types The cell types
+     * @return The mask
+     */
+    public static int cellTypes(UDN.CellType... types) {
+        int mask = 0;
+        for (UDN.CellType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
     Map<Double, Double> getTotalReceivedPower() {
-        return this.totalReceivedPower_;
+        Map<Double, Double> totalReceivedPower = new TreeMap<>();
+        for (int f = 0; f < this.udn_.frequencies_.length; f++) {
+            totalReceivedPower.put(this.udn_.frequencies_[f], this.totalReceivedPower_[f]);
+        }
+        return totalReceivedPower;
     }
 
     public boolean hasBTSInstalled() {
@@ -392,6 +466,9 @@ public class Point {
     }
 
     public void addInstalledBTS(double workingFrequency, BTS bts) {
+        if (installedBTS_.isEmpty()) {
+            installedBTS_ = new TreeMap<>();
+        }
         if (!installedBTS_.containsKey(workingFrequency)) {
             installedBTS_.put(workingFrequency, bts);
         }
@@ -0,0 +1,170 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Dense matrix with the power (mW) received at the user points from every
+ * cell, indexed by [point row][cell index]. The received power only depends on
+ * the position of the point and the cell, so a row is computed once and it is
+ * valid until the matrix is cleared.
+ */
+public class ReceivedPowerMatrix {
+
+    //Reference to the problem
+    UDN udn_;
+
+    int numberOfCells_;
+    int numberOfRows_;
+
+    //Points of each row and received power (mW), row-major
+    Point[] points_;
+    volatile double[] power_;
+
+    /**
+     * Constructor
+     *
+     * @param udn The UDN
+     */
+    ReceivedPowerMatrix(UDN udn) {
+        udn_ = udn;
+        numberOfCells_ = udn.indexedCells_.length;
+        numberOfRows_ = 0;
+        points_ = new Point[0];
+        power_ = new double[0];
+    }
+
+    /**
+     * Adds a row for every point where a user is placed and that has no row
+     * yet. Rows are computed in parallel, and a point is only linked to its
+     * row once the row is filled.
+     *
+     * @param users The users of the network
+     */
+    synchronized void addPoints(List<User> users) {
+        List<Point> points = new ArrayList<>(users.size());
+        for (User u : users) {
+            points.add(udn_.getGridPoint(u.getX(), u.getY(), u.getZ()));
+        }
+        addPoints(points);
+    }
+
+    /**
+     * Adds a row for every point of a collection that has no row yet (see
+     * addPoints(List))
+     *
+     * @param candidates The points
+     */
+    synchronized void addPoints(Collection<Point> candidates) {
+        Set<Point> pending = new LinkedHashSet<>();
+        for (Point p : candidates) {
+            if (p.powerRow_ < 0) {
+                pending.add(p);
+            }
+        }
+        List<Point> newPoints = new ArrayList<>(pending);
+
+        if (newPoints.isEmpty()) {
+            return;
+        }
+
+        int first = numberOfRows_;
+        int rows = first + newPoints.size();
+        Point[] points = Arrays.copyOf(points_, rows);
+        double[] power = Arrays.copyOf(power_, rows * numberOfCells_);
+
+        for (int r = first; r < rows; r++) {
+            points[r] = newPoints.get(r - first);
+        }
+
+        IntStream.range(first, rows).parallel().forEach(r -> {
+            Point p = points[r];
+            int offset = r * numberOfCells_;
+            for (int i = 0; i < numberOfCells_; i++) {
+                Cell c = udn_.indexedCells_[i];
+                //dB -> mW
+                power[offset + i] = Math.pow(10.0, p.computeSignalPowerDBm(c) / 10);
+            }
+        });
+
+        points_ = points;
+        numberOfRows_ = rows;
+        power_ = power;
+
+        for (int r = first; r < rows; r++) {
+            points[r].powerRow_ = r;
+        }
+    }
+
+    /**
+     * Keeps only the rows of the given points, unlinking the rest of the
+     * points from the matrix. The rows kept are not recomputed.
+     *
+     * @param retained The points to keep
+     */
+    synchronized void retainPoints(Set<Point> retained) {
+        int rows = 0;
+        for (int r = 0; r < numberOfRows_; r++) {
+            if (retained.contains(points_[r])) {
+                rows++;
+            }
+        }
+
+        Point[] points = new Point[rows];
+        double[] power = new double[rows * numberOfCells_];
+        int row = 0;
+        for (int r = 0; r < numberOfRows_; r++) {
+            Point p = points_[r];
+            if (retained.contains(p)) {
+                System.arraycopy(power_, r * numberOfCells_, power, row * numberOfCells_, numberOfCells_);
+                points[row] = p;
+                row++;
+            }
+        }
+
+        for (int r = 0; r < numberOfRows_; r++) {
+            points_[r].powerRow_ = -1;
+        }
+        points_ = points;
+        numberOfRows_ = rows;
+        power_ = power;
+        for (int r = 0; r < rows; r++) {
+            points[r].powerRow_ = r;
+        }
+    }
+
+    /**
+     * Unlinks all the points from the matrix
+     */
+    synchronized void clear() {
+        for (int r = 0; r < numberOfRows_; r++) {
+            points_[r].powerRow_ = -1;
+        }
+        numberOfRows_ = 0;
+        points_ = new Point[0];
+        power_ = new double[0];
+    }
+
+    /**
+     * Received power (mW) at the point of a row from a cell
+     *
+     * @param row  The row of the point
+     * @param cell The index of the cell
+     * @return The received power
+     */
+    public double getPower(int row, int cell) {
+        return power_[row * numberOfCells_ + cell];
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows_;
+    }
+}
@@ -18,6 +18,8 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import static java.lang.Math.abs;
 import static java.lang.Math.acos;
@@ -43,6 +45,27 @@ public abstract class UDN {
     public Map<Point, Map<Double, List<Cell>>> cellsOfInterestByPoint;
     public double signalPowerThreshold = -90; // 0.000000000001;    // 1 pW
 
+    //Dense indexing of the cells and their working frequencies (see indexCells)
+    Cell[] indexedCells_;
+    double[] frequencies_;
+    int[] cellFrequency_;
+    int[] firstCellOfFrequency_;
+    int[] lastCellOfFrequency_;
+    int[] ascendingFrequencies_;
+
+    //Angles seen from a BTS, by offset to the point (see calculateAngles)
+    int[] angles_;
+
+    //Compiled view of the deployment (see NetworkView)
+    NetworkView networkView_;
+
+    //Precomputed received power at the user points (opt-in)
+    boolean useReceivedPowerMatrix_ = false;
+    ReceivedPowerMatrix powerMatrix_;
+
+    //Search the serving cells among the cells of interest of the points (opt-in)
+    boolean useCellsOfInterest_ = false;
+
     //Users
     int usersTypes_;
     List<String> usersConfig_;
@@ -140,8 +163,9 @@ public abstract class UDN {
 //        }
 
         //Generate the grid
-        grid = new Point[gridPointsX_][gridPointsY_][gridPointsZ_];
-        for (int i = 0; i < gridPointsX_; i++) {
+        //(the rows of the grid are built in parallel, as they are independent)
+        grid = new Point[gridPointsX_][][];
+        IntStream.range(0, gridPointsX_).parallel().forEach(i -> {
             grid[i] = new Point[gridPointsY_][];
             for (int j = 0; j < gridPointsY_; j++) {
                 //grid[i][j] = new Point(i*this.interPointSeparation_, j*this.interPointSeparation_, 0);
@@ -150,7 +174,9 @@ public abstract class UDN {
                     grid[i][j][k] = new Point(this, i, j, k);
                 }
             }
-        }
+        });
+        angles_ = new int[gridPointsX_ * gridPointsY_ * gridPointsZ_];
+        Arrays.fill(angles_, -1);
 
         //Generate the propagations regions and the Voronoi partition
         propRegions_ = new ArrayList<>();
@@ -163,6 +189,10 @@ public abstract class UDN {
 
         //load cells
         loadCells(cellConfigFile_);
+
+        //dense indexing of the cells, used by the evaluation contexts
+        indexCells();
+        networkView_ = new NetworkView(this);
     }
 
     /**
@@ -402,28 +432,189 @@ public abstract class UDN {
     }
 
     /**
-     * Computes a Voronoi teselation based on a giver set of propagation regions
+     * Assigns a dense index to every cell, following the iteration order of
+     * cells_, which is the same order used to map the binary solutions. The
+     * cells of each working frequency get consecutive indexes.
+     */
+    private void indexCells() {
+        int numberOfFrequencies = this.cells_.size();
+
+        indexedCells_ = new Cell[getTotalNumberOfCells()];
+        cellFrequency_ = new int[indexedCells_.length];
+        frequencies_ = new double[numberOfFrequencies];
+        firstCellOfFrequency_ = new int[numberOfFrequencies];
+        lastCellOfFrequency_ = new int[numberOfFrequencies];
+
+        int index = 0;
+        int f = 0;
+        for (Map.Entry<Double, List<Cell>> entry : this.cells_.entrySet()) {
+            frequencies_[f] = entry.getKey();
+            firstCellOfFrequency_[f] = index;
+            for (Cell c : entry.getValue()) {
+                c.setIndex(index);
+                indexedCells_[index] = c;
+                cellFrequency_[index] = f;
+                index++;
+            }
+            lastCellOfFrequency_[f] = index;
+            f++;
+        }
+
+        //frequencies sorted in ascending order, to break ties between them
+        ascendingFrequencies_ = new int[numberOfFrequencies];
+        Integer[] order = new Integer[numberOfFrequencies];
+        for (int i = 0; i < numberOfFrequencies; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> frequencies_[i]));
+        for (int i = 0; i < numberOfFrequencies; i++) {
+            ascendingFrequencies_[i] = order[i];
+        }
+    }
+
+    public NetworkView getNetworkView() {
+        return networkView_;
+    }
+
+    /**
+     * Cell with a given index (see Cell.getIndex)
+     *
+     * @param index Index of the cell
+     * @return The cell
+     */
+    public Cell getCell(int index) {
+        return indexedCells_[index];
+    }
+
+    /**
+     * Enables/disables the precomputed matrix of received power at the user
+     * points. When enabled, the power received from every cell is computed
+     * once per user point and then read from a dense array.
+     *
+     * @param use true to use the matrix
+     */
+    public synchronized void setReceivedPowerMatrix(boolean use) {
+        this.useReceivedPowerMatrix_ = use;
+        if (use) {
+            if (powerMatrix_ == null) {
+                powerMatrix_ = new ReceivedPowerMatrix(this);
+            }
+        } else if (powerMatrix_ != null) {
+            powerMatrix_.clear();
+            powerMatrix_ = null;
+        }
+    }
+
+    public boolean hasReceivedPowerMatrix() {
+        return this.useReceivedPowerMatrix_;
+    }
+
+    /**
+     * Adds to the received power matrix the points where users are placed and
+     * that are not in the matrix yet
+     */
+    public void updateReceivedPowerMatrix() {
+        ReceivedPowerMatrix matrix = powerMatrix_;
+        if (matrix == null) {
+            return;
+        }
+
+        for (User u : this.users_) {
+            if (grid[u.getX()][u.getY()][u.getZ()].powerRow_ < 0) {
+                matrix.addPoints(this.users_);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Adds to the received power matrix the given points that are not in the
+     * matrix yet, e.g., the points of the users at the samples of their
+     * mobility
+     *
+     * @param points The points
+     */
+    public void addToReceivedPowerMatrix(Collection<Point> points) {
+        ReceivedPowerMatrix matrix = powerMatrix_;
+        if (matrix != null) {
+            matrix.addPoints(points);
+        }
+    }
+
+    /**
+     * Computes a Voronoi teselation based on a giver set of propagation regions.
+     * The regions are indexed in a uniform grid of buckets, and the buckets
+     * around each point are scanned ring by ring until no farther region can
+     * be closer. Ties are broken by the order of the regions in the list, as
+     * in a scan of the whole list.
      */
     private void computeVoronoiPropagationRegion(List<Region> regions) {
-        //for each point in the grid, find the closest Region
-        for (int i = 0; i < gridPointsX_; i++) {
+        int numberOfRegions = regions.size();
+
+        //buckets holding one region on average
+        int bucketSize = (int) Math.ceil(Math.sqrt((double) gridPointsX_ * gridPointsY_ / Math.max(1, numberOfRegions)));
+        int bucketsX = (gridPointsX_ + bucketSize - 1) / bucketSize;
+        int bucketsY = (gridPointsY_ + bucketSize - 1) / bucketSize;
+
+        //regions of each bucket, in the order of the list
+        int[] firstRegion = new int[bucketsX * bucketsY + 1];
+        for (Region r : regions) {
+            firstRegion[(r.x_ / bucketSize) * bucketsY + r.y_ / bucketSize + 1]++;
+        }
+        for (int b = 0; b < bucketsX * bucketsY; b++) {
+            firstRegion[b + 1] += firstRegion[b];
+        }
+        int[] bucketRegions = new int[numberOfRegions];
+        int[] next = firstRegion.clone();
+        for (int n = 0; n < numberOfRegions; n++) {
+            Region r = regions.get(n);
+            bucketRegions[next[(r.x_ / bucketSize) * bucketsY + r.y_ / bucketSize]++] = n;
+        }
+        int maxRing = Math.max(bucketsX, bucketsY);
+
+        //for each point in the grid, find the closest Region (rows in parallel)
+        IntStream.range(0, gridPointsX_).parallel().forEach(i -> {
+            int bx = i / bucketSize;
             for (int j = 0; j < gridPointsY_; j++) {
-                Region closestRegion = null;
-                double d, maxDistance = Double.MAX_VALUE;
-
-                for (Region r : regions) {
-                    d = distance2D(grid[i][j][0].x_, grid[i][j][0].y_, r.x_, r.y_);
-                    if (d < maxDistance) {
-                        maxDistance = d;
-                        closestRegion = r;
+                int by = j / bucketSize;
+                int closest = -1;
+                double minDistance = Double.MAX_VALUE;
+
+                for (int k = 0; k <= maxRing; k++) {
+                    //buckets at (Chebyshev) distance k
+                    for (int cx = Math.max(0, bx - k); cx <= Math.min(bucketsX - 1, bx + k); cx++) {
+                        int step = (Math.abs(cx - bx) == k) ? 1 : Math.max(1, 2 * k);
+                        for (int cy = by - k; cy <= by + k; cy += step) {
+                            if ((cy < 0) || (cy >= bucketsY)) {
+                                continue;
+                            }
+
+                            int bucket = cx * bucketsY + cy;
+                            for (int b = firstRegion[bucket]; b < firstRegion[bucket + 1]; b++) {
+                                int n = bucketRegions[b];
+                                Region r = regions.get(n);
+                                double d = distance2D(grid[i][j][0].x_, grid[i][j][0].y_, r.x_, r.y_);
+                                if ((d < minDistance) || ((d == minDistance) && (n < closest))) {
+                                    minDistance = d;
+                                    closest = n;
+                                }
+                            }
+                        }
+                    }
+
+                    //the regions beyond ring k are farther than k buckets
+                    if ((closest >= 0) && (minDistance <= (double) k * bucketSize * interPointSeparation_)) {
+                        break;
                     }
                 }
 
+                Region closestRegion = (closest >= 0) ? regions.get(closest) : null;
+
                 //Set prop Region for all points with the given x,y coordinates
                 for (Point p : grid[i][j])
                     p.setPropagationRegion(closestRegion);
             }
-        }
+        });
     }
 
     /**
@@ -943,12 +1134,10 @@ public abstract class UDN {
     public void setCellActivation(BitSet cso) {
         int bts = 0;
 
-        for (List<Cell> cells : this.cells_.values()) {
-            for (Cell c : cells) {
-                if (c.getType() != CellType.MACRO) {
-                    c.setActivation(cso.get(bts));   //TODO revisar si esto es correcto
-                    bts++;
-                }
+        for (int i = 0; i < indexedCells_.length; i++) {
+            if (!networkView_.macro_[i]) {
+                indexedCells_[i].setActivation(cso.get(bts));   //TODO revisar si esto es correcto
+                bts++;
             }
         }
     }
@@ -961,15 +1150,31 @@ public abstract class UDN {
     public void copyCellActivation(BitSet cso) {
         int bts = 0;
 
-        for (List<Cell> cells : this.cells_.values()) {
-            for (Cell c : cells) {
-                if (c.getType() != CellType.MACRO) {
-                    //c.setActivation(cso.getIth(bts));
-                    cso.set(bts, c.isActive());  //TODO revisar si esto es correcto
-                    bts++;
-                }
+        for (int i = 0; i < indexedCells_.length; i++) {
+            if (!networkView_.macro_[i]) {
+                //c.setActivation(cso.getIth(bts));
+                cso.set(bts, indexedCells_[i].isActive());  //TODO revisar si esto es correcto
+                bts++;
+            }
+        }
+    }
+
+    /**
+     * Macrocells currently active in the UDN. They are not encoded in the
+     * binary solutions (see EvaluationContext.MACRO_ACTIVATION).
+     *
+     * @return A new BitSet with the indices of the active macrocells
+     */
+    public BitSet getMacroActivation() {
+        BitSet macroActivation = new BitSet(indexedCells_.length);
+
+        for (int i = 0; i < indexedCells_.length; i++) {
+            if (networkView_.macro_[i] && indexedCells_[i].isActive()) {
+                macroActivation.set(i);
             }
         }
+
+        return macroActivation;
     }
 
     /**
@@ -1000,11 +1205,9 @@ public abstract class UDN {
     public int getTotalNumberOfActiveCells() {
         int count = 0;
 
-        for (List<Cell> cells : this.cells_.values()) {
-            for (Cell c : cells) {
-                if (c.isActive()) {
-                    count++;
-                }
+        for (Cell c : indexedCells_) {
+            if (c.isActive()) {
+                count++;
             }
         }
 
@@ -1016,6 +1219,8 @@ public abstract class UDN {
      * placed
      */
     public void computeSignaling() {
+        updateReceivedPowerMatrix();
+
         //computes for all as it is used in the solution initialization
         for (User u : this.users_) {
             int i = u.getX();
@@ -1030,10 +1235,8 @@ public abstract class UDN {
      * Set to 0 the number of users assigned to all the cells of the UDN
      */
     public void resetNumberOfUsersAssignedToCells() {
-        for (List<Cell> cells : this.cells_.values()) {
-            for (Cell c : cells) {
-                c.setNumbersOfUsersAssigned(0);
-            }
+        for (Cell c : indexedCells_) {
+            c.setNumbersOfUsersAssigned(0);
         }
     }
 
@@ -1127,90 +1330,125 @@ public abstract class UDN {
      * @return
      */
     public int[] calculateAngles(Point p, BTS bts) {
-        double occirad; //occipithal angle (theta)
-        double azirad; //azimithal angle (phi)
         int occi, azi;
 
         Point bts_p = bts.getPoint();
-        double d3 = distance(p.x_, p.y_, p.z_, bts_p.x_, bts_p.y_, bts_p.z_);
-        double d2 = distance2D(p.x_, p.y_, bts_p.x_, bts_p.y_);
-        int xDistance = abs(p.x_ - bts_p.x_) * this.interPointSeparation_;
-        int yDistance = abs(p.y_ - bts_p.y_) * this.interPointSeparation_;
-        int zDistance = abs(p.z_ - bts_p.z_) * this.interPointSeparation_;
-
-        occirad = acos(zDistance / d3);
-        occi = 180 - (int) Math.toDegrees(occirad);
+        int angles = getAngles(abs(p.x_ - bts_p.x_), abs(p.y_ - bts_p.y_), abs(p.z_ - bts_p.z_));
+        occi = angles & 0xFF;
 
         if (p.x_ >= bts_p.x_) {
             if (p.y_ >= bts_p.y_) {
                 //azi between 0 and 90 deg
-                azirad = acos(xDistance / d2);
-                azi = (int) Math.toDegrees(azirad);
+                azi = (angles >> 8) & 0xFF;
             } else {
                 //azi between 270 and 360 deg
-                azirad = acos(yDistance / d2);
-                azi = 270 + (int) Math.toDegrees(azirad);
+                azi = 270 + (angles >> 16);
             }
         } else {
             if (p.y_ >= bts_p.y_) {
                 //azi between 90 and 180 deg
-                azirad = acos(yDistance / d2);
-                azi = 90 + (int) Math.toDegrees(azirad);
+                azi = 90 + (angles >> 16);
 
             } else {
                 //azi between 180 and 270 deg
-                azirad = acos(xDistance / d2);
-                azi = 180 + (int) Math.toDegrees(azirad);
+                azi = 180 + ((angles >> 8) & 0xFF);
             }
         }
 
         return new int[]{azi, occi};
     }
 
+    /**
+     * Occipital angle and the azimuthal angles from the x and y axes (in
+     * degrees, packed in the bits 0-7, 8-15 and 16-23) of a point at a given
+     * offset from a BTS. They only depend on the offset, so they are computed
+     * once and kept in angles_.
+     *
+     * @param dx Offset in x (grid points)
+     * @param dy Offset in y (grid points)
+     * @param dz Offset in z (grid points)
+     * @return The packed angles
+     */
+    int getAngles(int dx, int dy, int dz) {
+        boolean inGrid = (dx < gridPointsX_) && (dy < gridPointsY_) && (dz < gridPointsZ_);
+        int position = (dx * gridPointsY_ + dy) * gridPointsZ_ + dz;
+        if (inGrid && (angles_[position] >= 0)) {
+            return angles_[position];
+        }
+
+        double d3 = distance(dx, dy, dz, 0, 0, 0);
+        double d2 = distance2D(dx, dy, 0, 0);
+        int xDistance = dx * this.interPointSeparation_;
+        int yDistance = dy * this.interPointSeparation_;
+        int zDistance = dz * this.interPointSeparation_;
+
+        int occi = 180 - (int) Math.toDegrees(acos(zDistance / d3));
+        int aziX = (int) Math.toDegrees(acos(xDistance / d2));
+        int aziY = (int) Math.toDegrees(acos(yDistance / d2));
+
+        int angles = occi | (aziX << 8) | (aziY << 16);
+        if (inGrid) {
+            angles_[position] = angles;
+        }
+        return angles;
+    }
+
+    /**
+     * Enables the cells of interest and builds them at the points where the
+     * users are placed. The cells of interest of a point are the cells
+     * received there with a power above signalPowerThreshold, and the
+     * searches of the serving cell only scan them (see
+     * Point.getCellWithHigherSINR). At other points they are built when
+     * first needed.
+     */
     public void getCellsOfInterestByPoint() {
-//        FileWriter myWriter = null;
-//        try {
-//            myWriter = new FileWriter("potencias.txt");
-//        } catch (IOException e) {
-//            e.printStackTrace();
-//        }
-//        cellsOfInterestByPoint = new HashMap<>();
-//        for (int i = 0; i < gridPointsX_; i++) {
-//            for (int j = 0; j < gridPointsY_; j++) {
-//                Point p = getGridPoint(i, j, 0);
-//                cellsOfInterestByPoint.put(p, new HashMap<>());
-//                for (Double f : cells_.keySet()) {
-//                    cellsOfInterestByPoint.get(p).put(f, new ArrayList<>());
-//                    for (Cell c : cells_.get(f)) {
-//                        if (Math.pow(10.0, p.computeSignalPower(c) / 10) > 1)
-//                            cellsOfInterestByPoint.get(p).get(f).add(c);
-//                    }
-//                }
-//
-//                try {
-//                    boolean hay = false;
-//                    for (double d : cellsOfInterestByPoint.get(p).keySet()) {
-//                        if (!cellsOfInterestByPoint.get(p).get(d).isEmpty())
-//                            hay = true;
-//                    }
-//
-//                    if (hay) {
-//                        myWriter.write("1 ");
-//                    } else
-//                        myWriter.write("0 ");
-////                                myWriter.write(Math.pow(10.0, p.computeSignalPower(c) / 10) + "\n");
-//                } catch (IOException e) {
-//                    e.printStackTrace();
-//                }
-//            }
-//
-//            try {
-//                myWriter.write("\n");
-//            } catch (IOException e) {
-//                e.printStackTrace();
-//            }
-//        }
-//        System.exit(0);
+        this.useCellsOfInterest_ = true;
+
+        updateReceivedPowerMatrix();
+        this.users_.parallelStream()
+                .map(u -> getGridPoint(u.getX(), u.getY(), u.getZ()))
+                .distinct()
+                .forEach(Point::getCellsOfInterest);
+    }
+
+    /**
+     * Enables/disables the search of the serving cells among the cells of
+     * interest of the points
+     *
+     * @param use true to use the cells of interest
+     */
+    public void setCellsOfInterest(boolean use) {
+        if (use) {
+            getCellsOfInterestByPoint();
+        } else {
+            this.useCellsOfInterest_ = false;
+        }
+    }
+
+    public boolean hasCellsOfInterest() {
+        return this.useCellsOfInterest_;
+    }
+
+    /**
+     * Sets the received power threshold of the cells of interest, and
+     * discards those already built
+     *
+     * @param threshold The threshold (dBm)
+     */
+    public void setSignalPowerThreshold(double threshold) {
+        this.signalPowerThreshold = threshold;
+
+        for (int i = 0; i < this.gridPointsX_; i++) {
+            for (int j = 0; j < this.gridPointsY_; j++) {
+                for (int k = 0; k < this.gridPointsZ_; k++) {
+                    this.grid[i][j][k].cellsOfInterest_ = null;
+                }
+            }
+        }
+
+        if (this.useCellsOfInterest_) {
+            getCellsOfInterestByPoint();
+        }
     }
 
     /**
@@ -1316,11 +1554,55 @@ public abstract class UDN {
         for (int i = 0; i < this.gridPointsX_; i++) {
             for (int j = 0; j < this.gridPointsY_; j++) {
                 for (int k = 0; k < this.gridPointsZ_; k++) {
-                    this.grid[i][j][k].signalPowerMap_ = new HashMap<>();
-                    this.grid[i][j][k].sinrMap_ = new HashMap<>();
+                    this.grid[i][j][k].signalPowerMap_ = new ConcurrentHashMap<>();
+                    this.grid[i][j][k].sinrMap_ = new ConcurrentHashMap<>();
                 }
             }
         }
+
+        if (powerMatrix_ != null) {
+            powerMatrix_.clear();
+        }
+    }
+
+    /**
+     * Restarts the data structures used to store precomputed signal power
+     * only at the points where no user is placed. The received power only
+     * depends on the point and the cell, so it is kept at the points still
+     * used, e.g., between epochs of a dynamic problem where most users stay
+     * at the same point.
+     */
+    public void emptyMapsAtPointsWithoutUsers() {
+        Set<Point> points = getUserPoints();
+
+        for (int i = 0; i < this.gridPointsX_; i++) {
+            for (int j = 0; j < this.gridPointsY_; j++) {
+                for (int k = 0; k < this.gridPointsZ_; k++) {
+                    Point p = this.grid[i][j][k];
+                    if (!p.signalPowerMap_.isEmpty() && !points.contains(p)) {
+                        p.signalPowerMap_ = new ConcurrentHashMap<>();
+                        p.sinrMap_ = new ConcurrentHashMap<>();
+                    }
+                }
+            }
+        }
+
+        if (powerMatrix_ != null) {
+            powerMatrix_.retainPoints(points);
+        }
+    }
+
+    /**
+     * Points where the users are currently placed
+     *
+     * @return The points, without repetitions
+     */
+    public Set<Point> getUserPoints() {
+        Set<Point> points = new LinkedHashSet<>();
+        for (User u : this.users_) {
+            points.add(getGridPoint(u.getX(), u.getY(), u.getZ()));
+        }
+        return points;
     }
 
     public String getOperatorsFile() {
@@ -0,0 +1,129 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model.cells;
+
+import us.hebi.matlab.mat.format.Mat5;
+import us.hebi.matlab.mat.types.Matrix;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Radiation pattern of an antenna, read from a .mat file. The patterns are
+ * loaded only once per file and shared by all the BTSs using them, and the
+ * gains are stored in a flat float array.
+ * <p>
+ * For each angle shift and vertical tilt, an attenuation table indexed by the
+ * raw angles returned by UDN.calculateAngles is built on demand, so
+ * Cell.getAttenuationFactor is a single array access.
+ */
+public class AntennaPattern {
+
+    //Range of the raw angles (degrees) of the attenuation tables
+    public static final int AZIMUTHS = 361;
+    public static final int ELEVATIONS = 181;
+
+    //Patterns already loaded, by file
+    static final Map<String, AntennaPattern> patterns_ = new ConcurrentHashMap<>();
+
+    String file_;
+    int rows_;
+    int cols_;
+    float[] gain_;
+
+    //Attenuation tables, by angle shift and tilt
+    Map<Integer, float[]> attenuation_;
+
+    AntennaPattern(String file) {
+        this.file_ = file;
+        this.attenuation_ = new ConcurrentHashMap<>();
+
+        try {
+            Matrix matrix = Mat5.readFromFile(file).getMatrix(0);
+            this.rows_ = matrix.getNumRows();
+            this.cols_ = matrix.getNumCols();
+            this.gain_ = new float[rows_ * cols_];
+            for (int r = 0; r < rows_; r++) {
+                for (int c = 0; c < cols_; c++) {
+                    gain_[r * cols_ + c] = matrix.getFloat(r, c);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the pattern stored in a file, reading it only the first time
+     *
+     * @param file The .mat file with the radiation pattern
+     * @return The pattern
+     */
+    public static AntennaPattern load(String file) {
+        return patterns_.computeIfAbsent(file, AntennaPattern::new);
+    }
+
+    public String getFile() {
+        return file_;
+    }
+
+    /**
+     * Gain of the pattern, as in Matrix.getFloat
+     *
+     * @param row Row (azimuth - 1)
+     * @param col Column (elevation - 1)
+     * @return The gain
+     */
+    public float getGain(int row, int col) {
+        if ((row < 0) || (row >= rows_) || (col < 0) || (col >= cols_)) {
+            throw new IndexOutOfBoundsException("Angles (" + row + "," + col + ") out of the pattern " + file_);
+        }
+        return gain_[row * cols_ + col];
+    }
+
+    /**
+     * Attenuation factor for a pair of angles, once the angle shift and the
+     * tilt of the cell are applied (see Cell.getAttenuationFactor)
+     *
+     * @param azi        Azimuth
+     * @param occi       Elevation
+     * @param angleShift Angle shift of the cell
+     * @param tilt       Vertical tilt of the cell
+     * @return Attenuation factor
+     */
+    public float getAttenuationFactor(int azi, int occi, int angleShift, int tilt) {
+        if (azi == 0) azi = 1;
+        if (occi == 0) occi = 1;
+
+        if (azi + angleShift > 360)
+            azi = azi + angleShift - 360;
+        else
+            azi = azi + angleShift;
+
+        return getGain(azi - 1, occi - tilt - 1);
+    }
+
+    /**
+     * Attenuation table of a cell, indexed by azi * ELEVATIONS + occi for
+     * azi in [0, 360] and occi in [0, 180]. The pairs of angles falling out
+     * of the pattern are stored as NaN.
+     *
+     * @param angleShift Angle shift of the cell
+     * @param tilt       Vertical tilt of the cell
+     * @return The table, shared by all the cells with the same shift and tilt
+     */
+    public float[] getAttenuationTable(int angleShift, int tilt) {
+        return attenuation_.computeIfAbsent(angleShift * 1000 + tilt, key -> {
+            float[] table = new float[AZIMUTHS * ELEVATIONS];
+            for (int azi = 0; azi < AZIMUTHS; azi++) {
+                for (int occi = 0; occi < ELEVATIONS; occi++) {
+                    try {
+                        table[azi * ELEVATIONS + occi] = getAttenuationFactor(azi, occi, angleShift, tilt);
+                    } catch (IndexOutOfBoundsException e) {
+                        table[azi * ELEVATIONS + occi] = Float.NaN;
+                    }
+                }
+            }
+            return table;
+        });
+    }
+}
@@ -8,10 +8,6 @@ package org.uma.jmetal.problem.multiobjective.UDN.model.cells;
 import org.uma.jmetal.problem.multiobjective.UDN.model.Point;
 import org.uma.jmetal.problem.multiobjective.UDN.model.UDN;
 
-import us.hebi.matlab.mat.format.Mat5;
-import us.hebi.matlab.mat.types.Matrix;
-
-import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -22,7 +18,8 @@ public class BTS {
 
     protected static int uniqueId_ = 0;
     //    MLNumericArray antennaArray_;
-    Matrix antennaArray_;
+    //Radiation pattern, shared by all the BTSs loading the same file
+    AntennaPattern antennaPattern_;
     static boolean patternFileLoaded_ = false;
     int id_;
 
@@ -74,11 +71,7 @@ public class BTS {
 //        }
 //        antennaArray_ = (MLNumericArray) reader.getContent().get(radiationPatternFile.substring(0, radiationPatternFile.length() - 4));
 
-        try {
-            antennaArray_ = Mat5.readFromFile(radiationPatternFile).getMatrix(0);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        antennaPattern_ = AntennaPattern.load(radiationPatternFile);
         patternFileLoaded_ = true;
     }
 
@@ -93,7 +86,7 @@ public class BTS {
         this.name = b.name;
         this.sectors_ = b.sectors_;
         this.type_ = b.type_;
-        this.antennaArray_ = b.antennaArray_;
+        this.antennaPattern_ = b.antennaPattern_;
     }
 
     public void addSectors(String type, String name, int numChainsTX, int numSectors, double transmittedPower, double alfa, double beta, double delta, double transmitterGain, double receptorGain, double workingFrequency, double coverageRadius) {
@@ -120,6 +113,10 @@ public class BTS {
         return z_;
     }
 
+    public AntennaPattern getAntennaPattern() {
+        return antennaPattern_;
+    }
+
     public List<Sector> getSectors() {
         return sectors_;
     }
@@ -17,7 +17,9 @@ public abstract class Cell {
 
     //Cell parameters
     int angleShift_;
+    float[] attenuation_; //attenuation table of the antenna pattern with the shift and tilt of the cell
     int id_;
+    int index_; //dense position of the cell in UDN.cells_, assigned by the UDN
     UDN.CellType type_;
     String name_;
     UDN udn_;
@@ -142,23 +144,32 @@ public abstract class Cell {
      * @return Attenuation factor
      */
     public double getAttenuationFactor(int azi, int occi) {
-        if (azi == 0) azi = 1;
-        if (occi == 0) occi = 1;
+        if ((azi >= 0) && (azi < AntennaPattern.AZIMUTHS) && (occi >= 0) && (occi < AntennaPattern.ELEVATIONS)) {
+            float[] table = this.attenuation_;
+            if (table == null) {
+                table = this.getBTS().antennaPattern_.getAttenuationTable(this.angleShift_, getTilt());
+                this.attenuation_ = table;
+            }
+            float factor = table[azi * AntennaPattern.ELEVATIONS + occi];
+            if (!Float.isNaN(factor)) {
+                return factor;
+            }
+        }
 
-        if (azi + this.angleShift_ > 360)
-            azi = azi + this.angleShift_ - 360;
-        else
-            azi = azi + this.angleShift_;
+        return this.getBTS().antennaPattern_.getAttenuationFactor(azi, occi, this.angleShift_, getTilt());
+    }
 
-        //Set vertical tilt depending on the cell type (max factor at 90 deg)
+    /**
+     * Vertical tilt depending on the cell type (max factor at 90 deg)
+     *
+     * @return The tilt (degrees)
+     */
+    int getTilt() {
         if (this.type_.equals(UDN.CellType.FEMTO) || this.type_.equals(UDN.CellType.PICO)) {
-            occi = occi - 20;
+            return 20;
         } else {
-            occi = occi - 10;
+            return 10;
         }
-        //occi=90;
-//        return this.getBTS().antennaArray_.getReal(azi - 1, occi - 1).floatValue();
-        return this.getBTS().antennaArray_.getFloat(azi - 1, occi - 1);
     }
 
     public BTS getBTS() {
@@ -172,12 +183,21 @@ public abstract class Cell {
     public void setSector(Sector sector) {
         this.sector_ = sector;
         this.bts_ = sector.getBTS();
+        this.attenuation_ = null;
     }
 
     public int getID() {
         return this.id_;
     }
 
+    public int getIndex() {
+        return this.index_;
+    }
+
+    public void setIndex(int index) {
+        this.index_ = index;
+    }
+
     public void setActivation(boolean b) {
         this.active_ = b;
     }
@@ -212,6 +232,7 @@ public abstract class Cell {
 
     public void setAngleShift(int shift) {
         this.angleShift_ = shift;
+        this.attenuation_ = null;
     }
 
     public int getNumAntTx() {
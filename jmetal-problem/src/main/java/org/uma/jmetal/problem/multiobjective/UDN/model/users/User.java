@@ -217,15 +217,8 @@ public class User {
         Cell servingCell = this.getServingCell();
 
         double sinr = p.computeSINR(servingCell);
-        int nt = servingCell.getNumAntTx();
-        double capacity = 0;
-        double[] singularValues = servingCell.getSingularValuesH();
 
-        for (double singularValue : singularValues) {
-            capacity += Math.log1p((sinr * singularValue) / nt) / Math.log(2.0);
-        }
-
-        return bw * capacity;
+        return udn.getNetworkView().capacityMIMO(servingCell.getIndex(), sinr, bw);
     }
 
     public Cell getServingCell() {
@@ -0,0 +1,107 @@
+package org.uma.jmetal.problem.multiobjective.UDN;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationState;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.solution.binarysolution.impl.DefaultBinarySolution;
+import org.uma.jmetal.util.measure.PullMeasure;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluationCacheTest {
+    private static final BitSet NO_MACROCELLS = new BitSet();
+
+    @Test
+    public void shouldRestoreTheObjectivesOfAStoredActivationPlan() {
+        EvaluationCache cache = new EvaluationCache(4);
+        cache.store(solution(0b1011, 1.0, -2.0), NO_MACROCELLS, 0);
+
+        BinarySolution solution = solution(0b1011, 0.0, 0.0);
+        assertTrue(cache.restore(solution, NO_MACROCELLS, 0));
+        assertEquals(1.0, solution.objectives()[0]);
+        assertEquals(-2.0, solution.objectives()[1]);
+    }
+
+    @Test
+    public void shouldForgetTheAssignmentAndSnapshotIfTheStoredPlanHasNone() {
+        EvaluationCache cache = new EvaluationCache(4);
+        cache.store(solution(0b0000, 0.0, 0.0), NO_MACROCELLS, 0);
+
+        BinarySolution solution = solution(0b0000, 1.0, 1.0);
+        solution.setUEsToCellAssignment(new int[]{1, 2, 3});
+        solution.attributes().put(EvaluationState.ATTRIBUTE, new Object());
+        assertTrue(cache.restore(solution, NO_MACROCELLS, 0));
+
+        assertNull(solution.getCurrentUesToCellAssignment());
+        assertNull(solution.attributes().get(EvaluationState.ATTRIBUTE));
+    }
+
+    @Test
+    public void shouldNotRestoreAnotherActivationPlanMacrocellsOrUsersLayout() {
+        EvaluationCache cache = new EvaluationCache(4);
+        BitSet macrocells = new BitSet();
+        macrocells.set(3);
+        cache.store(solution(0b1011, 1.0, -2.0), macrocells, 0);
+
+        assertFalse(cache.restore(solution(0b1010, 0.0, 0.0), macrocells, 0));
+        assertFalse(cache.restore(solution(0b1011, 0.0, 0.0), NO_MACROCELLS, 0));
+        assertFalse(cache.restore(solution(0b1011, 0.0, 0.0), macrocells, 1));
+        assertTrue(cache.restore(solution(0b1011, 0.0, 0.0), (BitSet) macrocells.clone(), 0));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedActivationPlan() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.store(solution(0b01, 1.0, 1.0), NO_MACROCELLS, 0);
+        cache.store(solution(0b10, 2.0, 2.0), NO_MACROCELLS, 0);
+
+        //the first plan is used, so the second one is the least recently used
+        assertTrue(cache.restore(solution(0b01, 0.0, 0.0), NO_MACROCELLS, 0));
+        cache.store(solution(0b11, 3.0, 3.0), NO_MACROCELLS, 0);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.restore(solution(0b01, 0.0, 0.0), NO_MACROCELLS, 0));
+        assertFalse(cache.restore(solution(0b10, 0.0, 0.0), NO_MACROCELLS, 0));
+        assertTrue(cache.restore(solution(0b11, 0.0, 0.0), NO_MACROCELLS, 0));
+    }
+
+    @Test
+    public void shouldCountTheHitsAndMisses() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.store(solution(0b01, 1.0, 1.0), NO_MACROCELLS, 0);
+
+        cache.restore(solution(0b01, 0.0, 0.0), NO_MACROCELLS, 0);
+        cache.restore(solution(0b01, 0.0, 0.0), NO_MACROCELLS, 0);
+        cache.restore(solution(0b10, 0.0, 0.0), NO_MACROCELLS, 0);
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        PullMeasure<Long> hits = cache.getMeasureManager().getPullMeasure("cacheHits");
+        PullMeasure<Long> misses = cache.getMeasureManager().getPullMeasure("cacheMisses");
+        assertEquals(2L, (long) hits.get());
+        assertEquals(1L, (long) misses.get());
+    }
+
+    @Test
+    public void shouldClearRemoveAllTheEntries() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.store(solution(0b01, 1.0, 1.0), NO_MACROCELLS, 0);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertFalse(cache.restore(solution(0b01, 0.0, 0.0), NO_MACROCELLS, 0));
+    }
+
+    private BinarySolution solution(long bits, double... objectives) {
+        BinarySolution solution = new DefaultBinarySolution(Arrays.asList(8), objectives.length);
+        solution.variables().get(0).clear();
+        solution.variables().get(0).or(BitSet.valueOf(new long[]{bits}));
+        System.arraycopy(objectives, 0, solution.objectives(), 0, objectives.length);
+
+        return solution;
+    }
+}
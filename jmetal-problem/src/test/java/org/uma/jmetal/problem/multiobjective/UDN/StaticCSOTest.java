@@ -0,0 +1,242 @@
+package org.uma.jmetal.problem.multiobjective.UDN;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.multiobjective.UDN.benchmark.InstanceGenerator;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationState;
+import org.uma.jmetal.problem.multiobjective.UDN.model.UDN;
+import org.uma.jmetal.problem.multiobjective.UDN.model.cells.Cell;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticCSOTest {
+    private static final double EPSILON = 0.0000001;
+
+    @Test
+    public void shouldDeltaEvaluationGiveTheSameObjectivesAsAFullEvaluation() throws IOException {
+        StaticCSO problem = smallProblem();
+        problem.setDeltaEvaluation(true, 10);
+        Random random = new Random(1);
+
+        BinarySolution parent = problem.createSolution();
+        problem.evaluate(parent);
+        for (int i = 0; i < 30; i++) {
+            BinarySolution offspring = (BinarySolution) parent.copy();
+            BitSet cso = offspring.variables().get(0);
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                cso.flip(random.nextInt(problem.getTotalNumberOfActivableCells()));
+            }
+            if (cso.isEmpty()) {
+                continue;
+            }
+
+            problem.evaluate(offspring);
+            assertSameObjectivesAsAFullEvaluation(problem, offspring);
+            parent = offspring;
+        }
+    }
+
+    @Test
+    public void shouldDeltaEvaluationConsiderTheMacrocellsSwitchedOffSinceTheSnapshot() throws IOException {
+        StaticCSO problem = smallProblem();
+        problem.setDeltaEvaluation(true, 10);
+        List<Cell> macrocells = getMacrocells(problem.getUDN());
+        assertFalse(macrocells.isEmpty());
+
+        BinarySolution parent = problem.createSolution();
+        problem.evaluate(parent);
+
+        BinarySolution offspring = (BinarySolution) parent.copy();
+        offspring.attributes().put(EvaluationContext.MACRO_ACTIVATION, new BitSet());
+        offspring.variables().get(0).set(0);
+        problem.evaluate(offspring);
+
+        assertSameObjectivesAsAFullEvaluation(problem, offspring);
+    }
+
+    @Test
+    public void shouldTheRepairOnAContextKeepTheMacrocellsInTheSolution() throws IOException {
+        StaticCSO problem = smallProblem();
+        problem.setConcurrentEvaluation(true);
+        List<Cell> macrocells = getMacrocells(problem.getUDN());
+        assertFalse(macrocells.isEmpty());
+        BitSet sharedMacroActivation = problem.getUDN().getMacroActivation();
+
+        for (int i = 0; i < 20; i++) {
+            BinarySolution solution = problem.createSolution();
+            problem.intelligentSwitchOff(solution);
+
+            BitSet macroActivation = (BitSet) solution.attributes().get(EvaluationContext.MACRO_ACTIVATION);
+            assertNotNull(macroActivation);
+            if (!solution.variables().get(0).isEmpty()) {
+                problem.evaluate(solution);
+                assertSameObjectivesAsAFullEvaluation(problem, solution);
+            }
+        }
+
+        assertEquals(sharedMacroActivation, problem.getUDN().getMacroActivation());
+    }
+
+    @Test
+    public void shouldAnEvaluationContextGiveTheSameEvaluationAsTheSharedUDN() throws IOException {
+        StaticCSO problem = smallProblem();
+
+        for (BinarySolution solution : randomSolutions(problem, 20)) {
+            if (solution.variables().get(0).isEmpty()) {
+                continue;
+            }
+            BinarySolution onContext = (BinarySolution) solution.copy();
+
+            problem.setConcurrentEvaluation(false);
+            problem.evaluate(solution);
+            problem.setConcurrentEvaluation(true);
+            problem.evaluate(onContext);
+
+            assertEquals(solution.objectives()[0], onContext.objectives()[0], EPSILON);
+            assertEquals(solution.objectives()[1], onContext.objectives()[1], EPSILON);
+            assertArrayEquals(solution.getCurrentUesToCellAssignment(), onContext.getCurrentUesToCellAssignment());
+        }
+    }
+
+    @Test
+    public void shouldTheRepairOnAContextMakeTheSameDecisionsAsOnTheSharedUDN() throws IOException {
+        StaticCSO problem = smallProblem();
+        applyAllTheOperators(problem);
+        assertFalse(getMacrocells(problem.getUDN()).isEmpty());
+
+        for (BinarySolution solution : randomSolutions(problem, 20)) {
+            BinarySolution onContext = (BinarySolution) solution.copy();
+
+            //the context starts from the macrocells of the shared UDN, which
+            //are switched on/off by the repair on the shared UDN
+            problem.setConcurrentEvaluation(true);
+            problem.intelligentSwitchOff(onContext);
+            problem.setConcurrentEvaluation(false);
+            problem.intelligentSwitchOff(solution);
+
+            assertEquals(solution.variables().get(0), onContext.variables().get(0));
+            assertEquals(problem.getUDN().getMacroActivation(),
+                    onContext.attributes().get(EvaluationContext.MACRO_ACTIVATION));
+
+            if (!solution.variables().get(0).isEmpty()) {
+                problem.evaluate(solution);
+                problem.setConcurrentEvaluation(true);
+                problem.evaluate(onContext);
+
+                assertEquals(solution.objectives()[0], onContext.objectives()[0], EPSILON);
+                assertEquals(solution.objectives()[1], onContext.objectives()[1], EPSILON);
+            }
+        }
+    }
+
+    /**
+     * Evaluates a copy of the solution without its snapshot, i.e., from scratch
+     */
+    private void assertSameObjectivesAsAFullEvaluation(StaticCSO problem, BinarySolution solution) {
+        BinarySolution copy = (BinarySolution) solution.copy();
+        copy.attributes().remove(EvaluationState.ATTRIBUTE);
+        problem.evaluate(copy);
+
+        assertEquals(copy.objectives()[0], solution.objectives()[0], EPSILON);
+        assertEquals(copy.objectives()[1], solution.objectives()[1], EPSILON);
+    }
+
+    /**
+     * Random activation plans, with a different density of active cells each
+     */
+    private List<BinarySolution> randomSolutions(StaticCSO problem, int n) {
+        Random random = new Random(1);
+        List<BinarySolution> solutions = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            BinarySolution solution = problem.createSolution();
+            BitSet cso = solution.variables().get(0);
+            double density = random.nextDouble();
+            for (int b = 0; b < problem.getTotalNumberOfActivableCells(); b++) {
+                cso.set(b, random.nextDouble() < density);
+            }
+            solutions.add(solution);
+        }
+
+        return solutions;
+    }
+
+    /**
+     * Applies all the repair operators at rate 1, so both repairs apply them
+     */
+    private void applyAllTheOperators(StaticCSO problem) throws IOException {
+        String[] operators = {"maintenancePowerOp", "noUsersOp", "priorizeSmallCellsOp", "priorizeFemtoOp",
+                "increaseCapacityOp"};
+
+        Path file = Files.createTempFile("operators", ".conf");
+        try (PrintWriter out = new PrintWriter(file.toFile())) {
+            out.println("numOperators = " + operators.length);
+            for (int i = 0; i < operators.length; i++) {
+                out.println("operator" + (i + 1) + " = " + operators[i]);
+                out.println("rate" + (i + 1) + " = 1.0");
+            }
+        }
+
+        try {
+            problem.loadOperatorsConfig(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private List<Cell> getMacrocells(UDN udn) {
+        List<Cell> macrocells = new ArrayList<>();
+        for (List<Cell> cells : udn.cells_.values()) {
+            for (Cell c : cells) {
+                if (c.getType() == UDN.CellType.MACRO) {
+                    macrocells.add(c);
+                }
+            }
+        }
+        return macrocells;
+    }
+
+    /**
+     * Small instance written from the configuration files of the project. The
+     * macrocells are only deployed on the BTSs of the previous chain, so the
+     * macro chain is moved after the micro one.
+     */
+    private StaticCSO smallProblem() throws IOException {
+        File templateDir = new File("main.conf").exists() ? new File(".") : new File("..");
+        InstanceGenerator generator = new InstanceGenerator(templateDir.getPath());
+        generator.setGrid(30, 30);
+
+        Path dir = Files.createTempDirectory("udn");
+        try {
+            String mainConfig = generator.write(dir.toString(), 60, 30);
+
+            Path cellsFile = dir.resolve("cells.conf");
+            String cells = new String(Files.readAllBytes(cellsFile), StandardCharsets.UTF_8);
+            cells = cells.replaceFirst("(?m)^cell0(\\s*=)", "cellTmp$1")
+                    .replaceFirst("(?m)^cell1(\\s*=)", "cell0$1")
+                    .replaceFirst("(?m)^cellTmp(\\s*=)", "cell1$1");
+            Files.write(cellsFile, cells.getBytes(StandardCharsets.UTF_8));
+
+            return new StaticCSO(mainConfig, 0);
+        } finally {
+            //the configuration files are only read by the constructor
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
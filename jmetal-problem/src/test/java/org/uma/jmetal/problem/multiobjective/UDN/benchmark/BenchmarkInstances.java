@@ -0,0 +1,36 @@
+package org.uma.jmetal.problem.multiobjective.UDN.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Helpers to write the instances of the benchmarks with InstanceGenerator
+ */
+class BenchmarkInstances {
+
+    /**
+     * Directory with the template configuration files: the one given by the
+     * udn.templateDir property or the root of the project
+     */
+    static String getTemplateDir() {
+        String templateDir = System.getProperty("udn.templateDir");
+        if (templateDir != null) {
+            return templateDir;
+        }
+
+        return new File("main.conf").exists() ? "." : "..";
+    }
+
+    /**
+     * Deletes the directory of an instance
+     */
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
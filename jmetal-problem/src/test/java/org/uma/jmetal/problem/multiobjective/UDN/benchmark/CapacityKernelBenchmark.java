@@ -0,0 +1,149 @@
+package org.uma.jmetal.problem.multiobjective.UDN.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.problem.multiobjective.UDN.model.EvaluationContext;
+import org.uma.jmetal.problem.multiobjective.UDN.model.NetworkView;
+import org.uma.jmetal.problem.multiobjective.UDN.model.UDN;
+import org.uma.jmetal.problem.multiobjective.UDN.model.users.User;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the capacity of the users of an activation plan (all the
+ * cells on), computed user by user on the shared UDN (Point.computeSINR and
+ * User.capacityMIMO, as CSO.networkCapacity does) and by the batch kernel of
+ * the evaluation contexts (the SINR of every link gathered into primitive
+ * arrays and NetworkView.capacityMIMO over all of them). The instances are
+ * written with InstanceGenerator from the configuration files of the project,
+ * or from those in the directory given by the udn.templateDir property.
+ * <p>
+ * It is run from the test classpath of jmetal-problem, e.g., with the main
+ * method below or with org.openjdk.jmh.Main CapacityKernelBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CapacityKernelBenchmark {
+
+    @Param({"1000", "10000"})
+    public int users;
+
+    @Param({"100"})
+    public int cells;
+
+    UDN udn_;
+    NetworkView view_;
+    EvaluationContext context_;
+    List<User> users_;
+
+    //Bandwidth of each user in the shared UDN
+    double[] bw_;
+
+    //Links (serving cell, SINR, bandwidth, capacity) of the batch kernel
+    int[] linkCell_;
+    double[] linkSINR_;
+    double[] linkBW_;
+    double[] linkCapacity_;
+
+    @Setup
+    public void setUp() throws IOException {
+        StaticCSO problem = createProblem(users, cells);
+        udn_ = problem.getUDN();
+        view_ = udn_.getNetworkView();
+        users_ = udn_.getUsers();
+
+        //the users are assigned to their serving cells in the shared UDN...
+        BinarySolution solution = problem.createSolution();
+        BitSet cso = solution.variables().get(0);
+        cso.set(0, problem.getTotalNumberOfActivableCells());
+        problem.evaluate(solution);
+
+        bw_ = new double[users_.size()];
+        for (int u = 0; u < bw_.length; u++) {
+            bw_[u] = users_.get(u).getServingCell().getSharedBWForAssignedUsers();
+        }
+
+        //...and in an evaluation context
+        context_ = new EvaluationContext(udn_);
+        context_.setCellActivation(cso, udn_.getMacroActivation());
+        context_.computeSignaling();
+        context_.assignUsers();
+
+        int[] servingCell = context_.getUesToCellAssignment();
+        linkCell_ = servingCell.clone();
+        linkSINR_ = new double[servingCell.length];
+        linkBW_ = new double[servingCell.length];
+        linkCapacity_ = new double[servingCell.length];
+        for (int u = 0; u < servingCell.length; u++) {
+            linkBW_[u] = context_.getSharedBWForAssignedUsers(servingCell[u]);
+        }
+    }
+
+    @Benchmark
+    public double perUser() {
+        double capacity = 0.0;
+        for (int u = 0; u < bw_.length; u++) {
+            capacity += users_.get(u).capacityMIMO(udn_, bw_[u]);
+        }
+
+        return capacity;
+    }
+
+    @Benchmark
+    public double batch() {
+        int n = linkCell_.length;
+        for (int u = 0; u < n; u++) {
+            linkSINR_[u] = context_.computeSINR(u, linkCell_[u]);
+        }
+        view_.capacityMIMO(n, linkCell_, linkSINR_, linkBW_, linkCapacity_);
+
+        double capacity = 0.0;
+        for (int u = 0; u < n; u++) {
+            capacity += linkCapacity_[u];
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Writes an instance in a temporary directory and builds the problem,
+     * which reads all the configuration files while being built
+     */
+    private static StaticCSO createProblem(int users, int cells) throws IOException {
+        InstanceGenerator generator = new InstanceGenerator(BenchmarkInstances.getTemplateDir());
+
+        Path dir = Files.createTempDirectory("udn");
+        try {
+            return new StaticCSO(generator.write(dir.toString(), users, cells), 0);
+        } finally {
+            BenchmarkInstances.delete(dir);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CapacityKernelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,189 @@
+package org.uma.jmetal.problem.multiobjective.UDN.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.solution.binarysolution.impl.DefaultBinarySolution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of how the StaticCSO problem scales with the size of the
+ * instance. For each scale (users:cells[:gridPoints]), an instance is written
+ * with InstanceGenerator and the following are measured:
+ * <ul>
+ * <li>construction of the problem (a single run),</li>
+ * <li>evaluate of a batch of NUMBER_OF_SOLUTIONS activation plans, on the
+ * shared UDN and on an evaluation context (concurrentEvaluation),</li>
+ * <li>intelligentSwitchOff of the same batch, with all the repair operators at
+ * rate 1, on the shared UDN and on an evaluation context.</li>
+ * </ul>
+ * The activation plans are random, but the same for every run. The instances
+ * are built with the seeds of run 0, so the numbers can be compared before
+ * and after a change. The allocation rate is measured with the GC profiler
+ * (-prof gc). The dynamic problems need a mobility trace, which cannot be
+ * generated, so they are not measured.
+ * <p>
+ * It is run from the test classpath of jmetal-problem, e.g., with the main
+ * method below or with org.openjdk.jmh.Main ScalingBenchmark, and other scales
+ * can be given with -p scale=users:cells:gridPoints. The template
+ * configuration files are taken as in CapacityKernelBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ScalingBenchmark {
+
+    //Activation plans evaluated/repaired by each operation
+    static final int NUMBER_OF_SOLUTIONS = 20;
+
+    //Repair operators applied by intelligentSwitchOff
+    static final String[] OPERATORS = {"maintenancePowerOp", "noUsersOp", "priorizeSmallCellsOp",
+            "priorizeFemtoOp", "increaseCapacityOp"};
+
+    /**
+     * Instance written at a given scale
+     */
+    @State(Scope.Benchmark)
+    public static class Instance {
+        @Param({"100:10:50", "1000:100:100", "10000:1000:200", "100000:10000:400"})
+        public String scale;
+
+        Path dir_;
+        String mainConfig_;
+        String operatorsFile_;
+
+        @Setup
+        public void setUp() throws IOException {
+            String[] values = scale.split(":");
+            int users = Integer.parseInt(values[0]);
+            int cells = Integer.parseInt(values[1]);
+            int gridPoints = (values.length > 2) ? Integer.parseInt(values[2]) : 100;
+
+            InstanceGenerator generator = new InstanceGenerator(BenchmarkInstances.getTemplateDir());
+            generator.setGrid(gridPoints, gridPoints);
+            dir_ = Files.createTempDirectory("udn");
+            mainConfig_ = generator.write(dir_.toString(), users, cells);
+
+            File operatorsFile = new File(dir_.toFile(), "benchmarkOperators.conf");
+            try (PrintWriter out = new PrintWriter(operatorsFile)) {
+                out.println("numOperators = " + OPERATORS.length);
+                for (int i = 0; i < OPERATORS.length; i++) {
+                    out.println("operator" + (i + 1) + " = " + OPERATORS[i]);
+                    out.println("rate" + (i + 1) + " = 1.0");
+                }
+            }
+            operatorsFile_ = operatorsFile.getPath();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            BenchmarkInstances.delete(dir_);
+        }
+    }
+
+    /**
+     * Problem built on the instance, with the random activation plans
+     */
+    @State(Scope.Benchmark)
+    public static class Problem {
+        @Param({"false", "true"})
+        public boolean concurrentEvaluation;
+
+        StaticCSO problem_;
+        List<BinarySolution> solutions_;
+
+        @Setup
+        public void setUp(Instance instance) {
+            problem_ = new StaticCSO(instance.mainConfig_, 0);
+            problem_.loadOperatorsConfig(instance.operatorsFile_);
+            problem_.setConcurrentEvaluation(concurrentEvaluation);
+            solutions_ = randomSolutions(problem_, 1);
+        }
+    }
+
+    /**
+     * Copies of the activation plans, made before each operation
+     */
+    @State(Scope.Thread)
+    public static class Copies {
+        List<BinarySolution> solutions_;
+
+        @Setup(Level.Invocation)
+        public void setUp(Problem problem) {
+            solutions_ = new ArrayList<>(problem.solutions_.size());
+            for (BinarySolution s : problem.solutions_) {
+                solutions_.add((BinarySolution) s.copy());
+            }
+        }
+    }
+
+    @Benchmark
+    public StaticCSO construction(Instance instance) {
+        return new StaticCSO(instance.mainConfig_, 0);
+    }
+
+    @Benchmark
+    public List<BinarySolution> evaluate(Problem problem, Copies copies) {
+        copies.solutions_.forEach(problem.problem_::evaluate);
+
+        return copies.solutions_;
+    }
+
+    @Benchmark
+    public List<BinarySolution> intelligentSwitchOff(Problem problem, Copies copies) {
+        copies.solutions_.forEach(problem.problem_::intelligentSwitchOff);
+
+        return copies.solutions_;
+    }
+
+    /**
+     * Random activation plans, with a different density of active cells each
+     */
+    static List<BinarySolution> randomSolutions(StaticCSO problem, long seed) {
+        Random random = new Random(seed);
+        List<BinarySolution> solutions = new ArrayList<>(NUMBER_OF_SOLUTIONS);
+
+        for (int i = 0; i < NUMBER_OF_SOLUTIONS; i++) {
+            BinarySolution s = new DefaultBinarySolution(problem.getListOfBitsPerVariable(), problem.getNumberOfObjectives());
+            BitSet bits = s.variables().get(0);
+            double density = random.nextDouble();
+            for (int b = 0; b < problem.getTotalNumberOfActivableCells(); b++) {
+                bits.set(b, random.nextDouble() < density);
+            }
+            solutions.add(s);
+        }
+
+        return solutions;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScalingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,169 @@
+package org.uma.jmetal.problem.multiobjective.UDN.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.problem.multiobjective.UDN.StaticCSO;
+import org.uma.jmetal.problem.multiobjective.UDN.benchmark.InstanceGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointTest {
+    private static final int ALL_TYPES = Point.cellTypes(UDN.CellType.values());
+
+    private UDN udn;
+    private Point point;
+    private int numberOfCells;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        udn = smallProblem().getUDN();
+        numberOfCells = udn.indexedCells_.length;
+        point = udn.grid[udn.gridPointsX_ / 2][udn.gridPointsY_ / 2][0];
+        udn.setReceivedPowerMatrix(true);
+        udn.addToReceivedPowerMatrix(Collections.singleton(point));
+        point.computeTotalReceivedPower();
+    }
+
+    @Test
+    public void shouldKeepAllTheCellsWithTheSameSINRTheLowestIndexFirst() {
+        //the cells of a frequency and type have the same SINR if they deliver the same power
+        Arrays.fill(udn.powerMatrix_.power_, point.powerRow_ * numberOfCells, (point.powerRow_ + 1) * numberOfCells, 1.0);
+        point.computeTotalReceivedPower();
+
+        int frequency = udn.cellFrequency_[0];
+        int type = udn.networkView_.type_[0];
+        int mask = 1 << type;
+        List<Integer> tied = new ArrayList<>();
+        for (int i = udn.firstCellOfFrequency_[frequency]; i < udn.lastCellOfFrequency_[frequency]; i++) {
+            if (udn.networkView_.type_[i] == type) {
+                tied.add(i);
+            }
+        }
+        assertTrue(tied.size() > 1);
+
+        int[] cells = new int[tied.size()];
+        double[] sinrs = new double[tied.size()];
+        assertEquals(tied.size(), point.getCellsWithBestSINRs(tied.size(), mask, frequency, cells, sinrs));
+        for (int j = 0; j < tied.size(); j++) {
+            assertEquals((int) tied.get(j), cells[j]);
+            assertEquals(sinrs[0], sinrs[j]);
+        }
+
+        assertEquals(1, point.getCellsWithBestSINRs(1, mask, frequency, cells, sinrs));
+        assertEquals((int) tied.get(0), cells[0]);
+    }
+
+    @Test
+    public void shouldOnlySelectTheCellsOfTheGivenTypes() {
+        for (UDN.CellType type : UDN.CellType.values()) {
+            int mask = Point.cellTypes(type);
+            int[] expected = bestCells(mask, -1);
+            int[] cells = new int[numberOfCells];
+            double[] sinrs = new double[numberOfCells];
+
+            int n = point.getCellsWithBestSINRs(numberOfCells, mask, -1, cells, sinrs);
+
+            assertArrayEquals(expected, Arrays.copyOf(cells, n));
+            for (int j = 0; j < n; j++) {
+                assertEquals(type, udn.indexedCells_[cells[j]].getType());
+            }
+        }
+        assertTrue(bestCells(Point.cellTypes(UDN.CellType.MACRO), -1).length > 0);
+        assertTrue(bestCells(Point.cellTypes(UDN.CellType.MICRO), -1).length > 0);
+    }
+
+    @Test
+    public void shouldSelectTheCellsOfAllTheFrequenciesOrOfTheGivenOne() {
+        int[] cells = new int[numberOfCells];
+        double[] sinrs = new double[numberOfCells];
+
+        int n = point.getCellsWithBestSINRs(numberOfCells, ALL_TYPES, -1, cells, sinrs);
+        assertEquals(numberOfCells, n);
+        assertArrayEquals(bestCells(ALL_TYPES, -1), cells);
+
+        assertTrue(udn.frequencies_.length > 1);
+        for (int f = 0; f < udn.frequencies_.length; f++) {
+            int[] expected = bestCells(ALL_TYPES, f);
+            n = point.getCellsWithBestSINRs(numberOfCells, ALL_TYPES, f, cells, sinrs);
+
+            assertArrayEquals(expected, Arrays.copyOf(cells, n));
+            for (int j = 0; j < n; j++) {
+                assertEquals(f, udn.cellFrequency_[cells[j]]);
+                assertEquals(point.computeSINR(udn.indexedCells_[cells[j]]), sinrs[j]);
+            }
+        }
+    }
+
+    @Test
+    public void shouldSelectAllTheCandidatesIfThereAreLessThanK() {
+        int mask = Point.cellTypes(UDN.CellType.MACRO);
+        int[] expected = bestCells(mask, -1);
+        int[] cells = new int[expected.length + 5];
+        double[] sinrs = new double[expected.length + 5];
+
+        int n = point.getCellsWithBestSINRs(expected.length + 5, mask, -1, cells, sinrs);
+
+        assertEquals(expected.length, n);
+        assertArrayEquals(expected, Arrays.copyOf(cells, n));
+        assertEquals(0, point.getCellsWithBestSINRs(0, mask, -1, cells, sinrs));
+    }
+
+    /**
+     * Cells of the given types and frequency, sorted by decreasing SINR and
+     * then by index
+     */
+    private int[] bestCells(int types, int frequency) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < numberOfCells; i++) {
+            boolean accepted = (types & (1 << udn.networkView_.type_[i])) != 0;
+            if (accepted && ((frequency < 0) || (udn.cellFrequency_[i] == frequency))) {
+                candidates.add(i);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble((Integer i) -> -point.computeSINR(udn.indexedCells_[i]))
+                .thenComparingInt(i -> i));
+
+        return candidates.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Small instance written from the configuration files of the project,
+     * with macrocells (see StaticCSOTest)
+     */
+    private StaticCSO smallProblem() throws IOException {
+        File templateDir = new File("main.conf").exists() ? new File(".") : new File("..");
+        InstanceGenerator generator = new InstanceGenerator(templateDir.getPath());
+        generator.setGrid(30, 30);
+
+        Path dir = Files.createTempDirectory("udn");
+        try {
+            String mainConfig = generator.write(dir.toString(), 60, 30);
+
+            Path cellsFile = dir.resolve("cells.conf");
+            String cells = new String(Files.readAllBytes(cellsFile), StandardCharsets.UTF_8);
+            cells = cells.replaceFirst("(?m)^cell0(\\s*=)", "cellTmp$1")
+                    .replaceFirst("(?m)^cell1(\\s*=)", "cell0$1")
+                    .replaceFirst("(?m)^cellTmp(\\s*=)", "cell1$1");
+            Files.write(cellsFile, cells.getBytes(StandardCharsets.UTF_8));
+
+            return new StaticCSO(mainConfig, 0);
+        } finally {
+            //the configuration files are only read by the constructor
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}